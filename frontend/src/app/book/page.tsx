@@ -1,11 +1,12 @@
 "use client";
 
-import { useState, useEffect } from "react";
+import { useState, useEffect, useRef } from "react";
 import { useRouter } from "next/navigation";
 import TimeSlotSelector from "@/components/TimeSlotSelector";
 import { validateBooking, formatBookingForAPI } from "@/utils/bookingValidation";
 import { TimeSlot } from "@/utils/bookingUtils";
 import { decodeToken, TokenPayload } from "@/utils/jwt";
+import { idempotencyKeyFor, type IdempotentSubmission } from "@/lib/api";
 
 export default function BookPage() {
   const router = useRouter();
@@ -25,6 +26,7 @@ export default function BookPage() {
   const [modifications, setModifications] = useState<string>("");
   const [availableModificationServices, setAvailableModificationServices] = useState<Array<{id: string, name: string, description?: string, estimatedCost?: number, estimatedHours?: number}>>([]);
   const [selectedModificationServices, setSelectedModificationServices] = useState<string[]>([]);
+  const submission = useRef<IdempotentSubmission>(null);
 
   useEffect(() => {
     // Get user from token
@@ -160,6 +162,7 @@ export default function BookPage() {
         headers: {
           "Content-Type": "application/json",
           "Authorization": `Bearer ${token}`,
+          "Idempotency-Key": idempotencyKeyFor(submission, bookingData),
         },
         body: JSON.stringify(bookingData),
       });
@@ -173,6 +176,7 @@ export default function BookPage() {
       setSuccess("Booking created successfully! Your appointment is pending approval.");
       
       // Reset form
+      submission.current = null;
       setSelectedDate("");
       setSelectedSlotId(null);
       setSelectedTimeSlot(null);
@@ -1,6 +1,6 @@
 "use client";
 
-import { useEffect, useMemo, useState } from "react";
+import { useEffect, useMemo, useRef, useState } from "react";
 import {
   Dialog,
   DialogContent,
@@ -16,7 +16,7 @@ import { Label } from "@/components/ui/label";
 import { Input } from "@/components/ui/input";
 import { Textarea } from "@/components/ui/textarea";
 import PaymentModal from "@/components/booking/PaymentModal";
-import { createAppointment, createPaymentIntent, listModificationItems } from "@/lib/api";
+import { createAppointment, createPaymentIntent, listModificationItems, idempotencyKeyFor, type IdempotentSubmission } from "@/lib/api";
 import type { ModificationItem } from "@/types/booking";
 
 interface Vehicle {
@@ -53,6 +53,7 @@ export default function ModificationBookingModal({
   const [paymentOpen, setPaymentOpen] = useState(false);
   const [clientSecret, setClientSecret] = useState<string | undefined>();
   const [bookingId, setBookingId] = useState<string | null>(null);
+  const submission = useRef<IdempotentSubmission>(null);
 
   useEffect(() => {
     let cancelled = false;
@@ -118,7 +119,7 @@ export default function ModificationBookingModal({
               },
             }),
       };
-      const appointment = await createAppointment(body);
+      const appointment = await createAppointment(body, idempotencyKeyFor(submission, body));
       setBookingId(appointment.id);
 
       // Create payment intent
@@ -144,6 +145,7 @@ export default function ModificationBookingModal({
     setRemarks("");
     setClientSecret(undefined);
     setBookingId(null);
+    submission.current = null;
   };
 
   const getMinDate = () => {
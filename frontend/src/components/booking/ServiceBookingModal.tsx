@@ -1,6 +1,6 @@
 "use client";
 
-import { useEffect, useState } from "react";
+import { useEffect, useRef, useState } from "react";
 import {
   Dialog,
   DialogContent,
@@ -15,7 +15,7 @@ import { Label } from "@/components/ui/label";
 import { Input } from "@/components/ui/input";
 import { Textarea } from "@/components/ui/textarea";
 import PaymentModal from "@/components/booking/PaymentModal";
-import { checkAvailability, createAppointment, createPaymentIntent } from "@/lib/api";
+import { checkAvailability, createAppointment, createPaymentIntent, idempotencyKeyFor, subscribeAvailability, type IdempotentSubmission } from "@/lib/api";
 import type { TimeSlot } from "@/types/booking";
 
 interface Vehicle {
@@ -52,6 +52,7 @@ export default function ServiceBookingModal({
   const [paymentOpen, setPaymentOpen] = useState(false);
   const [clientSecret, setClientSecret] = useState<string | undefined>();
   const [bookingId, setBookingId] = useState<string | null>(null);
+  const submission = useRef<IdempotentSubmission>(null);
   const [serviceAmount] = useState(5000); // Fixed service amount in LKR
 
   useEffect(() => {
@@ -61,16 +62,27 @@ export default function ServiceBookingModal({
       return;
     }
     let cancelled = false;
-    (async () => {
+    const load = async () => {
       try {
         const data = await checkAvailability(selectedDate);
         if (!cancelled) setSlots(data.filter((s) => s.isAvailable));
       } catch (e) {
         if (!cancelled) setSlots([]);
       }
-    })();
+    };
+    // Load once straight away, then the stream keeps the slots current while the customer
+    // decides; while it is down (or never connects) each failed attempt reloads them instead
+    load();
+    const unsubscribe = subscribeAvailability(
+      [selectedDate],
+      (update) => {
+        if (!cancelled && update.date === selectedDate) setSlots(update.availableSlots.filter((s) => s.isAvailable));
+      },
+      load
+    );
     return () => {
       cancelled = true;
+      unsubscribe();
     };
   }, [selectedDate]);
 
@@ -94,7 +106,7 @@ export default function ServiceBookingModal({
               },
             }),
       };
-      const appointment = await createAppointment(body);
+      const appointment = await createAppointment(body, idempotencyKeyFor(submission, body));
       setBookingId(appointment.id);
 
       // Create payment intent
@@ -120,6 +132,7 @@ export default function ServiceBookingModal({
     setRemarks("");
     setClientSecret(undefined);
     setBookingId(null);
+    submission.current = null;
   };
 
   const getMinDate = () => {
@@ -65,12 +65,12 @@ function getAuthHeaders() {
 
 export async function apiFetch<T>(path: string, init?: RequestInit): Promise<T> {
   const res = await fetch(path, {
+    ...init,
     headers: {
       "Content-Type": "application/json",
       ...getAuthHeaders(),
       ...(init?.headers || {}),
     },
-    ...init,
   });
   if (!res.ok) {
     const text = await res.text();
@@ -97,10 +97,43 @@ export function checkAvailability(date: string) {
   return apiFetch<TimeSlot[]>(`${TIMESLOT_API_BASE}/api/bookings/timeslots/check-availability/${date}`);
 }
 
+// Live availability over server-sent events: the current slots of each date arrive
+// straight away, then again whenever a booking or release changes them.
+// onError runs each time the stream drops or fails to (re)connect, so the caller
+// can fall back to checkAvailability. Returns a function that closes the stream.
+export type AvailabilityUpdate = { date: string; availableSlots: TimeSlot[]; slotCount: number };
+export function subscribeAvailability(
+  dates: string[],
+  onUpdate: (update: AvailabilityUpdate) => void,
+  onError?: () => void
+) {
+  const source = new EventSource(
+    `${TIMESLOT_API_BASE}/api/bookings/timeslots/stream?dates=${encodeURIComponent(dates.join(","))}`
+  );
+  source.addEventListener("availability", (event) => {
+    onUpdate(JSON.parse((event as MessageEvent<string>).data) as AvailabilityUpdate);
+  });
+  source.onerror = () => onError?.();
+  return () => source.close();
+}
+
 // Appointments
-export function createAppointment(body: AppointmentRequest) {
+// Idempotency-Key for a create submit: the same body keeps its key, so a retried
+// submit cannot create a second appointment; a changed body gets a fresh key
+export type IdempotentSubmission = { payload: string; key: string } | null;
+export function idempotencyKeyFor(submission: { current: IdempotentSubmission }, body: unknown) {
+  const payload = JSON.stringify(body);
+  if (submission.current?.payload !== payload) {
+    submission.current = { payload, key: crypto.randomUUID() };
+  }
+  return submission.current.key;
+}
+
+
+export function createAppointment(body: AppointmentRequest, idempotencyKey?: string) {
   return apiFetch<AppointmentResponse>(`${API_BASE}/api/bookings/appointments`, {
     method: "POST",
+    headers: idempotencyKey ? { "Idempotency-Key": idempotencyKey } : undefined,
     body: JSON.stringify(body),
   });
 }
@@ -3,9 +3,40 @@ const router = express.Router();
 
 // Node.js 18+ has built-in fetch, otherwise use node-fetch
 const fetch = globalThis.fetch || require("node-fetch");
+const { Readable } = require("stream");
 
 const BOOKING_SERVICE = process.env.BOOKING_SERVICE_URL || "http://localhost:8084";
 
+// Reactive availability server of the booking service (booking.reactive.port, 8086 by default);
+// when unset the availability reads go to the servlet endpoints like everything else
+const BOOKING_AVAILABILITY = process.env.BOOKING_AVAILABILITY_URL || BOOKING_SERVICE;
+const AVAILABILITY_READ = /^timeslots\/(available\/[^/]+|range|check-availability\/[^/]+)$/;
+
+// Responses passed through as they arrive instead of being read whole and parsed as JSON:
+// availability events and the NDJSON appointment export (appointments/stream)
+const STREAMED_TYPES = /^(text\/event-stream|application\/x-ndjson)/i;
+
+// Hop-by-hop and body framing headers that belong to the upstream connection, not the client's
+const UNFORWARDED_HEADERS = new Set(["connection", "keep-alive", "transfer-encoding", "content-length", "content-encoding"]);
+
+function pipeStream(response, res) {
+	res.status(response.status);
+	response.headers.forEach((value, name) => {
+		if (!UNFORWARDED_HEADERS.has(name.toLowerCase())) {
+			res.setHeader(name, value);
+		}
+	});
+	res.flushHeaders();
+	// Built-in fetch gives a web stream, node-fetch a Node stream
+	const body = typeof response.body.getReader === "function" ? Readable.fromWeb(response.body) : response.body;
+	body.on("error", (error) => {
+		console.error("[Gateway] Booking service stream error:", error.message);
+		res.end();
+	});
+	res.on("close", () => body.destroy());
+	body.pipe(res);
+}
+
 // Forward all booking routes to booking service
 router.use("/bookings", async (req, res) => {
 	try {
@@ -16,17 +47,21 @@ router.use("/bookings", async (req, res) => {
 		if (targetPath.startsWith("/")) {
 			targetPath = targetPath.substring(1);
 		}
+		const queryIndex = req.originalUrl.indexOf("?");
+		const query = queryIndex >= 0 ? req.originalUrl.substring(queryIndex) : "";
 		
 		// Check if this is an appointments endpoint - if so, add /v1
 		let url;
 		if (targetPath.startsWith("appointments")) {
 			// Forward to /api/bookings/appointments/v1/...
-			url = `${BOOKING_SERVICE}/api/bookings/${targetPath.replace(/^appointments/, "appointments/v1")}`;
+			url = `${BOOKING_SERVICE}/api/bookings/${targetPath.replace(/^appointments/, "appointments/v1")}${query}`;
+		} else if (req.method === "GET" && AVAILABILITY_READ.test(targetPath)) {
+			url = `${BOOKING_AVAILABILITY}/api/bookings/${targetPath}${query}`;
 		} else {
 			// For other booking routes, forward as-is
 			url = targetPath 
-				? `${BOOKING_SERVICE}/api/bookings/${targetPath}`
-				: `${BOOKING_SERVICE}/api/bookings`;
+				? `${BOOKING_SERVICE}/api/bookings/${targetPath}${query}`
+				: `${BOOKING_SERVICE}/api/bookings${query}`;
 		}
 		
 		console.log(`[Gateway] Forwarding ${req.method} ${req.originalUrl} -> ${url}`);
@@ -52,6 +87,17 @@ router.use("/bookings", async (req, res) => {
 			console.log(`[Gateway] All header values:`, JSON.stringify(req.headers, null, 2));
 		}
 
+		// Forward Idempotency-Key so retried creates are answered from the booking service's key store
+		const idempotencyKey = req.headers["idempotency-key"];
+		if (idempotencyKey) {
+			fetchOptions.headers["Idempotency-Key"] = idempotencyKey;
+		}
+
+		// Forward Accept so the booking service can pick a streaming representation
+		if (req.headers["accept"]) {
+			fetchOptions.headers["Accept"] = req.headers["accept"];
+		}
+
 		// Only add body for methods that support it
 		if (req.method !== "GET" && req.method !== "DELETE" && req.body) {
 			fetchOptions.body = JSON.stringify(req.body);
@@ -72,6 +118,11 @@ router.use("/bookings", async (req, res) => {
 		}
 
 		console.log(`[Gateway] Booking service response status: ${response.status}`);
+
+		if (response.ok && response.body && STREAMED_TYPES.test(response.headers.get("content-type") || "")) {
+			console.log(`[Gateway] Streaming ${response.headers.get("content-type")} response`);
+			return pipeStream(response, res);
+		}
 		
 		// Get response text first to handle both success and error cases
 		const responseText = await response.text();
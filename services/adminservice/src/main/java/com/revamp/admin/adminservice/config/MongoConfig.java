@@ -1,10 +1,16 @@
 package com.revamp.admin.adminservice.config;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
 
@@ -17,14 +23,61 @@ public class MongoConfig {
 	@Value("${ADMIN_MONGO_DATABASE:Time-slot}")
 	private String databaseName;
 
+	@Value("${mongo.pool.max-size:100}")
+	private int poolMaxSize;
+
+	@Value("${mongo.pool.min-size:0}")
+	private int poolMinSize;
+
+	@Value("${mongo.pool.max-wait-millis:2000}")
+	private long poolMaxWaitMillis; // the driver waits 2 minutes for a connection by default
+
+	@Value("${mongo.pool.max-idle-millis:300000}")
+	private long poolMaxIdleMillis;
+
+	@Value("${mongo.pool.connect-timeout-millis:5000}")
+	private long connectTimeoutMillis;
+
+	@Value("${mongo.pool.server-selection-timeout-millis:10000}")
+	private long serverSelectionTimeoutMillis;
+
 	@Bean
-	public MongoTemplate mongoTemplate() {
+	public MongoPoolMetrics mongoPoolMetrics() {
+		return new MongoPoolMetrics();
+	}
+
+	/**
+	 * The service's one client, with a tuned pool and metrics; also stops Spring Boot from creating one of its own
+	 */
+	@Bean
+	public MongoClient mongoClient(MongoPoolMetrics mongoPoolMetrics) {
 		if (mongoUri == null || mongoUri.trim().isEmpty()) {
 			throw new IllegalStateException(
 				"ERROR: MongoDB URI is not configured in application.properties!"
 			);
 		}
-		
+		ConnectionString connectionString = new ConnectionString(mongoUri);
+		MongoClientSettings.Builder settings = MongoClientSettings.builder()
+			.applyConnectionString(connectionString)
+			.applyToConnectionPoolSettings(pool -> pool
+				.maxSize(poolMaxSize)
+				.minSize(poolMinSize)
+				.maxWaitTime(poolMaxWaitMillis, TimeUnit.MILLISECONDS)
+				.maxConnectionIdleTime(poolMaxIdleMillis, TimeUnit.MILLISECONDS)
+				.addConnectionPoolListener(mongoPoolMetrics))
+			.applyToSocketSettings(socket -> socket.connectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS))
+			.applyToClusterSettings(cluster -> cluster
+				.serverSelectionTimeout(serverSelectionTimeoutMillis, TimeUnit.MILLISECONDS))
+			.addCommandListener(mongoPoolMetrics);
+		// Compressors named in the URI win
+		if (connectionString.getCompressorList().isEmpty()) {
+			settings.compressorList(List.of(MongoCompressor.createZlibCompressor()));
+		}
+		return MongoClients.create(settings.build());
+	}
+
+	@Bean
+	public MongoTemplate mongoTemplate(MongoClient mongoClient) {
 		String dbName = databaseName;
 		if (mongoUri.contains("/")) {
 			String[] parts = mongoUri.split("/");
@@ -43,7 +96,6 @@ public class MongoConfig {
 		System.out.println("Database Name: " + dbName);
 		System.out.println("Collection: modificationservices");
 		
-		MongoClient mongoClient = MongoClients.create(mongoUri);
 		MongoTemplate template = new MongoTemplate(mongoClient, dbName);
 		
 		// Test connection
@@ -0,0 +1,144 @@
+package com.revamp.admin.adminservice.config;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandSucceededEvent;
+import com.mongodb.event.ConnectionCheckOutFailedEvent;
+import com.mongodb.event.ConnectionCheckOutStartedEvent;
+import com.mongodb.event.ConnectionCheckedInEvent;
+import com.mongodb.event.ConnectionCheckedOutEvent;
+import com.mongodb.event.ConnectionClosedEvent;
+import com.mongodb.event.ConnectionCreatedEvent;
+import com.mongodb.event.ConnectionPoolListener;
+
+/**
+ * Connection-pool and command-latency counters for the Mongo client, fed by
+ * the driver's pool and command listeners. Cheap enough to stay on in
+ * production: every event is a handful of atomic increments.
+ */
+public class MongoPoolMetrics implements ConnectionPoolListener, CommandListener {
+
+	private final AtomicInteger open = new AtomicInteger();
+	private final AtomicInteger checkedOut = new AtomicInteger();
+	private final AtomicInteger waiting = new AtomicInteger();
+	private final AtomicInteger maxWaiting = new AtomicInteger();
+	private final AtomicLong checkOuts = new AtomicLong();
+	private final AtomicLong checkOutTimeouts = new AtomicLong();
+	private final AtomicLong checkOutFailures = new AtomicLong();
+	private final AtomicLong checkOutWaitNanos = new AtomicLong();
+	private final AtomicLong maxCheckOutWaitNanos = new AtomicLong();
+	private final Map<String, CommandStats> commands = new ConcurrentHashMap<>();
+
+	static final class CommandStats {
+		private final AtomicLong count = new AtomicLong();
+		private final AtomicLong failures = new AtomicLong();
+		private final AtomicLong totalNanos = new AtomicLong();
+		private final AtomicLong maxNanos = new AtomicLong();
+
+		void record(long nanos, boolean failed) {
+			count.incrementAndGet();
+			if (failed) {
+				failures.incrementAndGet();
+			}
+			totalNanos.addAndGet(nanos);
+			maxNanos.accumulateAndGet(nanos, Math::max);
+		}
+
+		Map<String, Object> describe() {
+			long n = count.get();
+			Map<String, Object> result = new LinkedHashMap<>();
+			result.put("count", n);
+			result.put("failures", failures.get());
+			result.put("meanMillis", n == 0 ? 0.0 : totalNanos.get() / 1e6 / n);
+			result.put("maxMillis", maxNanos.get() / 1e6);
+			return result;
+		}
+	}
+
+	@Override
+	public void connectionCreated(ConnectionCreatedEvent event) {
+		open.incrementAndGet();
+	}
+
+	@Override
+	public void connectionClosed(ConnectionClosedEvent event) {
+		open.decrementAndGet();
+	}
+
+	@Override
+	public void connectionCheckOutStarted(ConnectionCheckOutStartedEvent event) {
+		maxWaiting.accumulateAndGet(waiting.incrementAndGet(), Math::max);
+	}
+
+	@Override
+	public void connectionCheckedOut(ConnectionCheckedOutEvent event) {
+		waiting.decrementAndGet();
+		checkedOut.incrementAndGet();
+		checkOuts.incrementAndGet();
+		long waited = event.getElapsedTime(TimeUnit.NANOSECONDS);
+		checkOutWaitNanos.addAndGet(waited);
+		maxCheckOutWaitNanos.accumulateAndGet(waited, Math::max);
+	}
+
+	@Override
+	public void connectionCheckOutFailed(ConnectionCheckOutFailedEvent event) {
+		waiting.decrementAndGet();
+		if (event.getReason() == ConnectionCheckOutFailedEvent.Reason.TIMEOUT) {
+			checkOutTimeouts.incrementAndGet();
+		} else {
+			checkOutFailures.incrementAndGet();
+		}
+	}
+
+	@Override
+	public void connectionCheckedIn(ConnectionCheckedInEvent event) {
+		checkedOut.decrementAndGet();
+	}
+
+	@Override
+	public void commandSucceeded(CommandSucceededEvent event) {
+		commandStats(event.getCommandName()).record(event.getElapsedTime(TimeUnit.NANOSECONDS), false);
+	}
+
+	@Override
+	public void commandFailed(CommandFailedEvent event) {
+		commandStats(event.getCommandName()).record(event.getElapsedTime(TimeUnit.NANOSECONDS), true);
+	}
+
+	private CommandStats commandStats(String commandName) {
+		return commands.computeIfAbsent(commandName, name -> new CommandStats());
+	}
+
+	/**
+	 * Current pool state and command latencies, for the stats endpoint
+	 */
+	public Map<String, Object> describe() {
+		long n = checkOuts.get();
+		Map<String, Object> pool = new LinkedHashMap<>();
+		pool.put("open", open.get());
+		pool.put("checkedOut", checkedOut.get());
+		pool.put("waitQueue", waiting.get());
+		pool.put("maxWaitQueue", maxWaiting.get());
+		pool.put("checkOuts", n);
+		pool.put("checkOutTimeouts", checkOutTimeouts.get());
+		pool.put("checkOutFailures", checkOutFailures.get());
+		pool.put("meanCheckOutWaitMillis", n == 0 ? 0.0 : checkOutWaitNanos.get() / 1e6 / n);
+		pool.put("maxCheckOutWaitMillis", maxCheckOutWaitNanos.get() / 1e6);
+
+		Map<String, Object> byCommand = new TreeMap<>();
+		commands.forEach((name, stats) -> byCommand.put(name, stats.describe()));
+
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("pool", pool);
+		result.put("commands", byCommand);
+		return result;
+	}
+}
@@ -8,6 +8,7 @@ import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.revamp.admin.adminservice.config.MongoPoolMetrics;
 import com.revamp.admin.adminservice.model.ModificationService;
 
 @RestController
@@ -18,6 +19,9 @@ public class HealthController {
 	@Autowired
 	private MongoTemplate mongoTemplate;
 
+	@Autowired
+	private MongoPoolMetrics mongoPoolMetrics;
+
 	/**
 	 * Health check endpoint
 	 */
@@ -57,5 +61,12 @@ public class HealthController {
 			return ResponseEntity.status(503).body(health);
 		}
 	}
-}
 
+	/**
+	 * Pool usage and command latencies of the Mongo client
+	 */
+	@GetMapping("/mongo-pools")
+	public ResponseEntity<Map<String, Object>> mongoPools() {
+		return ResponseEntity.ok(mongoPoolMetrics.describe());
+	}
+}
@@ -0,0 +1,42 @@
+package com.revamp.admin.adminservice.service;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tells the booking service to reload its modification catalog snapshot after
+ * the catalog changed here. Best effort and off the request thread: the booking
+ * service also follows the collection's change stream and refreshes periodically.
+ * The request carries the token both services share as CATALOG_REFRESH_TOKEN.
+ */
+@Component
+@Slf4j
+public class CatalogChangeNotifier {
+
+	private final RestClient restClient;
+	private final String refreshToken;
+
+	public CatalogChangeNotifier(@Value("${booking.service.url:http://localhost:8084}") String bookingServiceUrl,
+			@Value("${booking.service.refresh-token:${CATALOG_REFRESH_TOKEN:}}") String refreshToken) {
+		this.restClient = RestClient.builder().baseUrl(bookingServiceUrl).build();
+		this.refreshToken = refreshToken;
+	}
+
+	public void catalogChanged() {
+		CompletableFuture.runAsync(() -> {
+			try {
+				restClient.post().uri("/api/modifications/refresh")
+					.header("X-Service-Token", refreshToken)
+					.retrieve()
+					.toBodilessEntity();
+			} catch (RuntimeException e) {
+				log.warn("Could not notify booking service of catalog change: {}", e.getMessage());
+			}
+		});
+	}
+}
@@ -18,6 +18,9 @@ public class ModificationServiceService {
 	@Autowired
 	private MongoTemplate mongoTemplate;
 
+	@Autowired
+	private CatalogChangeNotifier catalogChangeNotifier;
+
 	/**
 	 * Add a modification service
 	 */
@@ -46,6 +49,7 @@ public class ModificationServiceService {
 				existing.setEstimatedCost(estimatedCost);
 			}
 			ModificationService updated = mongoTemplate.save(existing);
+			catalogChangeNotifier.catalogChanged();
 			System.out.println("✓ Updated successfully in Time-slot database");
 			System.out.println("Updated ID: " + updated.getId());
 			System.out.println("Database: Time-slot");
@@ -59,6 +63,7 @@ public class ModificationServiceService {
 			modificationService.setEstimatedCost(estimatedCost);
 		}
 		ModificationService saved = mongoTemplate.save(modificationService);
+		catalogChangeNotifier.catalogChanged();
 		System.out.println("✓ Saved successfully in Time-slot database");
 		System.out.println("New ID: " + saved.getId());
 		System.out.println("Collection: modificationservices");
@@ -82,6 +87,7 @@ public class ModificationServiceService {
 			System.out.println("Found service: " + existing.getName());
 			Query query = new Query(Criteria.where("id").is(id));
 			mongoTemplate.remove(query, ModificationService.class);
+			catalogChangeNotifier.catalogChanged();
 			System.out.println("✓ Deleted successfully from Time-slot database");
 			System.out.println("Collection: modificationservices");
 			System.out.println("Database: Time-slot");
@@ -0,0 +1,197 @@
+package com.revamp.auth.auth.config;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexField;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Creates and verifies the indexes this service relies on, from the single
+ * declarative list below. On startup every index is created if missing,
+ * indexes that differ from the spec or are not in it are reported as
+ * drift, and the queries behind the hot finder methods are explained to
+ * confirm they use an index instead of a collection scan.
+ */
+@Component
+@Slf4j
+public class MongoIndexManager {
+
+    /**
+     * One required index; fields prefixed with '-' are descending
+     */
+    record IndexSpec(String collection, String name, boolean unique, String... fields) {
+
+        Index toIndex() {
+            Index index = new Index().named(name);
+            for (String field : fields) {
+                index.on(key(field), direction(field));
+            }
+            return unique ? index.unique() : index;
+        }
+
+        boolean matchesKeys(IndexInfo info) {
+            List<IndexField> existing = info.getIndexFields();
+            if (existing.size() != fields.length) {
+                return false;
+            }
+            for (int i = 0; i < fields.length; i++) {
+                IndexField field = existing.get(i);
+                if (!field.getKey().equals(key(fields[i])) || field.getDirection() != direction(fields[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static String key(String field) {
+            return field.startsWith("-") ? field.substring(1) : field;
+        }
+
+        private static Sort.Direction direction(String field) {
+            return field.startsWith("-") ? Sort.Direction.DESC : Sort.Direction.ASC;
+        }
+    }
+
+    /**
+     * A representative filter for a finder method, used for the explain check
+     */
+    record Probe(String finder, String collection, Document filter) {
+    }
+
+    static final List<IndexSpec> INDEXES = List.of(
+        new IndexSpec("users", "email_1", true, "email"),
+        new IndexSpec("users", "username_1", false, "username"),
+        new IndexSpec("verification_tokens", "token_1", true, "token"));
+
+    static final List<Probe> PROBES = List.of(
+        new Probe("UserRepository.findByEmail", "users",
+            new Document("email", "__probe__")),
+        new Probe("UserRepository.existsByUsername", "users",
+            new Document("username", "__probe__")),
+        new Probe("VerificationTokenRepository.findByToken", "verification_tokens",
+            new Document("token", "__probe__")));
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoIndexManager(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void bootstrap() {
+        int drift = 0;
+        Set<String> collections = new HashSet<>();
+        for (IndexSpec spec : INDEXES) {
+            collections.add(spec.collection());
+            try {
+                if (!ensure(spec)) {
+                    drift++;
+                }
+            } catch (RuntimeException e) {
+                drift++;
+                log.error("Index {}.{} could not be created: {}", spec.collection(), spec.name(), e.getMessage());
+            }
+        }
+        for (String collection : collections) {
+            drift += reportUnmanaged(collection);
+        }
+        for (Probe probe : PROBES) {
+            explain(probe);
+        }
+        if (drift == 0) {
+            log.info("Mongo indexes verified: {} index(es) match the spec", INDEXES.size());
+        } else {
+            log.warn("Mongo index drift: {} problem(s) found, see messages above", drift);
+        }
+    }
+
+    /**
+     * Create the index if missing; returns false when an existing index conflicts with the spec
+     */
+    private boolean ensure(IndexSpec spec) {
+        IndexOperations ops = mongoTemplate.indexOps(spec.collection());
+        for (IndexInfo info : ops.getIndexInfo()) {
+            boolean sameName = info.getName().equals(spec.name());
+            boolean sameKeys = spec.matchesKeys(info);
+            if (sameName && sameKeys && info.isUnique() == spec.unique()) {
+                return true;
+            }
+            if (sameName || sameKeys) {
+                log.warn("Index drift on {}: found '{}' {} unique={}, expected '{}' {} unique={}",
+                    spec.collection(), info.getName(), info.getIndexFields(), info.isUnique(),
+                    spec.name(), List.of(spec.fields()), spec.unique());
+                return false;
+            }
+        }
+        ops.createIndex(spec.toIndex());
+        log.info("Created index {}.{}", spec.collection(), spec.name());
+        return true;
+    }
+
+    private int reportUnmanaged(String collection) {
+        int unmanaged = 0;
+        for (IndexInfo info : mongoTemplate.indexOps(collection).getIndexInfo()) {
+            boolean declared = "_id_".equals(info.getName()) || INDEXES.stream()
+                .anyMatch(spec -> spec.collection().equals(collection) && spec.name().equals(info.getName()));
+            if (!declared) {
+                unmanaged++;
+                log.warn("Index drift on {}: '{}' {} is not in the index spec", collection, info.getName(), info.getIndexFields());
+            }
+        }
+        return unmanaged;
+    }
+
+    private void explain(Probe probe) {
+        try {
+            Document command = new Document("explain", new Document("find", probe.collection()).append("filter", probe.filter()))
+                .append("verbosity", "queryPlanner");
+            Document result = mongoTemplate.getDb().runCommand(command);
+            Document planner = result.get("queryPlanner", Document.class);
+            List<String> stages = new ArrayList<>();
+            List<String> indexes = new ArrayList<>();
+            collectPlan(planner != null ? planner.get("winningPlan") : null, stages, indexes);
+
+            if (stages.contains("COLLSCAN")) {
+                log.warn("Explain {}: collection scan on {} for {}", probe.finder(), probe.collection(), probe.filter().toJson());
+            } else {
+                log.info("Explain {}: {} using {}", probe.finder(), stages, indexes);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Explain {} failed: {}", probe.finder(), e.getMessage());
+        }
+    }
+
+    private static void collectPlan(Object node, List<String> stages, List<String> indexes) {
+        if (node instanceof Document document) {
+            if (document.get("stage") instanceof String stage) {
+                stages.add(stage);
+            }
+            if (document.get("indexName") instanceof String indexName) {
+                indexes.add(indexName);
+            }
+            for (Object child : document.values()) {
+                collectPlan(child, stages, indexes);
+            }
+        } else if (node instanceof List<?> list) {
+            for (Object child : list) {
+                collectPlan(child, stages, indexes);
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.revamp.booking.bench;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.mongodb.client.MongoClients;
+
+/**
+ * MongoTemplate stand-in that keeps documents in memory, so benchmarks of
+ * code that reads through the template are reproducible without a mongod.
+ * Queries return every stored entity of the requested type in insertion
+ * order; criteria are deliberately ignored. The wrapped client is never
+ * connected.
+ */
+public class InMemoryMongoTemplate extends MongoTemplate {
+
+	private final Map<String, List<Object>> collections = new ConcurrentHashMap<>();
+
+	public InMemoryMongoTemplate() {
+		super(MongoClients.create("mongodb://localhost:1"), "bench");
+	}
+
+	@Override
+	public <T> List<T> find(Query query, Class<T> entityClass, String collectionName) {
+		List<T> result = new ArrayList<>();
+		for (Object document : collection(collectionName)) {
+			if (entityClass.isInstance(document)) {
+				result.add(entityClass.cast(document));
+			}
+		}
+		return result;
+	}
+
+	@Override
+	public <T> T findOne(Query query, Class<T> entityClass, String collectionName) {
+		List<T> result = find(query, entityClass, collectionName);
+		return result.isEmpty() ? null : result.get(0);
+	}
+
+	@Override
+	public <T> List<T> findAll(Class<T> entityClass, String collectionName) {
+		return find(new Query(), entityClass, collectionName);
+	}
+
+	@Override
+	public <T> T insert(T objectToSave, String collectionName) {
+		collection(collectionName).add(objectToSave);
+		return objectToSave;
+	}
+
+	@Override
+	public <T> T save(T objectToSave, String collectionName) {
+		return insert(objectToSave, collectionName);
+	}
+
+	private List<Object> collection(String collectionName) {
+		return collections.computeIfAbsent(collectionName, name -> new CopyOnWriteArrayList<>());
+	}
+}
@@ -0,0 +1,99 @@
+package com.revamp.booking.bench;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revamp.booking.bookingservice.model.Appointment;
+import com.revamp.booking.bookingservice.model.TimeSlot;
+
+/**
+ * Jackson serialization of Appointment and TimeSlot lists with an
+ * ObjectMapper configured the way Spring Boot configures the MVC one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JsonSerializationBenchmark {
+
+	@Param({ "20", "500" })
+	public int size;
+
+	private ObjectMapper objectMapper;
+	private List<Appointment> appointments;
+	private List<TimeSlot> timeSlots;
+
+	@Setup
+	public void setUp() {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+		appointments = new ArrayList<>(size);
+		timeSlots = new ArrayList<>(size);
+		LocalDate start = LocalDate.of(2025, 1, 6);
+		for (int i = 0; i < size; i++) {
+			Appointment.VehicleDetails vehicle = new Appointment.VehicleDetails();
+			vehicle.setMake("Toyota");
+			vehicle.setModel("Corolla");
+			vehicle.setYear(2018);
+			vehicle.setRegistrationNumber("CAB-" + (1000 + i));
+
+			Appointment appointment = new Appointment();
+			appointment.setId(String.format("%024x", i));
+			appointment.setCustomerId("customer-" + (i % 50));
+			appointment.setCustomerName("Customer " + (i % 50));
+			appointment.setCustomerEmail("customer" + (i % 50) + "@example.com");
+			appointment.setVehicle(vehicle.getRegistrationNumber());
+			appointment.setVehicleDetails(vehicle);
+			appointment.setServiceType(i % 3 == 0 ? "Modification" : "Service");
+			appointment.setDate(start.plusDays(i % 60));
+			appointment.setTime(LocalTime.of(8, 0));
+			appointment.setTimeSlotStart("08:00");
+			appointment.setTimeSlotEnd("11:00");
+			appointment.setStatus("Pending");
+			appointment.setAssignedEmployeeIds(List.of("employee-1", "employee-2"));
+			appointment.setAssignedEmployeeNames(List.of("Employee One", "Employee Two"));
+			appointment.setNeededModifications(i % 3 == 0 ? List.of("Body kit", "Alloy wheels") : null);
+			appointment.setEstimatedCost(25000.0 + i);
+			appointment.setEstimatedTimeHours(3);
+			appointment.setInstructions("Vehicle: " + vehicle.getRegistrationNumber() + "\nPlease check the brakes");
+			appointment.setCreatedAt(LocalDateTime.of(2025, 1, 1, 9, 0).plusMinutes(i));
+			appointment.setUpdatedAt(appointment.getCreatedAt());
+			appointments.add(appointment);
+
+			TimeSlot slot = new TimeSlot(start.plusDays(i / 3), LocalTime.of(8 + (i % 3) * 3, 0), LocalTime.of(11 + (i % 3) * 3, 0));
+			slot.setId(String.format("%024x", i));
+			timeSlots.add(slot);
+		}
+	}
+
+	@Benchmark
+	public byte[] appointments() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(appointments);
+	}
+
+	@Benchmark
+	public byte[] timeSlots() throws JsonProcessingException {
+		return objectMapper.writeValueAsBytes(timeSlots);
+	}
+}
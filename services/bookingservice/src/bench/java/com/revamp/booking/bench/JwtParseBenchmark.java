@@ -0,0 +1,83 @@
+package com.revamp.booking.bench;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.revamp.booking.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * JwtUtil.parseToken for a token seen before (served from the verified
+ * token cache) and for a rotating set of tokens with the cache disabled
+ * (full signature verification on every call).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class JwtParseBenchmark {
+
+	private static final String SECRET = "benchmark-secret-benchmark-secret-0123";
+
+	@Param({ "10000", "0" })
+	public int cacheEntries;
+
+	private JwtUtil jwtUtil;
+	private String[] headers;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		jwtUtil = new JwtUtil();
+		ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+		ReflectionTestUtils.setField(jwtUtil, "maxCachedTokens", cacheEntries);
+		ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+
+		SecretKey key = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+		Date expiresAt = new Date(System.currentTimeMillis() + 24 * 60 * 60 * 1000L);
+		headers = new String[1024];
+		for (int i = 0; i < headers.length; i++) {
+			headers[i] = "Bearer " + Jwts.builder()
+				.setSubject("customer-" + i)
+				.claim("username", "Customer " + i)
+				.claim("email", "customer" + i + "@example.com")
+				.claim("role", "CUSTOMER")
+				.setIssuedAt(new Date())
+				.setExpiration(expiresAt)
+				.signWith(key)
+				.compact();
+		}
+	}
+
+	@Benchmark
+	public Claims parseSameToken() {
+		return jwtUtil.parseToken(headers[0]);
+	}
+
+	@Benchmark
+	public Claims parseRotatingTokens() {
+		next = (next + 1) & (headers.length - 1);
+		return jwtUtil.parseToken(headers[next]);
+	}
+}
@@ -0,0 +1,311 @@
+package com.revamp.booking.bench;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import com.revamp.booking.BookingServiceApplication;
+import com.revamp.booking.bookingservice.model.Appointment;
+import com.revamp.booking.bookingservice.model.TimeSlot;
+import com.revamp.booking.bookingservice.service.AppointmentService;
+import com.revamp.booking.bookingservice.service.TimeSlotService;
+import com.revamp.booking.dto.AppointmentRequest;
+import com.revamp.booking.model.Booking;
+import com.revamp.booking.service.BookingService;
+
+/**
+ * Fires thousands of concurrent booking attempts at a few hot slots through
+ * both booking paths against a local mongod:
+ *
+ *   booking     - BookingService.createAppointment (save booking, claim slot, delete on failure)
+ *   appointment - AppointmentService.createAppointment (claim slot, insert, release on failure)
+ *
+ * For each path it reports throughput, latency percentiles, the lost-race
+ * rate, slots claimed more than once, bookings documents left without their
+ * slot (orphans) at the end and at peak during the run, and slots held by an
+ * appointment that was never stored.
+ *
+ * The hot slots live on a date far outside the materialized horizon and are
+ * recreated before every run; all bookings created by a run carry a
+ * "contention-<run>-" customer id and are removed afterwards unless
+ * --keep=true is given.
+ *
+ * Run with:
+ *   ./mvnw -Pbench test-compile exec:java \
+ *     -Dexec.mainClass=com.revamp.booking.bench.SlotContentionHarness \
+ *     -Dexec.args="--mongo=mongodb://localhost:27017 --attempts=5000 --threads=200 --slots=3"
+ */
+public class SlotContentionHarness {
+
+	private static final String LOST_RACE = "already booked";
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parse(args);
+		String mongo = options.getOrDefault("mongo", "mongodb://localhost:27017");
+		String database = options.getOrDefault("db", "bookings_contention");
+		int attempts = Integer.parseInt(options.getOrDefault("attempts", "5000"));
+		int threads = Integer.parseInt(options.getOrDefault("threads", "200"));
+		int hotSlots = Integer.parseInt(options.getOrDefault("slots", "3"));
+		boolean keep = Boolean.parseBoolean(options.getOrDefault("keep", "false"));
+		List<String> paths = List.of(options.getOrDefault("paths", "booking,appointment").split(","));
+
+		try (ConfigurableApplicationContext context = start(mongo, database)) {
+			SlotContentionHarness harness = new SlotContentionHarness(context, hotSlots);
+			List<Report> reports = new ArrayList<>();
+			for (String path : paths) {
+				reports.add(harness.run(path.trim(), attempts, threads, keep));
+			}
+
+			System.out.println();
+			System.out.println(attempts + " attempts on " + hotSlots + " hot slot(s) from " + threads + " threads");
+			reports.forEach(Report::print);
+		}
+	}
+
+	private final MongoTemplate mongoTemplate;
+	private final TimeSlotService timeSlotService;
+	private final BookingService bookingService;
+	private final AppointmentService appointmentService;
+	private final int hotSlots;
+
+	SlotContentionHarness(ConfigurableApplicationContext context, int hotSlots) {
+		this.mongoTemplate = context.getBean(MongoTemplate.class);
+		this.timeSlotService = context.getBean(TimeSlotService.class);
+		this.bookingService = context.getBean(BookingService.class);
+		this.appointmentService = context.getBean(AppointmentService.class);
+		this.hotSlots = hotSlots;
+	}
+
+	private static ConfigurableApplicationContext start(String mongo, String database) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("spring.data.mongodb.uri", mongo);
+		properties.put("spring.data.mongodb.database", database);
+		properties.put("modification.services.mongodb.uri", mongo);
+		properties.put("modification.services.mongodb.database", database);
+		properties.put("booking.reactive.enabled", false);
+		properties.put("booking.slots.horizon-weeks", 1);
+		properties.put("jwt.secret", "contention-secret-contention-secret-0123");
+		properties.put("stripe.api.secret", "");
+		properties.put("timeslot.api.base", "http://localhost:0");
+		properties.put("logging.level.root", "WARN");
+		return new SpringApplicationBuilder(BookingServiceApplication.class)
+			.web(WebApplicationType.NONE)
+			.properties(properties)
+			.run();
+	}
+
+	Report run(String path, int attempts, int threads, boolean keep) throws InterruptedException {
+		String runId = path + "-" + Long.toString(System.currentTimeMillis(), 36);
+		String customerPrefix = "contention-" + runId + "-";
+		List<TimeSlot> slots = prepareSlots();
+		Set<String> slotIds = new HashSet<>();
+		slots.forEach(slot -> slotIds.add(slot.getId()));
+
+		long[] latencies = new long[attempts];
+		AtomicInteger succeeded = new AtomicInteger();
+		AtomicInteger lostRaces = new AtomicInteger();
+		AtomicInteger otherErrors = new AtomicInteger();
+		Map<String, AtomicInteger> winsPerSlot = new ConcurrentHashMap<>();
+		CountDownLatch go = new CountDownLatch(1);
+
+		// Samples orphans while the run is in flight: bookings that exist but do not hold their slot
+		AtomicBoolean sampling = new AtomicBoolean(true);
+		AtomicLong peakOrphans = new AtomicLong();
+		Thread sampler = Thread.ofPlatform().daemon().start(() -> {
+			while (sampling.get()) {
+				peakOrphans.accumulateAndGet(countOrphans(customerPrefix, slotIds), Math::max);
+				try {
+					Thread.sleep(5);
+				} catch (InterruptedException e) {
+					return;
+				}
+			}
+		});
+
+		ExecutorService pool = Executors.newFixedThreadPool(threads);
+		for (int i = 0; i < attempts; i++) {
+			int attempt = i;
+			TimeSlot slot = slots.get(i % slots.size());
+			pool.submit(() -> {
+				try {
+					go.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				long begin = System.nanoTime();
+				try {
+					book(path, customerPrefix + attempt, slot);
+					succeeded.incrementAndGet();
+					winsPerSlot.computeIfAbsent(slot.getId(), id -> new AtomicInteger()).incrementAndGet();
+				} catch (RuntimeException e) {
+					if (e.getMessage() != null && e.getMessage().contains(LOST_RACE)) {
+						lostRaces.incrementAndGet();
+					} else {
+						otherErrors.incrementAndGet();
+					}
+				} finally {
+					latencies[attempt] = System.nanoTime() - begin;
+				}
+			});
+		}
+
+		long started = System.nanoTime();
+		go.countDown();
+		pool.shutdown();
+		pool.awaitTermination(10, TimeUnit.MINUTES);
+		long elapsed = System.nanoTime() - started;
+		sampling.set(false);
+		sampler.join();
+
+		// Wins beyond a slot's bay count are overbookings
+		Map<String, Integer> capacities = new HashMap<>();
+		slots.forEach(slot -> capacities.put(slot.getId(), Math.max(1, slot.getCapacity())));
+		int doubleBooked = winsPerSlot.entrySet().stream()
+			.mapToInt(e -> Math.max(0, e.getValue().get() - capacities.getOrDefault(e.getKey(), 1)))
+			.sum();
+		long orphans = countOrphans(customerPrefix, slotIds);
+		long leakedSlots = countLeakedSlots(slotIds);
+		Arrays.sort(latencies);
+
+		if (!keep) {
+			mongoTemplate.remove(new Query(Criteria.where("customerId").regex("^" + customerPrefix)), Booking.class);
+		}
+		return new Report(path, attempts, elapsed, latencies, succeeded.get(), lostRaces.get(), otherErrors.get(),
+			doubleBooked, orphans, peakOrphans.get(), leakedSlots);
+	}
+
+	private void book(String path, String customerId, TimeSlot slot) {
+		switch (path) {
+			case "booking" -> {
+				AppointmentRequest request = new AppointmentRequest();
+				request.setServiceType("Service");
+				request.setDate(slot.getDate().toString());
+				request.setTimeSlotId(slot.getId());
+				request.setInstructions("Contention harness");
+				bookingService.createAppointment(customerId, "Contention", customerId + "@example.com", request);
+			}
+			case "appointment" -> {
+				Appointment appointment = new Appointment();
+				appointment.setCustomerId(customerId);
+				appointment.setCustomerName("Contention");
+				appointment.setServiceType("Service");
+				appointment.setDate(slot.getDate());
+				appointment.setTimeSlotId(slot.getId());
+				appointment.setInstructions("Contention harness");
+				appointmentService.createAppointment(appointment);
+			}
+			default -> throw new IllegalArgumentException("Unknown path " + path + ", expected booking or appointment");
+		}
+	}
+
+	/**
+	 * Recreate the hot slots, all free, on a working day well past the materialized horizon
+	 */
+	private List<TimeSlot> prepareSlots() {
+		LocalDate date = LocalDate.now().plusYears(2);
+		while (date.getDayOfWeek() == DayOfWeek.SUNDAY || timeSlotService.isDateUnavailable(date)) {
+			date = date.plusDays(1);
+		}
+		mongoTemplate.remove(new Query(Criteria.where("date").is(date)), TimeSlot.class);
+
+		List<TimeSlot> slots = new ArrayList<>();
+		for (TimeSlot slot : timeSlotService.generateTimeSlots(date, date)) {
+			if (slots.size() == hotSlots) {
+				break;
+			}
+			slots.add(mongoTemplate.insert(slot));
+		}
+		return slots;
+	}
+
+	/**
+	 * Bookings of this run that are not the appointment holding their slot
+	 */
+	private long countOrphans(String customerPrefix, Set<String> slotIds) {
+		Query runBookings = new Query(Criteria.where("customerId").regex("^" + customerPrefix));
+		runBookings.fields().include("timeSlotId");
+		Set<String> holders = slotHolders(slotIds);
+		return mongoTemplate.find(runBookings, Booking.class).stream()
+			.filter(booking -> !holders.contains(booking.getId()))
+			.count();
+	}
+
+	/**
+	 * Booked hot slots whose appointment id has no bookings document
+	 */
+	private long countLeakedSlots(Set<String> slotIds) {
+		long leaked = 0;
+		for (String holder : slotHolders(slotIds)) {
+			if (!mongoTemplate.exists(new Query(Criteria.where("_id").is(holder)), Booking.class)) {
+				leaked++;
+			}
+		}
+		return leaked;
+	}
+
+	private Set<String> slotHolders(Set<String> slotIds) {
+		Set<String> holders = new HashSet<>();
+		for (TimeSlot slot : mongoTemplate.find(new Query(Criteria.where("_id").in(slotIds)), TimeSlot.class)) {
+			holders.addAll(slot.getAppointmentIds());
+		}
+		return holders;
+	}
+
+	record Report(String path, int attempts, long elapsedNanos, long[] sortedLatencies, int succeeded, int lostRaces,
+			int otherErrors, int doubleBooked, long orphans, long peakOrphans, long leakedSlots) {
+
+		void print() {
+			double seconds = elapsedNanos / 1_000_000_000.0;
+			System.out.printf("%n[%s]%n", path);
+			System.out.printf("  throughput      %.0f attempts/s (%.2f s)%n", attempts / seconds, seconds);
+			System.out.printf("  latency         p50 %.1f ms  p90 %.1f ms  p99 %.1f ms  max %.1f ms%n",
+				percentile(50), percentile(90), percentile(99), percentile(100));
+			System.out.printf("  succeeded       %d%n", succeeded);
+			System.out.printf("  lost races      %d (%.1f%%)%n", lostRaces, 100.0 * lostRaces / attempts);
+			System.out.printf("  other errors    %d%n", otherErrors);
+			System.out.printf("  double-booked   %d%n", doubleBooked);
+			System.out.printf("  orphaned        %d at end, %d at peak during the run%n", orphans, peakOrphans);
+			System.out.printf("  leaked slots    %d%n", leakedSlots);
+		}
+
+		double percentile(double p) {
+			if (sortedLatencies.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.ceil(p / 100.0 * sortedLatencies.length) - 1;
+			return sortedLatencies[Math.max(0, Math.min(sortedLatencies.length - 1, index))] / 1_000_000.0;
+		}
+	}
+
+	private static Map<String, String> parse(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			if (arg.startsWith("--") && arg.contains("=")) {
+				options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+			}
+		}
+		return options;
+	}
+}
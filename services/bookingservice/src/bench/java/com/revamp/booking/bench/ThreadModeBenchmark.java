@@ -0,0 +1,190 @@
+package com.revamp.booking.bench;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.revamp.booking.BookingServiceApplication;
+import com.revamp.booking.bookingservice.model.Appointment;
+
+/**
+ * Compares request throughput and tail latency of the booking service in
+ * platform-thread mode (Tomcat worker pool) and virtual-thread mode (the
+ * "vthreads" profile: virtual threads plus the Mongo/Stripe bulkheads).
+ *
+ * The service is started in-process twice against a local mongod, once per
+ * mode, and hammered by a closed-loop client with a fixed number of
+ * concurrent callers. Requires a running mongod; the benchmark database is
+ * seeded with appointments on first use.
+ *
+ * Run with:
+ *   ./mvnw -Pbench test-compile exec:java \
+ *     -Dexec.mainClass=com.revamp.booking.bench.ThreadModeBenchmark \
+ *     -Dexec.args="--mongo=mongodb://localhost:27017 --concurrency=800 --seconds=30"
+ */
+public class ThreadModeBenchmark {
+
+	public static void main(String[] args) throws Exception {
+		Map<String, String> options = parse(args);
+		String mongo = options.getOrDefault("mongo", "mongodb://localhost:27017");
+		String database = options.getOrDefault("db", "bookings_bench");
+		int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "800"));
+		int seconds = Integer.parseInt(options.getOrDefault("seconds", "30"));
+		int warmupSeconds = Integer.parseInt(options.getOrDefault("warmup", "5"));
+		String tomcatThreads = options.getOrDefault("tomcat-threads", "200");
+		String path = options.getOrDefault("path", "/api/bookings/appointments/v1/page?limit=20&view=summary");
+
+		List<String> report = new ArrayList<>();
+		for (boolean virtual : new boolean[] { false, true }) {
+			String mode = virtual ? "virtual threads" : "platform threads";
+			try (ConfigurableApplicationContext context = start(mongo, database, virtual, tomcatThreads)) {
+				seed(context.getBean(MongoTemplate.class));
+				int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+				URI uri = URI.create("http://localhost:" + port + path);
+
+				run(uri, concurrency, warmupSeconds);
+				Result result = run(uri, concurrency, seconds);
+				report.add(String.format("%-17s %10.0f req/s  p50 %7.1f ms  p99 %7.1f ms  p99.9 %7.1f ms  errors %d",
+					mode, result.throughput(), result.percentile(50), result.percentile(99),
+					result.percentile(99.9), result.errors()));
+			}
+		}
+
+		System.out.println();
+		System.out.println("GET " + path + " with " + concurrency + " concurrent callers for " + seconds + "s");
+		report.forEach(System.out::println);
+	}
+
+	private static ConfigurableApplicationContext start(String mongo, String database, boolean virtual, String tomcatThreads) {
+		Map<String, Object> properties = new HashMap<>();
+		properties.put("server.port", 0);
+		properties.put("server.tomcat.threads.max", tomcatThreads);
+		properties.put("booking.reactive.port", 0);
+		properties.put("spring.threads.virtual.enabled", virtual);
+		properties.put("booking.bulkhead.enabled", virtual);
+		properties.put("spring.data.mongodb.uri", mongo);
+		properties.put("spring.data.mongodb.database", database);
+		properties.put("modification.services.mongodb.uri", mongo);
+		properties.put("modification.services.mongodb.database", database);
+		properties.put("jwt.secret", "benchmark-secret-benchmark-secret-0123");
+		properties.put("stripe.api.secret", "");
+		properties.put("timeslot.api.base", "http://localhost:0");
+		properties.put("logging.level.root", "WARN");
+		return new SpringApplicationBuilder(BookingServiceApplication.class)
+			.properties(properties)
+			.run();
+	}
+
+	private static void seed(MongoTemplate mongoTemplate) {
+		if (mongoTemplate.getCollection("bookings").estimatedDocumentCount() > 0) {
+			return;
+		}
+		List<Appointment> appointments = new ArrayList<>();
+		LocalDate start = LocalDate.now();
+		for (int i = 0; i < 5_000; i++) {
+			Appointment appointment = new Appointment();
+			appointment.setCustomerId("customer-" + (i % 250));
+			appointment.setCustomerName("Customer " + (i % 250));
+			appointment.setServiceType(i % 3 == 0 ? "Modification" : "Service");
+			appointment.setDate(start.plusDays(i % 90));
+			appointment.setStatus(i % 5 == 0 ? "Approved" : "Pending");
+			appointment.setInstructions("Benchmark appointment " + i);
+			appointment.setCreatedAt(LocalDateTime.now().minusMinutes(i));
+			appointment.setUpdatedAt(appointment.getCreatedAt());
+			appointments.add(appointment);
+		}
+		mongoTemplate.insertAll(appointments);
+	}
+
+	private static Result run(URI uri, int concurrency, int seconds) throws InterruptedException {
+		HttpClient client = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.executor(Executors.newVirtualThreadPerTaskExecutor())
+			.build();
+		HttpRequest request = HttpRequest.newBuilder(uri).timeout(Duration.ofSeconds(30)).GET().build();
+
+		long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+		AtomicLong errors = new AtomicLong();
+		List<long[]> perCaller = new ArrayList<>();
+		int[] counts = new int[concurrency];
+
+		try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int c = 0; c < concurrency; c++) {
+				long[] latencies = new long[1 << 16];
+				perCaller.add(latencies);
+				int caller = c;
+				callers.submit(() -> {
+					long[] samples = latencies;
+					int n = 0;
+					while (System.nanoTime() < deadline) {
+						long begin = System.nanoTime();
+						try {
+							HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+							if (response.statusCode() != 200) {
+								errors.incrementAndGet();
+							}
+						} catch (Exception e) {
+							errors.incrementAndGet();
+						}
+						if (n == samples.length) {
+							samples = Arrays.copyOf(samples, samples.length * 2);
+							perCaller.set(caller, samples);
+						}
+						samples[n++] = System.nanoTime() - begin;
+					}
+					counts[caller] = n;
+					return null;
+				});
+			}
+		}
+
+		int total = Arrays.stream(counts).sum();
+		long[] all = new long[total];
+		int offset = 0;
+		for (int c = 0; c < concurrency; c++) {
+			System.arraycopy(perCaller.get(c), 0, all, offset, counts[c]);
+			offset += counts[c];
+		}
+		Arrays.sort(all);
+		return new Result(all, total / (double) seconds, errors.get());
+	}
+
+	private record Result(long[] sortedNanos, double throughput, long errors) {
+
+		double percentile(double p) {
+			if (sortedNanos.length == 0) {
+				return 0;
+			}
+			int index = (int) Math.min(sortedNanos.length - 1, Math.ceil(p / 100.0 * sortedNanos.length) - 1);
+			return sortedNanos[Math.max(0, index)] / 1_000_000.0;
+		}
+	}
+
+	private static Map<String, String> parse(String[] args) {
+		Map<String, String> options = new HashMap<>();
+		for (String arg : args) {
+			if (arg.startsWith("--") && arg.contains("=")) {
+				options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+			}
+		}
+		return options;
+	}
+}
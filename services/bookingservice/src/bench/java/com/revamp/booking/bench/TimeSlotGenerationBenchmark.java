@@ -0,0 +1,65 @@
+package com.revamp.booking.bench;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.revamp.booking.bookingservice.model.TimeSlot;
+import com.revamp.booking.bookingservice.model.UnavailableDate;
+import com.revamp.booking.bookingservice.service.SlotAvailabilityIndex;
+import com.revamp.booking.bookingservice.service.SlotTemplates;
+import com.revamp.booking.bookingservice.service.TimeSlotService;
+import com.revamp.booking.bookingservice.service.UnavailableDateService;
+
+/**
+ * TimeSlotService.generateTimeSlots over a one-year range, with a dozen
+ * holidays held in the in-memory Mongo stand-in.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class TimeSlotGenerationBenchmark {
+
+	private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+	private TimeSlotService timeSlotService;
+
+	@Setup
+	public void setUp() {
+		InMemoryMongoTemplate mongoTemplate = new InMemoryMongoTemplate();
+		for (int month = 1; month <= 12; month++) {
+			mongoTemplate.insert(new UnavailableDate(LocalDate.of(2025, month, 14), "Holiday"));
+		}
+
+		UnavailableDateService unavailableDateService = new UnavailableDateService();
+		ReflectionTestUtils.setField(unavailableDateService, "mongoTemplate", mongoTemplate);
+
+		timeSlotService = new TimeSlotService();
+		ReflectionTestUtils.setField(timeSlotService, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(timeSlotService, "unavailableDateService", unavailableDateService);
+		ReflectionTestUtils.setField(timeSlotService, "slotAvailabilityIndex", new SlotAvailabilityIndex(mongoTemplate));
+		ReflectionTestUtils.setField(timeSlotService, "slotTemplates",
+			new SlotTemplates("08:00-11:00,11:00-14:00,14:00-17:00", 1, new StandardEnvironment()));
+	}
+
+	@Benchmark
+	public List<TimeSlot> generateOneYear() {
+		return timeSlotService.generateTimeSlots(START, START.plusYears(1).minusDays(1));
+	}
+}
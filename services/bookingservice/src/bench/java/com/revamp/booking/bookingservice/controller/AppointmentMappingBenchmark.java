@@ -0,0 +1,85 @@
+package com.revamp.booking.bookingservice.controller;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revamp.booking.bookingservice.model.Appointment;
+import com.revamp.booking.dto.AppointmentRequest;
+
+/**
+ * AppointmentController request-to-entity mapping: the mapping alone for
+ * the three vehicle shapes, and JSON body to Appointment end to end.
+ * Lives in the controller package to reach the package-private mapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class AppointmentMappingBenchmark {
+
+	private static final String REQUEST_JSON = """
+		{"serviceType":"Service","date":"2025-03-10","timeSlotId":"65f0c0ffee0000000000abcd",
+		 "vehicleDetails":{"make":"Toyota","model":"Corolla","year":2018,"registrationNumber":"CAB-1234"},
+		 "estimatedTimeHours":3,"estimatedCost":25000,"instructions":"Please check the brakes"}
+		""";
+
+	private ObjectMapper objectMapper;
+	private AppointmentRequest withVehicleDetails;
+	private AppointmentRequest withVehicleId;
+	private AppointmentRequest withVehicleInInstructions;
+
+	@Setup
+	public void setUp() throws Exception {
+		objectMapper = Jackson2ObjectMapperBuilder.json().build();
+		withVehicleDetails = objectMapper.readValue(REQUEST_JSON, AppointmentRequest.class);
+
+		withVehicleId = new AppointmentRequest();
+		withVehicleId.setServiceType("Modification");
+		withVehicleId.setDate("2025-03-11");
+		withVehicleId.setVehicleId("vehicle-42");
+		withVehicleId.setNeededModifications(List.of("Body kit", "Alloy wheels"));
+		withVehicleId.setEstimatedCost(180000);
+
+		withVehicleInInstructions = new AppointmentRequest();
+		withVehicleInInstructions.setServiceType("Service");
+		withVehicleInInstructions.setDate("2025-03-12");
+		withVehicleInInstructions.setTimeSlotId("65f0c0ffee0000000000abce");
+		withVehicleInInstructions.setInstructions("Oil change\nVehicle: CAB-5678\nCall before starting");
+	}
+
+	@Benchmark
+	public Appointment mapVehicleDetails() {
+		return AppointmentController.toAppointment(withVehicleDetails, "customer-1", "Customer One", "one@example.com");
+	}
+
+	@Benchmark
+	public Appointment mapVehicleId() {
+		return AppointmentController.toAppointment(withVehicleId, "customer-1", "Customer One", "one@example.com");
+	}
+
+	@Benchmark
+	public Appointment mapVehicleFromInstructions() {
+		return AppointmentController.toAppointment(withVehicleInInstructions, "customer-1", "Customer One", "one@example.com");
+	}
+
+	@Benchmark
+	public Appointment readJsonAndMap() throws Exception {
+		AppointmentRequest request = objectMapper.readValue(REQUEST_JSON, AppointmentRequest.class);
+		return AppointmentController.toAppointment(request, "customer-1", "Customer One", "one@example.com");
+	}
+}
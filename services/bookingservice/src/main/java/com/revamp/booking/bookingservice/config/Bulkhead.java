@@ -0,0 +1,89 @@
+package com.revamp.booking.bookingservice.config;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Semaphore bulkhead that caps how many callers may use a downstream
+ * resource (a Mongo client's connection pool, the Stripe API) at once.
+ * With virtual threads the servlet container no longer limits concurrency,
+ * so this is what keeps thousands of in-flight requests from piling onto a
+ * pool sized for a hundred. Callers that cannot get a permit within the
+ * configured wait fail fast with {@link BulkheadFullException}.
+ * Nested calls on a thread that already holds a permit pass straight through.
+ */
+public class Bulkhead {
+
+	@FunctionalInterface
+	public interface Call<T, E extends Exception> {
+		T call() throws E;
+	}
+
+	private final String name;
+	private final int maxConcurrent;
+	private final long maxWaitMillis;
+	private final boolean enabled;
+	private final Semaphore permits;
+	private final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+	private final AtomicLong rejected = new AtomicLong();
+
+	public Bulkhead(String name, int maxConcurrent, long maxWaitMillis, boolean enabled) {
+		this.name = name;
+		this.maxConcurrent = maxConcurrent;
+		this.maxWaitMillis = maxWaitMillis;
+		this.enabled = enabled;
+		this.permits = new Semaphore(maxConcurrent, true);
+	}
+
+	public <T, E extends Exception> T execute(Call<T, E> call) throws E {
+		int[] held = depth.get();
+		if (!enabled || held[0] > 0) {
+			return call.call();
+		}
+		acquire();
+		held[0]++;
+		try {
+			return call.call();
+		} finally {
+			held[0]--;
+			permits.release();
+		}
+	}
+
+	private void acquire() {
+		try {
+			if (!permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS)) {
+				rejected.incrementAndGet();
+				throw new BulkheadFullException(name, maxConcurrent);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new BulkheadFullException(name, maxConcurrent);
+		}
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	public int getMaxConcurrent() {
+		return maxConcurrent;
+	}
+
+	public int getInFlight() {
+		return maxConcurrent - permits.availablePermits();
+	}
+
+	public int getQueued() {
+		return permits.getQueueLength();
+	}
+
+	public long getRejected() {
+		return rejected.get();
+	}
+}
@@ -0,0 +1,36 @@
+package com.revamp.booking.bookingservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Bulkheads in front of the blocking downstreams. They are switched on
+ * together with virtual threads (spring.threads.virtual.enabled, see the
+ * "vthreads" profile) and can be toggled with booking.bulkhead.enabled.
+ */
+@Configuration
+public class BulkheadConfig {
+
+	@Value("${booking.bulkhead.enabled:${spring.threads.virtual.enabled:false}}")
+	private boolean enabled;
+
+	@Value("${booking.bulkhead.max-wait-millis:2000}")
+	private long maxWaitMillis;
+
+	@Bean
+	public Bulkhead mongoBulkhead(@Value("${booking.bulkhead.mongo.max-concurrent:100}") int maxConcurrent) {
+		return new Bulkhead("bookings-mongo", maxConcurrent, maxWaitMillis, enabled);
+	}
+
+	@Bean
+	public Bulkhead modificationMongoBulkhead(
+			@Value("${booking.bulkhead.modification-mongo.max-concurrent:20}") int maxConcurrent) {
+		return new Bulkhead("modification-services-mongo", maxConcurrent, maxWaitMillis, enabled);
+	}
+
+	@Bean
+	public Bulkhead stripeBulkhead(@Value("${booking.bulkhead.stripe.max-concurrent:20}") int maxConcurrent) {
+		return new Bulkhead("stripe", maxConcurrent, maxWaitMillis, enabled);
+	}
+}
@@ -0,0 +1,24 @@
+package com.revamp.booking.bookingservice.config;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a bulkhead has no free permit within its wait time
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class BulkheadFullException extends RuntimeException {
+
+	public BulkheadFullException(String bulkhead, int maxConcurrent) {
+		super("Too many concurrent requests to " + bulkhead + " (limit " + maxConcurrent + "), please retry");
+	}
+
+	/**
+	 * Pass a full bulkhead on from a catch-all block, so it is still answered 503 by BulkheadExceptionHandler
+	 */
+	public static void rethrow(Exception e) {
+		if (e instanceof BulkheadFullException full) {
+			throw full;
+		}
+	}
+}
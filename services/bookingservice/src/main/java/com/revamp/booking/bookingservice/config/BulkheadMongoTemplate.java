@@ -0,0 +1,129 @@
+package com.revamp.booking.bookingservice.config;
+
+import java.util.List;
+
+import org.springframework.data.mongodb.core.CollectionCallback;
+import org.springframework.data.mongodb.core.DbCallback;
+import org.springframework.data.mongodb.MongoDatabaseFactory;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+
+/**
+ * MongoTemplate whose operations run inside a {@link Bulkhead}, so the
+ * number of threads competing for the client's connection pool is bounded.
+ * Wraps the terminal overloads every convenience overload and repository
+ * call ends up in; cursor-backed streams and bulk operations are not
+ * gated because their lifetime is controlled by the caller.
+ */
+public class BulkheadMongoTemplate extends MongoTemplate {
+
+	private final Bulkhead bulkhead;
+
+	public BulkheadMongoTemplate(MongoClient mongoClient, String databaseName, Bulkhead bulkhead) {
+		super(mongoClient, databaseName);
+		this.bulkhead = bulkhead;
+	}
+
+	public BulkheadMongoTemplate(MongoDatabaseFactory databaseFactory, Bulkhead bulkhead) {
+		super(databaseFactory);
+		this.bulkhead = bulkhead;
+	}
+
+	public Bulkhead getBulkhead() {
+		return bulkhead;
+	}
+
+	@Override
+	public <T> List<T> find(Query query, Class<T> entityClass, String collectionName) {
+		return bulkhead.execute(() -> super.find(query, entityClass, collectionName));
+	}
+
+	@Override
+	public <T> T findOne(Query query, Class<T> entityClass, String collectionName) {
+		return bulkhead.execute(() -> super.findOne(query, entityClass, collectionName));
+	}
+
+	@Override
+	public <T> T findById(Object id, Class<T> entityClass, String collectionName) {
+		return bulkhead.execute(() -> super.findById(id, entityClass, collectionName));
+	}
+
+	@Override
+	public <T> List<T> findAll(Class<T> entityClass, String collectionName) {
+		return bulkhead.execute(() -> super.findAll(entityClass, collectionName));
+	}
+
+	@Override
+	public boolean exists(Query query, Class<?> entityClass, String collectionName) {
+		return bulkhead.execute(() -> super.exists(query, entityClass, collectionName));
+	}
+
+	@Override
+	public long count(Query query, Class<?> entityClass, String collectionName) {
+		return bulkhead.execute(() -> super.count(query, entityClass, collectionName));
+	}
+
+	@Override
+	public <T> T insert(T objectToSave, String collectionName) {
+		return bulkhead.execute(() -> super.insert(objectToSave, collectionName));
+	}
+
+	@Override
+	public <T> T save(T objectToSave, String collectionName) {
+		return bulkhead.execute(() -> super.save(objectToSave, collectionName));
+	}
+
+	@Override
+	public <T> T findAndModify(Query query, UpdateDefinition update, FindAndModifyOptions options,
+			Class<T> entityClass, String collectionName) {
+		return bulkhead.execute(() -> super.findAndModify(query, update, options, entityClass, collectionName));
+	}
+
+	@Override
+	public UpdateResult upsert(Query query, UpdateDefinition update, Class<?> entityClass, String collectionName) {
+		return bulkhead.execute(() -> super.upsert(query, update, entityClass, collectionName));
+	}
+
+	@Override
+	public UpdateResult updateFirst(Query query, UpdateDefinition update, Class<?> entityClass, String collectionName) {
+		return bulkhead.execute(() -> super.updateFirst(query, update, entityClass, collectionName));
+	}
+
+	@Override
+	public UpdateResult updateMulti(Query query, UpdateDefinition update, Class<?> entityClass, String collectionName) {
+		return bulkhead.execute(() -> super.updateMulti(query, update, entityClass, collectionName));
+	}
+
+	@Override
+	public DeleteResult remove(Object object, String collectionName) {
+		return bulkhead.execute(() -> super.remove(object, collectionName));
+	}
+
+	@Override
+	public DeleteResult remove(Query query, Class<?> entityClass, String collectionName) {
+		return bulkhead.execute(() -> super.remove(query, entityClass, collectionName));
+	}
+
+	@Override
+	public <O> AggregationResults<O> aggregate(Aggregation aggregation, String collectionName, Class<O> outputType) {
+		return bulkhead.execute(() -> super.aggregate(aggregation, collectionName, outputType));
+	}
+
+	@Override
+	public <T> T execute(String collectionName, CollectionCallback<T> callback) {
+		return bulkhead.execute(() -> super.execute(collectionName, callback));
+	}
+
+	@Override
+	public <T> T execute(DbCallback<T> action) {
+		return bulkhead.execute(() -> super.execute(action));
+	}
+}
@@ -0,0 +1,120 @@
+package com.revamp.booking.bookingservice.config;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import org.bson.BsonDocument;
+import org.bson.Document;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Tails a Mongo change stream on a single collection from a daemon thread
+ * and hands every event to a callback. Resumes after transient errors and
+ * gives up quietly when the server does not support change streams
+ * (standalone mongod), in which case callers keep their own refresh path.
+ */
+@Slf4j
+public class ChangeStreamWatcher {
+
+	// "The $changeStream stage is only supported on replica sets"
+	private static final int CHANGE_STREAMS_UNSUPPORTED = 40573;
+
+	private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+	private final String name;
+	private final MongoCollection<Document> collection;
+	private final Consumer<ChangeStreamDocument<Document>> handler;
+
+	private volatile boolean running;
+	private volatile Thread thread;
+	private BsonDocument resumeToken;
+
+	public ChangeStreamWatcher(String name, MongoCollection<Document> collection,
+			Consumer<ChangeStreamDocument<Document>> handler) {
+		this.name = name;
+		this.collection = collection;
+		this.handler = handler;
+	}
+
+	public synchronized void start() {
+		if (running) {
+			return;
+		}
+		running = true;
+		thread = new Thread(this::run, "change-stream-" + name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	public synchronized void stop() {
+		running = false;
+		if (thread != null) {
+			thread.interrupt();
+			thread = null;
+		}
+	}
+
+	public boolean isRunning() {
+		return running;
+	}
+
+	private void run() {
+		long backoff = 1_000;
+		while (running) {
+			try {
+				var stream = collection.watch()
+					.fullDocument(FullDocument.UPDATE_LOOKUP)
+					.maxAwaitTime(1, TimeUnit.SECONDS);
+				if (resumeToken != null) {
+					stream = stream.resumeAfter(resumeToken);
+				}
+				try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = stream.cursor()) {
+					log.info("Watching '{}' change stream", name);
+					backoff = 1_000;
+					while (running) {
+						ChangeStreamDocument<Document> event = cursor.tryNext();
+						if (event == null) {
+							continue;
+						}
+						resumeToken = event.getResumeToken();
+						try {
+							handler.accept(event);
+						} catch (RuntimeException e) {
+							log.warn("Change stream handler for '{}' failed: {}", name, e.getMessage());
+						}
+					}
+				}
+			} catch (MongoCommandException e) {
+				if (e.getErrorCode() == CHANGE_STREAMS_UNSUPPORTED) {
+					log.warn("Change streams are not supported by this deployment; '{}' will not receive live updates", name);
+					running = false;
+					return;
+				}
+				backoff = sleep(backoff, e);
+			} catch (RuntimeException e) {
+				if (!running) {
+					return;
+				}
+				backoff = sleep(backoff, e);
+			}
+		}
+	}
+
+	private long sleep(long backoff, Exception cause) {
+		log.warn("Change stream '{}' interrupted ({}), retrying in {} ms", name, cause.getMessage(), backoff);
+		try {
+			Thread.sleep(backoff);
+		} catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+			running = false;
+		}
+		return Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+	}
+}
@@ -0,0 +1,175 @@
+package com.revamp.booking.bookingservice.config;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * The one place Mongo clients are created. Templates ask for a client by
+ * logical name and URI; every template on the same URI shares one client and
+ * so one connection pool. Pool, timeout and compression settings come from
+ * mongo.pool.&lt;name&gt;.* with mongo.pool.* as the default, and every client
+ * reports its pool and command latencies through MongoPoolMetrics.
+ */
+@Component
+@Slf4j
+public class MongoClientRegistry implements DisposableBean {
+
+	private static final String PREFIX = "mongo.pool.";
+
+	/**
+	 * Effective settings of one client
+	 */
+	public record PoolSettings(int maxSize, int minSize, long maxWaitMillis, long maxIdleMillis, int maxConnecting,
+			long connectTimeoutMillis, long serverSelectionTimeoutMillis, List<String> compressors) {
+	}
+
+	private record SharedClient<C>(C client, String firstTemplate, PoolSettings settings, MongoPoolMetrics metrics,
+			Set<String> templates) {
+	}
+
+	private final Environment environment;
+
+	private final Map<String, SharedClient<MongoClient>> clients = new ConcurrentHashMap<>();
+	private final Map<String, SharedClient<com.mongodb.reactivestreams.client.MongoClient>> reactiveClients = new ConcurrentHashMap<>();
+
+	public MongoClientRegistry(Environment environment) {
+		this.environment = environment;
+	}
+
+	/**
+	 * The shared client for a URI, created with the template's settings if it does not exist yet
+	 */
+	public MongoClient client(String template, String uri) {
+		return register(clients, template, uri, MongoClients::create).client();
+	}
+
+	/**
+	 * The shared reactive-streams client for a URI; kept apart from the blocking clients,
+	 * the two driver flavours cannot share a pool
+	 */
+	public com.mongodb.reactivestreams.client.MongoClient reactiveClient(String template, String uri) {
+		return register(reactiveClients, template, uri, com.mongodb.reactivestreams.client.MongoClients::create).client();
+	}
+
+	private <C> SharedClient<C> register(Map<String, SharedClient<C>> registry, String template, String uri,
+			Function<MongoClientSettings, C> factory) {
+		PoolSettings settings = settings(template);
+		SharedClient<C> shared = registry.computeIfAbsent(uri, key -> {
+			MongoPoolMetrics metrics = new MongoPoolMetrics();
+			C client = factory.apply(clientSettings(uri, settings, metrics));
+			log.info("Mongo client for {} created by '{}': {}", mask(uri), template, settings);
+			return new SharedClient<>(client, template, settings, metrics, new CopyOnWriteArraySet<>());
+		});
+		shared.templates().add(template);
+		if (!shared.settings().equals(settings)) {
+			log.warn("Template '{}' shares the Mongo client of '{}' for {}; its own pool settings {} are ignored",
+				template, shared.firstTemplate(), mask(uri), settings);
+		}
+		return shared;
+	}
+
+	PoolSettings settings(String template) {
+		String compressors = property(template, "compressors", String.class, "zlib");
+		return new PoolSettings(
+			property(template, "max-size", Integer.class, 100),
+			property(template, "min-size", Integer.class, 0),
+			property(template, "max-wait-millis", Long.class, 2_000L),
+			property(template, "max-idle-millis", Long.class, 300_000L),
+			property(template, "max-connecting", Integer.class, 2),
+			property(template, "connect-timeout-millis", Long.class, 5_000L),
+			property(template, "server-selection-timeout-millis", Long.class, 10_000L),
+			compressors.isBlank() ? List.of() : List.of(compressors.trim().split("\\s*,\\s*")));
+	}
+
+	private <T> T property(String template, String key, Class<T> type, T fallback) {
+		T shared = environment.getProperty(PREFIX + key, type, fallback);
+		return environment.getProperty(PREFIX + template + "." + key, type, shared);
+	}
+
+	private static MongoClientSettings clientSettings(String uri, PoolSettings settings, MongoPoolMetrics metrics) {
+		ConnectionString connectionString = new ConnectionString(uri);
+		MongoClientSettings.Builder builder = MongoClientSettings.builder()
+			.applyConnectionString(connectionString)
+			.applyToConnectionPoolSettings(pool -> pool
+				.maxSize(settings.maxSize())
+				.minSize(settings.minSize())
+				.maxWaitTime(settings.maxWaitMillis(), TimeUnit.MILLISECONDS)
+				.maxConnectionIdleTime(settings.maxIdleMillis(), TimeUnit.MILLISECONDS)
+				.maxConnecting(settings.maxConnecting())
+				.addConnectionPoolListener(metrics))
+			.applyToSocketSettings(socket -> socket
+				.connectTimeout(settings.connectTimeoutMillis(), TimeUnit.MILLISECONDS))
+			.applyToClusterSettings(cluster -> cluster
+				.serverSelectionTimeout(settings.serverSelectionTimeoutMillis(), TimeUnit.MILLISECONDS))
+			.addCommandListener(metrics);
+		// Compressors named in the URI win; the server picks the first one it also supports
+		if (connectionString.getCompressorList().isEmpty() && !settings.compressors().isEmpty()) {
+			builder.compressorList(compressors(settings.compressors()));
+		}
+		return builder.build();
+	}
+
+	private static List<MongoCompressor> compressors(List<String> names) {
+		List<MongoCompressor> compressors = new ArrayList<>();
+		for (String name : names) {
+			switch (name.toLowerCase(Locale.ROOT)) {
+				case "zstd" -> compressors.add(MongoCompressor.createZstdCompressor());
+				case "snappy" -> compressors.add(MongoCompressor.createSnappyCompressor());
+				case "zlib" -> compressors.add(MongoCompressor.createZlibCompressor());
+				default -> throw new IllegalArgumentException("Unknown Mongo compressor: " + name);
+			}
+		}
+		return compressors;
+	}
+
+	/**
+	 * Settings, templates and live metrics of every client, keyed by URI with the password masked
+	 */
+	public Map<String, Object> describe() {
+		Map<String, Object> result = new LinkedHashMap<>();
+		clients.forEach((uri, shared) -> result.put(mask(uri), describe(shared, "blocking")));
+		reactiveClients.forEach((uri, shared) -> result.put(mask(uri) + " (reactive)", describe(shared, "reactive")));
+		return result;
+	}
+
+	private static Map<String, Object> describe(SharedClient<?> shared, String driver) {
+		Map<String, Object> description = new LinkedHashMap<>();
+		description.put("driver", driver);
+		description.put("templates", shared.templates());
+		description.put("settings", shared.settings());
+		description.putAll(shared.metrics().describe());
+		return description;
+	}
+
+	static String mask(String uri) {
+		return uri.replaceAll(":[^:@/]+@", ":****@");
+	}
+
+	@Override
+	public void destroy() {
+		clients.values().forEach(shared -> shared.client().close());
+		reactiveClients.values().forEach(shared -> shared.client().close());
+		clients.clear();
+		reactiveClients.clear();
+	}
+}
@@ -8,7 +8,6 @@ import org.springframework.context.annotation.Primary;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
 import com.mongodb.client.MongoClient;
-import com.mongodb.client.MongoClients;
 
 @Configuration
 public class MongoConfig {
@@ -25,14 +24,24 @@ public class MongoConfig {
 	@Value("${modification.services.mongodb.database:Time-slot}")
 	private String modificationServicesDatabase;
 
-	@Bean
+	/**
+	 * Client for the bookings database, from the shared registry
+	 * Also stops Spring Boot from creating a client of its own; the registry closes it
+	 */
+	@Bean(destroyMethod = "")
 	@Primary
-	public MongoTemplate mongoTemplate() {
+	public MongoClient mongoClient(MongoClientRegistry mongoClientRegistry) {
 		if (mongoUri == null || mongoUri.trim().isEmpty()) {
 			throw new IllegalStateException(
 				"ERROR: MongoDB URI is not configured in application.properties!"
 			);
 		}
+		return mongoClientRegistry.client("bookings", mongoUri);
+	}
+
+	@Bean
+	@Primary
+	public MongoTemplate mongoTemplate(MongoClient mongoClient, @Qualifier("mongoBulkhead") Bulkhead bulkhead) {
 		
 		// Use the database name from properties, or try to extract from URI
 		String dbName = databaseName;
@@ -59,9 +68,8 @@ public class MongoConfig {
 		System.out.println("Creating mongoTemplate for BookingService");
 		System.out.println("Database Name: " + dbName);
 		
-		MongoClient mongoClient = MongoClients.create(mongoUri);
-		MongoTemplate template = new MongoTemplate(mongoClient, dbName);
-		System.out.println("✓ mongoTemplate created successfully");
+		MongoTemplate template = new BulkheadMongoTemplate(mongoClient, dbName, bulkhead);
+		System.out.println("✓ mongoTemplate created successfully (bulkhead " + (bulkhead.isEnabled() ? "on" : "off") + ")");
 		return template;
 	}
 
@@ -71,7 +79,8 @@ public class MongoConfig {
 	 */
 	@Bean
 	@Qualifier("modificationServicesTemplate")
-	public MongoTemplate modificationServicesTemplate() {
+	public MongoTemplate modificationServicesTemplate(MongoClientRegistry mongoClientRegistry,
+			@Qualifier("modificationMongoBulkhead") Bulkhead bulkhead) {
 		String uri = modificationServicesMongoUri;
 		if (uri == null || uri.trim().isEmpty()) {
 			uri = mongoUri; // Fallback to main URI
@@ -99,8 +108,9 @@ public class MongoConfig {
 		System.out.println("Database Name: " + dbName);
 		System.out.println("Collection: modificationservices");
 		
-		MongoClient mongoClient = MongoClients.create(uri);
-		MongoTemplate template = new MongoTemplate(mongoClient, dbName);
+		// Shares the bookings client when both point at the same cluster
+		MongoClient mongoClient = mongoClientRegistry.client("modifications", uri);
+		MongoTemplate template = new BulkheadMongoTemplate(mongoClient, dbName, bulkhead);
 		System.out.println("✓ Modification Services MongoTemplate created successfully");
 		System.out.println("============================================================");
 		return template;
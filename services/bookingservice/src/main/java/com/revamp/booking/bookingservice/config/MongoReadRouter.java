@@ -0,0 +1,182 @@
+package com.revamp.booking.bookingservice.config;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+import org.bson.BsonDocument;
+import org.bson.BsonTimestamp;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.SimpleMongoClientDatabaseFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.ClientSessionOptions;
+import com.mongodb.ReadConcern;
+import com.mongodb.ReadPreference;
+import com.mongodb.TaggableReadPreference;
+import com.mongodb.WriteConcern;
+import com.mongodb.client.ClientSession;
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoDatabase;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Routes reads that tolerate slightly old data (availability ranges,
+ * appointment listings) to secondaries with bounded staleness, so the
+ * primary is left to slot claims and appointment writes, which keep using
+ * the primary MongoTemplate.
+ *
+ * A customer who just booked must still see their booking: their write runs
+ * in a causally consistent session whose operation time is remembered for a
+ * short window, and their reads in that window run in a session advanced to
+ * that time, so whichever member serves them waits until it has the write.
+ * That guarantee only holds with majority concerns: the write is acknowledged
+ * by a majority and the read uses read concern majority, so a failover cannot
+ * roll back a write the customer already saw. Plain tolerant reads keep the
+ * server's default read concern. The marks live in this instance only; a customer routed to another replica
+ * of the service reads as anyone else would.
+ */
+@Component
+@Slf4j
+public class MongoReadRouter {
+
+	// The driver rejects a max staleness below 90 seconds
+	private static final long MIN_MAX_STALENESS_SECONDS = 90;
+
+	private static final ClientSessionOptions CAUSAL = ClientSessionOptions.builder().causallyConsistent(true).build();
+
+	private record CausalMark(BsonTimestamp operationTime, BsonDocument clusterTime, long expiresAtNanos) {
+
+		boolean isExpired(long now) {
+			return now - expiresAtNanos >= 0;
+		}
+	}
+
+	private final MongoClient mongoClient;
+	private final MongoTemplate tolerantTemplate;
+	private final MongoTemplate causalReadTemplate;
+	private final MongoTemplate causalWriteTemplate;
+	private final Bulkhead bulkhead;
+	private final ReadPreference readPreference;
+	private final long causalWindowNanos;
+
+	private final Map<String, CausalMark> recentWriters = new ConcurrentHashMap<>();
+
+	public MongoReadRouter(MongoClient mongoClient, MongoTemplate mongoTemplate,
+			@Qualifier("mongoBulkhead") Bulkhead bulkhead,
+			@Value("${booking.reads.preference:secondaryPreferred}") String preference,
+			@Value("${booking.reads.max-staleness-seconds:90}") long maxStalenessSeconds,
+			@Value("${booking.reads.causal-window-seconds:180}") long causalWindowSeconds) {
+		this.mongoClient = mongoClient;
+		this.bulkhead = bulkhead;
+		this.readPreference = readPreference(preference, maxStalenessSeconds);
+		this.causalWindowNanos = TimeUnit.SECONDS.toNanos(causalWindowSeconds);
+		String databaseName = mongoTemplate.getDb().getName();
+		this.tolerantTemplate = new BulkheadMongoTemplate(new RoutedDatabaseFactory(mongoClient, databaseName,
+			db -> db.withReadPreference(readPreference)), bulkhead);
+		// Only used session-bound; readFor and writeFor take the bulkhead permit themselves
+		this.causalReadTemplate = new MongoTemplate(new RoutedDatabaseFactory(mongoClient, databaseName,
+			db -> db.withReadPreference(readPreference).withReadConcern(ReadConcern.MAJORITY)));
+		this.causalWriteTemplate = new MongoTemplate(new RoutedDatabaseFactory(mongoClient, databaseName,
+			db -> db.withWriteConcern(WriteConcern.MAJORITY)));
+		log.info("Tolerant reads routed with {}", readPreference);
+	}
+
+	static ReadPreference readPreference(String name, long maxStalenessSeconds) {
+		ReadPreference preference = ReadPreference.valueOf(name.trim());
+		if (!(preference instanceof TaggableReadPreference)) {
+			return preference; // primary: nothing to bound
+		}
+		if (maxStalenessSeconds < MIN_MAX_STALENESS_SECONDS) {
+			throw new IllegalArgumentException("booking.reads.max-staleness-seconds must be at least "
+				+ MIN_MAX_STALENESS_SECONDS + ", was " + maxStalenessSeconds);
+		}
+		return ReadPreference.valueOf(preference.getName(), ((TaggableReadPreference) preference).getTagSetList(),
+			maxStalenessSeconds, TimeUnit.SECONDS);
+	}
+
+	public ReadPreference getReadPreference() {
+		return readPreference;
+	}
+
+	/**
+	 * Run a read that may be served by a secondary up to max staleness behind
+	 */
+	public <T> T read(Function<MongoOperations, T> read) {
+		return read.apply(tolerantTemplate);
+	}
+
+	/**
+	 * Run a tolerant read on behalf of a customer; if they wrote through this
+	 * router recently, the read runs in a causally consistent session that has
+	 * seen their write
+	 */
+	public <T> T readFor(String customerId, Function<MongoOperations, T> read) {
+		CausalMark mark = customerId == null ? null : recentWriters.get(customerId);
+		if (mark == null || mark.isExpired(System.nanoTime())) {
+			return read(read);
+		}
+		try (ClientSession session = mongoClient.startSession(CAUSAL)) {
+			session.advanceClusterTime(mark.clusterTime());
+			session.advanceOperationTime(mark.operationTime());
+			return bulkhead.execute(() -> read.apply(causalReadTemplate.withSession(session)));
+		}
+	}
+
+	/**
+	 * Run a customer's write on the primary in a causally consistent session,
+	 * with write concern majority, and remember its operation time for their
+	 * following reads
+	 */
+	public <T> T writeFor(String customerId, Function<MongoOperations, T> write) {
+		try (ClientSession session = mongoClient.startSession(CAUSAL)) {
+			T result = bulkhead.execute(() -> write.apply(causalWriteTemplate.withSession(session)));
+			// Standalone servers report no operation time; every read goes to the one member anyway
+			if (customerId != null && session.getOperationTime() != null && session.getClusterTime() != null) {
+				CausalMark mark = new CausalMark(session.getOperationTime(), session.getClusterTime(),
+					System.nanoTime() + causalWindowNanos);
+				// Two writes finishing out of order must not move the mark backwards
+				recentWriters.merge(customerId, mark, (current, next) -> current.operationTime().compareTo(next.operationTime()) > 0
+					? new CausalMark(current.operationTime(), current.clusterTime(), next.expiresAtNanos())
+					: next);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Forget the write marks whose window has passed
+	 */
+	@Scheduled(fixedDelayString = "${booking.reads.causal-sweep-millis:60000}")
+	public void sweep() {
+		long now = System.nanoTime();
+		recentWriters.values().removeIf(mark -> mark.isExpired(now));
+	}
+
+	/**
+	 * Database factory whose database carries the routing read preference and
+	 * concerns; session-bound copies of the template proxy the same database,
+	 * so the settings hold inside causal sessions too
+	 */
+	private static final class RoutedDatabaseFactory extends SimpleMongoClientDatabaseFactory {
+
+		private final UnaryOperator<MongoDatabase> settings;
+
+		RoutedDatabaseFactory(MongoClient mongoClient, String databaseName, UnaryOperator<MongoDatabase> settings) {
+			super(mongoClient, databaseName);
+			this.settings = settings;
+		}
+
+		@Override
+		protected MongoDatabase doGetMongoDatabase(String dbName) {
+			return settings.apply(super.doGetMongoDatabase(dbName));
+		}
+	}
+}
@@ -0,0 +1,111 @@
+package com.revamp.booking.bookingservice.config;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import org.springframework.stereotype.Component;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.reactive.CorsWebFilter;
+import org.springframework.web.cors.reactive.UrlBasedCorsConfigurationSource;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revamp.booking.bookingservice.controller.ReactiveTimeSlotRoutes;
+import com.revamp.booking.bookingservice.service.UnavailableDateService;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+/**
+ * Runs the reactive availability routes on a Reactor Netty server with a
+ * small fixed set of event-loop threads, on its own port next to Tomcat.
+ * The application itself stays a servlet application; this server only
+ * takes the availability reads off the servlet thread pool. The gateway
+ * sends those reads here when BOOKING_AVAILABILITY_URL points at this port;
+ * without it they keep going to the servlet endpoints.
+ */
+@Component
+@ConditionalOnProperty(name = "booking.reactive.enabled", havingValue = "true", matchIfMissing = true)
+@Slf4j
+public class ReactiveAvailabilityServer {
+
+	private final ReactiveTimeSlotRoutes routes;
+	private final UnavailableDateService unavailableDateService;
+	private final ObjectMapper objectMapper;
+
+	// 8085 is the admin service's port
+	@Value("${booking.reactive.port:8086}")
+	private int port;
+
+	@Value("${booking.reactive.event-loop-threads:4}")
+	private int eventLoopThreads;
+
+	private LoopResources loops;
+	private DisposableServer server;
+
+	public ReactiveAvailabilityServer(ReactiveTimeSlotRoutes routes, UnavailableDateService unavailableDateService,
+			ObjectMapper objectMapper) {
+		this.routes = routes;
+		this.unavailableDateService = unavailableDateService;
+		this.objectMapper = objectMapper;
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		// Load the holiday calendar up front so handlers never hit its blocking lazy load
+		unavailableDateService.reload();
+
+		HandlerStrategies strategies = HandlerStrategies.builder()
+			.codecs(codecs -> {
+				codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper, MediaType.APPLICATION_JSON));
+				codecs.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(objectMapper, MediaType.APPLICATION_JSON));
+			})
+			.webFilter(corsFilter())
+			.build();
+		HttpHandler handler = RouterFunctions.toHttpHandler(routes.routes(), strategies);
+
+		loops = LoopResources.create("availability-http", eventLoopThreads, true);
+		server = HttpServer.create()
+			.port(port)
+			.runOn(loops)
+			.handle(new ReactorHttpHandlerAdapter(handler))
+			.bindNow();
+		log.info("Reactive availability API listening on port {} with {} event-loop thread(s)", server.port(), eventLoopThreads);
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (server != null) {
+			server.disposeNow();
+		}
+		if (loops != null) {
+			loops.disposeLater().block();
+		}
+	}
+
+	/**
+	 * Same policy as @CrossOrigin(origins = "*") on TimeSlotController
+	 */
+	private static CorsWebFilter corsFilter() {
+		CorsConfiguration cors = new CorsConfiguration();
+		cors.setAllowedOrigins(List.of("*"));
+		cors.setAllowedMethods(List.of(HttpMethod.GET.name(), HttpMethod.OPTIONS.name()));
+		cors.setAllowedHeaders(List.of("*"));
+		UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
+		source.registerCorsConfiguration("/**", cors);
+		return new CorsWebFilter(source);
+	}
+}
@@ -0,0 +1,35 @@
+package com.revamp.booking.bookingservice.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+
+import com.mongodb.reactivestreams.client.MongoClient;
+
+/**
+ * Reactive-streams client and template for the non-blocking availability
+ * read path. Points at the same database as the primary MongoTemplate in
+ * MongoConfig; all writes keep going through the blocking template.
+ */
+@Configuration
+public class ReactiveMongoConfig {
+
+	@Value("${spring.data.mongodb.uri}")
+	private String mongoUri;
+
+	@Value("${spring.data.mongodb.database:bookings}")
+	private String databaseName;
+
+	// Closed by the registry, which owns every client
+	@Bean(destroyMethod = "")
+	public MongoClient reactiveMongoClient(MongoClientRegistry mongoClientRegistry) {
+		return mongoClientRegistry.reactiveClient("bookings-reactive", mongoUri);
+	}
+
+	@Bean
+	public ReactiveMongoTemplate reactiveMongoTemplate(MongoClient reactiveMongoClient) {
+		String dbName = databaseName == null || databaseName.trim().isEmpty() ? "bookings" : databaseName;
+		return new ReactiveMongoTemplate(reactiveMongoClient, dbName);
+	}
+}
@@ -0,0 +1,13 @@
+package com.revamp.booking.bookingservice.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the background jobs of the booking service (slot materializer,
+ * cache refreshes and sweepers)
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
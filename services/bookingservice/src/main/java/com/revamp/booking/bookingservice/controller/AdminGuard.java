@@ -0,0 +1,38 @@
+package com.revamp.booking.bookingservice.controller;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import com.revamp.booking.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Bearer token check for the admin-only maintenance endpoints
+ */
+@Component
+public class AdminGuard {
+
+	private final JwtUtil jwtUtil;
+
+	public AdminGuard(JwtUtil jwtUtil) {
+		this.jwtUtil = jwtUtil;
+	}
+
+	/**
+	 * The response to turn the request away with: 401 without a valid bearer token,
+	 * 403 when the token is not an admin's; null when the caller is an admin
+	 */
+	public <T> ResponseEntity<T> refuse(String authHeader) {
+		if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+			return ResponseEntity.status(401).build();
+		}
+		Claims claims;
+		try {
+			claims = jwtUtil.parseToken(authHeader);
+		} catch (RuntimeException e) {
+			return ResponseEntity.status(401).build();
+		}
+		return jwtUtil.isAdmin(claims) ? null : ResponseEntity.status(403).build();
+	}
+}
@@ -0,0 +1,77 @@
+package com.revamp.booking.bookingservice.controller;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.revamp.booking.bookingservice.service.BookingAnalyticsService;
+import com.revamp.booking.bookingservice.service.BookingAnalyticsService.Granularity;
+import com.revamp.booking.dto.UtilizationBucket;
+
+@RestController
+@RequestMapping("/api/bookings/analytics")
+@CrossOrigin(origins = "*")
+public class AnalyticsController {
+
+	private static final int MAX_RANGE_DAYS = 366;
+
+	@Autowired
+	private BookingAnalyticsService bookingAnalyticsService;
+
+	@Autowired
+	private AdminGuard adminGuard;
+
+	/**
+	 * Per-day slot utilization, status counts, estimated revenue and service type mix (at most 366 days)
+	 */
+	@GetMapping("/daily")
+	public ResponseEntity<Map<String, Object>> daily(
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+		return report(from, to, Granularity.DAY);
+	}
+
+	/**
+	 * The same figures per ISO week; the first and last week are clipped to the range
+	 */
+	@GetMapping("/weekly")
+	public ResponseEntity<Map<String, Object>> weekly(
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+		return report(from, to, Granularity.WEEK);
+	}
+
+	/**
+	 * Drop the cached figures of closed days so they are aggregated again on the next request (admin only)
+	 */
+	@DeleteMapping("/cache")
+	public ResponseEntity<Void> evictCache(
+			@RequestHeader(value = "Authorization", required = false) String authHeader) {
+		ResponseEntity<Void> refused = adminGuard.refuse(authHeader);
+		if (refused != null) {
+			return refused;
+		}
+		bookingAnalyticsService.evictClosedDays();
+		return ResponseEntity.noContent().build();
+	}
+
+	private ResponseEntity<Map<String, Object>> report(LocalDate from, LocalDate to, Granularity granularity) {
+		if (to.isBefore(from) || from.plusDays(MAX_RANGE_DAYS - 1).isBefore(to)) {
+			return ResponseEntity.badRequest().build();
+		}
+		List<UtilizationBucket> days = bookingAnalyticsService.days(from, to);
+		Map<String, Object> result = new LinkedHashMap<>();
+		result.put("from", from.toString());
+		result.put("to", to.toString());
+		result.put("granularity", granularity.name().toLowerCase());
+		result.put("buckets", bookingAnalyticsService.buckets(days, granularity));
+		result.put("totals", bookingAnalyticsService.total(days, "total"));
+		return ResponseEntity.ok(result);
+	}
+}
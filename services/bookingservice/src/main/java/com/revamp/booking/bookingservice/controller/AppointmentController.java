@@ -2,12 +2,21 @@ package com.revamp.booking.bookingservice.controller;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -20,37 +29,79 @@ import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revamp.booking.bookingservice.config.BulkheadFullException;
 import com.revamp.booking.bookingservice.model.Appointment;
 import com.revamp.booking.bookingservice.service.AppointmentService;
+import com.revamp.booking.bookingservice.service.IdempotencyService;
+import com.revamp.booking.dto.AppointmentFilter;
 import com.revamp.booking.dto.AppointmentRequest;
+import com.revamp.booking.dto.EmployeeAssignment;
 import com.revamp.booking.util.JwtUtil;
 
 import io.jsonwebtoken.Claims;
-
+import lombok.extern.slf4j.Slf4j;
 
 @RestController
 @RequestMapping("/api/bookings/appointments/v1")
 @CrossOrigin(origins = "*")
+@Slf4j
 public class AppointmentController {
 
+	private static final int MAX_PAGE_SIZE = 200;
+
+	private static final int STREAM_FLUSH_EVERY = 100;
+
+	private static final int MAX_BULK_SIZE = 1000;
+
 	@Autowired
 	private AppointmentService appointmentService;
 
 	@Autowired
 	private JwtUtil jwtUtil;
 
+	@Autowired
+	private ObjectMapper objectMapper;
+
+	@Autowired
+	private IdempotencyService idempotencyService;
+
 	/**
 	 * Create a new appointment
+	 * With an Idempotency-Key header, retries of the same request get the first response back
 	 */
 	@PostMapping
 	public ResponseEntity<?> createAppointment(
 			@RequestHeader(value = "Authorization", required = false) String authHeader,
+			@RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
 			@RequestBody AppointmentRequest request) {
+		String customerId = idempotencyKey == null ? null : customerIdOf(authHeader);
+		if (customerId == null) {
+			// No key, or no usable token and the create below answers 401
+			return handleCreateAppointment(authHeader, request);
+		}
+		return idempotencyService.execute("appointments", customerId, idempotencyKey, request,
+			() -> handleCreateAppointment(authHeader, request));
+	}
+
+	private String customerIdOf(String authHeader) {
+		if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+			return null;
+		}
+		try {
+			String customerId = jwtUtil.getCustomerId(jwtUtil.parseToken(authHeader));
+			return customerId == null || customerId.isEmpty() ? null : customerId;
+		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
+			return null;
+		}
+	}
+
+	private ResponseEntity<?> handleCreateAppointment(String authHeader, AppointmentRequest request) {
 		try {
-			System.out.println("===== Creating Appointment =====");
-			System.out.println("Request body: " + request);
-			
 			// Extract customer information from JWT token
 			String customerId = null;
 			String customerName = null;
@@ -58,38 +109,15 @@ public class AppointmentController {
 
 			if (authHeader != null && authHeader.startsWith("Bearer ")) {
 				try {
-					System.out.println("Extracting JWT token...");
-					System.out.println("Auth header length: " + authHeader.length());
-					System.out.println("Auth header (first 50 chars): " + authHeader.substring(0, Math.min(50, authHeader.length())));
-					
 					Claims claims = jwtUtil.parseToken(authHeader);
-					System.out.println("JWT Claims extracted successfully");
-					System.out.println("All claims keys: " + claims.keySet());
-					System.out.println("Claims subject: " + claims.getSubject());
-					System.out.println("Claims email: " + claims.get("email"));
-					System.out.println("Claims username: " + claims.get("username"));
-					
 					customerId = jwtUtil.getCustomerId(claims);
 					customerName = jwtUtil.getCustomerName(claims);
 					customerEmail = jwtUtil.getCustomerEmail(claims);
-					
-					System.out.println("Extracted customer info:");
-					System.out.println("  Customer ID: " + customerId);
-					System.out.println("  Customer Name: " + customerName);
-					System.out.println("  Customer Email: " + customerEmail);
-					
-					// Validate that we got customer info
-					if (customerId == null || customerId.isEmpty()) {
-						System.err.println("WARNING: Customer ID is null or empty after JWT parsing!");
-						System.err.println("This might indicate an issue with JWT token structure or secret mismatch.");
-					}
 					if (customerEmail == null || customerEmail.isEmpty()) {
-						System.err.println("WARNING: Customer email is null or empty after JWT parsing!");
+						log.debug("Token for customer {} carries no email", customerId);
 					}
 				} catch (Exception e) {
-					System.err.println("ERROR parsing JWT token: " + e.getMessage());
-					System.err.println("Exception type: " + e.getClass().getName());
-					e.printStackTrace();
+					log.debug("Rejected appointment request with an invalid token: {}", e.getMessage());
 					Map<String, Object> errorResponse = new java.util.HashMap<>();
 					errorResponse.put("message", "Invalid or expired token: " + e.getMessage());
 					errorResponse.put("error", "Unauthorized");
@@ -97,12 +125,6 @@ public class AppointmentController {
 					return ResponseEntity.status(401).body(errorResponse);
 				}
 			} else {
-				System.err.println("ERROR: No Authorization header or invalid format");
-				if (authHeader != null) {
-					System.err.println("Auth header value: " + authHeader);
-				} else {
-					System.err.println("Auth header is null");
-				}
 				Map<String, Object> errorResponse = new java.util.HashMap<>();
 				errorResponse.put("message", "Authorization header is required");
 				errorResponse.put("error", "Unauthorized");
@@ -111,7 +133,7 @@ public class AppointmentController {
 			
 			// Validate customer information before proceeding
 			if (customerId == null || customerId.isEmpty()) {
-				System.err.println("ERROR: Customer ID cannot be null or empty");
+				log.debug("Token without a customer ID, check the JWT structure and secret");
 				Map<String, Object> errorResponse = new java.util.HashMap<>();
 				errorResponse.put("message", "Customer information could not be extracted from token. Please ensure you are logged in.");
 				errorResponse.put("error", "InvalidToken");
@@ -119,105 +141,94 @@ public class AppointmentController {
 			}
 
 			// Convert AppointmentRequest to Appointment
-			Appointment appointment = new Appointment();
-			appointment.setCustomerId(customerId);
-			appointment.setCustomerName(customerName);
-			appointment.setCustomerEmail(customerEmail);
-			appointment.setServiceType(request.getServiceType());
-			appointment.setDate(LocalDate.parse(request.getDate()));
-			appointment.setTimeSlotId(request.getTimeSlotId());
-			appointment.setInstructions(request.getInstructions());
-			appointment.setNeededModifications(request.getNeededModifications());
-			appointment.setEstimatedTimeHours(request.getEstimatedTimeHours());
-			if (request.getEstimatedCost() != null) {
-				appointment.setEstimatedCost(request.getEstimatedCost().doubleValue());
-			}
-			appointment.setCreatedAt(LocalDateTime.now());
-			appointment.setUpdatedAt(LocalDateTime.now());
-
-			System.out.println("Appointment before vehicle processing:");
-			System.out.println("  Customer ID: " + appointment.getCustomerId());
-			System.out.println("  Customer Name: " + appointment.getCustomerName());
-			System.out.println("  Customer Email: " + appointment.getCustomerEmail());
-			System.out.println("  Vehicle ID: " + appointment.getVehicleId());
-			System.out.println("  Vehicle: " + appointment.getVehicle());
-			System.out.println("  Instructions: " + appointment.getInstructions());
-
-			// Handle vehicle information
-			if (request.getVehicleId() != null && !request.getVehicleId().isEmpty()) {
-				appointment.setVehicleId(request.getVehicleId());
-				System.out.println("Set vehicleId from request: " + request.getVehicleId());
-			}
-
-			if (request.getVehicleDetails() != null) {
-				System.out.println("Processing vehicleDetails from request");
-				Appointment.VehicleDetails vehicleDetails = new Appointment.VehicleDetails();
-				vehicleDetails.setMake(request.getVehicleDetails().getMake());
-				vehicleDetails.setModel(request.getVehicleDetails().getModel());
-				vehicleDetails.setYear(request.getVehicleDetails().getYear());
-				vehicleDetails.setRegistrationNumber(request.getVehicleDetails().getRegistrationNumber());
-				appointment.setVehicleDetails(vehicleDetails);
-				
-				// Also set vehicle as a string for backward compatibility
-				if (request.getVehicleDetails().getRegistrationNumber() != null) {
-					appointment.setVehicle(request.getVehicleDetails().getRegistrationNumber());
-					System.out.println("Set vehicle from registrationNumber: " + request.getVehicleDetails().getRegistrationNumber());
-				} else if (request.getVehicleDetails().getMake() != null && request.getVehicleDetails().getModel() != null) {
-					appointment.setVehicle(request.getVehicleDetails().getMake() + " " + request.getVehicleDetails().getModel());
-					System.out.println("Set vehicle from make/model: " + appointment.getVehicle());
-				}
-			} else if (request.getInstructions() != null && request.getInstructions().toLowerCase().contains("vehicle:")) {
-				// Extract vehicle from instructions if present (e.g., "Vehicle: test#1")
-				System.out.println("Extracting vehicle from instructions");
-				String instructions = request.getInstructions();
-				int vehicleIndex = instructions.toLowerCase().indexOf("vehicle:");
-				if (vehicleIndex >= 0) {
-					String vehiclePart = instructions.substring(vehicleIndex + "vehicle:".length()).trim();
-					// Take the first line or until newline
-					if (vehiclePart.contains("\n")) {
-						vehiclePart = vehiclePart.substring(0, vehiclePart.indexOf("\n")).trim();
-					}
-					appointment.setVehicle(vehiclePart);
-					System.out.println("Extracted vehicle from instructions: " + vehiclePart);
-				}
-			}
-
-			System.out.println("Appointment before saving:");
-			System.out.println("  Customer ID: " + appointment.getCustomerId());
-			System.out.println("  Customer Name: " + appointment.getCustomerName());
-			System.out.println("  Customer Email: " + appointment.getCustomerEmail());
-			System.out.println("  Vehicle ID: " + appointment.getVehicleId());
-			System.out.println("  Vehicle: " + appointment.getVehicle());
-			System.out.println("  Vehicle Details: " + appointment.getVehicleDetails());
-
-			Appointment created = appointmentService.createAppointment(appointment);
-			
-			System.out.println("Appointment after saving:");
-			System.out.println("  ID: " + created.getId());
-			System.out.println("  Customer ID: " + created.getCustomerId());
-			System.out.println("  Customer Name: " + created.getCustomerName());
-			System.out.println("  Customer Email: " + created.getCustomerEmail());
-			System.out.println("  Vehicle ID: " + created.getVehicleId());
-			System.out.println("  Vehicle: " + created.getVehicle());
-			System.out.println("  Vehicle Details: " + created.getVehicleDetails());
-			System.out.println("=====================================");
-			
+			Appointment appointment = toAppointment(request, customerId, customerName, customerEmail);
+			Appointment created = appointmentService.createAppointment(appointment, request.getHoldId());
+			log.debug("Created appointment {} for customer {}", created.getId(), created.getCustomerId());
 			return ResponseEntity.ok(created);
-		} catch (RuntimeException e) {
+		} catch (IllegalArgumentException | IllegalStateException | DateTimeParseException e) {
 			// Return error message for validation errors
 			Map<String, Object> errorResponse = new java.util.HashMap<>();
 			errorResponse.put("message", e.getMessage());
 			errorResponse.put("error", e.getClass().getSimpleName());
 			return ResponseEntity.badRequest().body(errorResponse);
+		} catch (DuplicateKeyException e) {
+			Map<String, Object> errorResponse = new java.util.HashMap<>();
+			errorResponse.put("message", "An appointment already exists for this slot hold");
+			errorResponse.put("error", "DuplicateAppointment");
+			return ResponseEntity.status(409).body(errorResponse);
+		} catch (BulkheadFullException | TransientDataAccessException | DataAccessResourceFailureException e) {
+			// Overloaded or unreachable database: nothing was created, the client may retry
+			log.warn("Appointment not created, database unavailable: {}", e.getMessage());
+			Map<String, Object> errorResponse = new java.util.HashMap<>();
+			errorResponse.put("message", "Booking is temporarily unavailable, please retry");
+			errorResponse.put("error", "ServiceUnavailable");
+			return ResponseEntity.status(503).header("Retry-After", "5").body(errorResponse);
 		} catch (Exception e) {
+			log.error("Failed to create appointment", e);
 			Map<String, Object> errorResponse = new java.util.HashMap<>();
 			errorResponse.put("message", "Failed to create appointment: " + e.getMessage());
 			errorResponse.put("error", "InternalServerError");
-			e.printStackTrace();
 			return ResponseEntity.status(500).body(errorResponse);
 		}
 	}
 
+	/**
+	 * Map a create request plus the caller's token claims to a new appointment
+	 */
+	static Appointment toAppointment(AppointmentRequest request, String customerId, String customerName,
+			String customerEmail) {
+		Appointment appointment = new Appointment();
+		appointment.setCustomerId(customerId);
+		appointment.setCustomerName(customerName);
+		appointment.setCustomerEmail(customerEmail);
+		appointment.setServiceType(request.getServiceType());
+		appointment.setDate(LocalDate.parse(request.getDate()));
+		appointment.setTimeSlotId(request.getTimeSlotId());
+		appointment.setInstructions(request.getInstructions());
+		appointment.setNeededModifications(request.getNeededModifications());
+		appointment.setEstimatedTimeHours(request.getEstimatedTimeHours());
+		if (request.getEstimatedCost() != null) {
+			appointment.setEstimatedCost(request.getEstimatedCost().doubleValue());
+		}
+		LocalDateTime now = LocalDateTime.now();
+		appointment.setCreatedAt(now);
+		appointment.setUpdatedAt(now);
+
+		// Handle vehicle information
+		if (request.getVehicleId() != null && !request.getVehicleId().isEmpty()) {
+			appointment.setVehicleId(request.getVehicleId());
+		}
+
+		if (request.getVehicleDetails() != null) {
+			Appointment.VehicleDetails vehicleDetails = new Appointment.VehicleDetails();
+			vehicleDetails.setMake(request.getVehicleDetails().getMake());
+			vehicleDetails.setModel(request.getVehicleDetails().getModel());
+			vehicleDetails.setYear(request.getVehicleDetails().getYear());
+			vehicleDetails.setRegistrationNumber(request.getVehicleDetails().getRegistrationNumber());
+			appointment.setVehicleDetails(vehicleDetails);
+
+			// Also set vehicle as a string for backward compatibility
+			if (request.getVehicleDetails().getRegistrationNumber() != null) {
+				appointment.setVehicle(request.getVehicleDetails().getRegistrationNumber());
+			} else if (request.getVehicleDetails().getMake() != null && request.getVehicleDetails().getModel() != null) {
+				appointment.setVehicle(request.getVehicleDetails().getMake() + " " + request.getVehicleDetails().getModel());
+			}
+		} else if (request.getInstructions() != null && request.getInstructions().toLowerCase().contains("vehicle:")) {
+			// Extract vehicle from instructions if present (e.g., "Vehicle: test#1")
+			String instructions = request.getInstructions();
+			int vehicleIndex = instructions.toLowerCase().indexOf("vehicle:");
+			if (vehicleIndex >= 0) {
+				String vehiclePart = instructions.substring(vehicleIndex + "vehicle:".length()).trim();
+				// Take the first line or until newline
+				if (vehiclePart.contains("\n")) {
+					vehiclePart = vehiclePart.substring(0, vehiclePart.indexOf("\n")).trim();
+				}
+				appointment.setVehicle(vehiclePart);
+			}
+		}
+		return appointment;
+	}
+
 	/**
 	 * Get appointment by ID
 	 */
@@ -228,6 +239,7 @@ public class AppointmentController {
 					.map(ResponseEntity::ok)
 					.orElse(ResponseEntity.notFound().build());
 		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
 			return ResponseEntity.badRequest().build();
 		}
 	}
@@ -236,23 +248,50 @@ public class AppointmentController {
 	 * Get all appointments
 	 */
 	@GetMapping
-	public ResponseEntity<?> getAllAppointments() {
+	public ResponseEntity<?> getAllAppointments(
+			@RequestParam(required = false) String view,
+			@RequestParam(required = false) String fields) {
 		try {
-			System.out.println("===== Fetching All Appointments =====");
-			System.out.println("Querying bookings collection...");
-			List<Appointment> appointments = appointmentService.getAllAppointments();
-			System.out.println("DEBUG: Controller returning " + appointments.size() + " appointment(s) from bookings collection");
-			for (Appointment apt : appointments) {
-				System.out.println("Appointment ID: " + apt.getId() + 
-					", Customer: " + apt.getCustomerName() + 
-					", Status: " + apt.getStatus() +
-					", Assigned Employees: " + (apt.getAssignedEmployeeNames() != null ? apt.getAssignedEmployeeNames().toString() : "None"));
+			if (view != null || fields != null) {
+				return ResponseEntity.ok(appointmentService.listAppointments(new Criteria(), view, fields));
 			}
-			System.out.println("======================================");
+			List<Appointment> appointments = appointmentService.getAllAppointments();
 			return ResponseEntity.ok(appointments);
+		} catch (IllegalArgumentException e) {
+			return ResponseEntity.badRequest().body(Map.of("message", e.getMessage(), "error", "ValidationError"));
+		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
+			log.error("Failed to get appointments", e);
+			Map<String, Object> errorResponse = new java.util.HashMap<>();
+			errorResponse.put("message", "Error fetching appointments: " + e.getMessage());
+			errorResponse.put("error", "InternalServerError");
+			return ResponseEntity.status(500).body(errorResponse);
+		}
+	}
+
+	/**
+	 * Get one page of appointments, newest first
+	 * Pass the returned nextCursor as cursor to fetch the following page
+	 */
+	@GetMapping("/page")
+	public ResponseEntity<?> getAppointmentsPage(
+			@RequestParam(required = false) String status,
+			@RequestParam(required = false) String serviceType,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+			@RequestParam(required = false) String cursor,
+			@RequestParam(defaultValue = "50") int limit) {
+		try {
+			int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+			AppointmentFilter filter = new AppointmentFilter(status, serviceType, from, to);
+			return ResponseEntity.ok(appointmentService.getAppointmentsPage(filter, cursor, pageSize));
+		} catch (IllegalArgumentException e) {
+			Map<String, Object> errorResponse = new java.util.HashMap<>();
+			errorResponse.put("message", e.getMessage());
+			errorResponse.put("error", "ValidationError");
+			return ResponseEntity.badRequest().body(errorResponse);
 		} catch (Exception e) {
-			System.err.println("ERROR: Failed to get appointments: " + e.getMessage());
-			e.printStackTrace();
+			BulkheadFullException.rethrow(e);
 			Map<String, Object> errorResponse = new java.util.HashMap<>();
 			errorResponse.put("message", "Error fetching appointments: " + e.getMessage());
 			errorResponse.put("error", "InternalServerError");
@@ -260,33 +299,102 @@ public class AppointmentController {
 		}
 	}
 
+	/**
+	 * Stream matching appointments as NDJSON (one JSON document per line)
+	 * Documents are written as they come off the Mongo cursor, nothing is buffered
+	 */
+	@GetMapping(value = "/stream", produces = "application/x-ndjson")
+	public ResponseEntity<StreamingResponseBody> streamAppointments(
+			@RequestParam(required = false) String status,
+			@RequestParam(required = false) String serviceType,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+		AppointmentFilter filter = new AppointmentFilter(status, serviceType, from, to);
+		StreamingResponseBody body = out -> {
+			try (Stream<Appointment> appointments = appointmentService.streamAppointments(filter)) {
+				Iterator<Appointment> iterator = appointments.iterator();
+				int written = 0;
+				while (iterator.hasNext()) {
+					out.write(objectMapper.writeValueAsBytes(iterator.next()));
+					out.write('\n');
+					if (++written % STREAM_FLUSH_EVERY == 0) {
+						out.flush();
+					}
+				}
+				out.flush();
+			}
+		};
+		return ResponseEntity.ok()
+				.contentType(MediaType.parseMediaType("application/x-ndjson"))
+				.body(body);
+	}
+
 	/**
 	 * Get appointments by customer ID
+	 * Supports view=summary and a fields= sparse fieldset, like the other list endpoints
 	 */
 	@GetMapping("/customer/{customerId}")
-	public ResponseEntity<List<Appointment>> getAppointmentsByCustomerId(@PathVariable String customerId) {
+	public ResponseEntity<?> getAppointmentsByCustomerId(
+			@PathVariable String customerId,
+			@RequestParam(required = false) String view,
+			@RequestParam(required = false) String fields) {
 		try {
+			if (view != null || fields != null) {
+				return ResponseEntity.ok(appointmentService.listCustomerAppointments(customerId, view, fields));
+			}
 			List<Appointment> appointments = appointmentService.getAppointmentsByCustomerId(customerId);
 			return ResponseEntity.ok(appointments);
 		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
 			return ResponseEntity.badRequest().build();
 		}
 	}
 
 	/**
 	 * Update appointment status
+	 * Body: {"status": "Approved", "version": 3}; version is optional and, when sent,
+	 * the update only applies if nobody changed the appointment since it was read
 	 */
 	@PutMapping("/{id}/status")
-	public ResponseEntity<Appointment> updateAppointmentStatus(
+	public ResponseEntity<?> updateAppointmentStatus(
 			@PathVariable String id,
-			@RequestBody Map<String, String> request) {
+			@RequestBody Map<String, Object> request) {
 		try {
-			String status = request.get("status");
-			Appointment appointment = appointmentService.updateAppointmentStatus(id, status);
+			Object status = request.get("status");
+			Appointment appointment = appointmentService.updateAppointmentStatus(id,
+				status == null ? null : status.toString(), expectedVersion(request));
 			return ResponseEntity.ok(appointment);
+		} catch (OptimisticLockingFailureException | IllegalStateException e) {
+			return conflict(e);
 		} catch (Exception e) {
-			return ResponseEntity.badRequest().build();
+			BulkheadFullException.rethrow(e);
+			Map<String, Object> errorResponse = new java.util.HashMap<>();
+			errorResponse.put("message", e.getMessage());
+			errorResponse.put("error", e.getClass().getSimpleName());
+			return ResponseEntity.badRequest().body(errorResponse);
+		}
+	}
+
+	private static Long expectedVersion(Map<String, Object> request) {
+		Object version = request.get("version");
+		if (version == null) {
+			return null;
 		}
+		if (version instanceof Number number) {
+			return number.longValue();
+		}
+		try {
+			return Long.parseLong(version.toString());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("version must be a number");
+		}
+	}
+
+	private static ResponseEntity<?> conflict(RuntimeException e) {
+		Map<String, Object> errorResponse = new java.util.HashMap<>();
+		errorResponse.put("message", e.getMessage());
+		errorResponse.put("error", e instanceof OptimisticLockingFailureException ? "VersionConflict" : "InvalidStatusTransition");
+		return ResponseEntity.status(409).body(errorResponse);
 	}
 
 	/**
@@ -297,10 +405,6 @@ public class AppointmentController {
 			@PathVariable String id,
 			@RequestBody Map<String, Object> request) {
 		try {
-			System.out.println("===== Assign Employees Request =====");
-			System.out.println("Appointment ID: " + id);
-			System.out.println("Request body: " + request);
-			
 			@SuppressWarnings("unchecked")
 			List<String> employeeIds = (List<String>) request.get("employeeIds");
 			@SuppressWarnings("unchecked")
@@ -320,20 +424,22 @@ public class AppointmentController {
 				return ResponseEntity.badRequest().body(errorResponse);
 			}
 			
-			Appointment appointment = appointmentService.assignEmployees(id, employeeIds, employeeNames);
-			System.out.println("✓ Employees assigned successfully to appointment: " + id);
-			System.out.println("Assigned employees: " + employeeNames);
+			Appointment appointment = appointmentService.assignEmployees(id, employeeIds, employeeNames,
+				expectedVersion(request));
+			log.debug("Assigned employees {} to appointment {}", employeeIds, id);
 			return ResponseEntity.ok(appointment);
+		} catch (OptimisticLockingFailureException | IllegalStateException e) {
+			log.debug("Assign employees to {} rejected: {}", id, e.getMessage());
+			return conflict(e);
 		} catch (RuntimeException e) {
-			System.err.println("ERROR assigning employees: " + e.getMessage());
-			e.printStackTrace();
+			BulkheadFullException.rethrow(e);
+			log.debug("Assign employees to {} failed: {}", id, e.getMessage());
 			Map<String, Object> errorResponse = new java.util.HashMap<>();
 			errorResponse.put("message", e.getMessage());
 			errorResponse.put("error", e.getClass().getSimpleName());
 			return ResponseEntity.badRequest().body(errorResponse);
 		} catch (Exception e) {
-			System.err.println("ERROR assigning employees: " + e.getMessage());
-			e.printStackTrace();
+			log.error("Failed to assign employees to appointment {}", id, e);
 			Map<String, Object> errorResponse = new java.util.HashMap<>();
 			errorResponse.put("message", "Failed to assign employees: " + e.getMessage());
 			errorResponse.put("error", "InternalServerError");
@@ -350,21 +456,99 @@ public class AppointmentController {
 			appointmentService.cancelAppointment(id);
 			return ResponseEntity.ok().build();
 		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
 			return ResponseEntity.badRequest().build();
 		}
 	}
 
+	/**
+	 * Set one status on many appointments
+	 * Body: {"appointmentIds": [...], "status": "Approved"}
+	 */
+	@PostMapping("/bulk/status")
+	public ResponseEntity<?> bulkUpdateStatus(@RequestBody Map<String, Object> request) {
+		try {
+			List<String> appointmentIds = bulkIds(request.get("appointmentIds"));
+			Object status = request.get("status");
+			if (!(status instanceof String value) || value.isBlank()) {
+				return bulkError("Status is required");
+			}
+			return ResponseEntity.ok(appointmentService.bulkUpdateStatus(appointmentIds, value));
+		} catch (IllegalArgumentException e) {
+			return bulkError(e.getMessage());
+		}
+	}
+
+	/**
+	 * Assign employees to many appointments
+	 * Body: {"assignments": [{"appointmentId": "...", "employeeIds": [...], "employeeNames": [...]}]}
+	 */
+	@PostMapping("/bulk/assign-employees")
+	public ResponseEntity<?> bulkAssignEmployees(@RequestBody Map<String, Object> request) {
+		try {
+			List<EmployeeAssignment> assignments = objectMapper.convertValue(request.get("assignments"),
+				new TypeReference<List<EmployeeAssignment>>() {});
+			if (assignments == null || assignments.isEmpty()) {
+				return bulkError("assignments must not be empty");
+			}
+			if (assignments.size() > MAX_BULK_SIZE) {
+				return bulkError("At most " + MAX_BULK_SIZE + " appointments per request");
+			}
+			return ResponseEntity.ok(appointmentService.bulkAssignEmployees(assignments));
+		} catch (IllegalArgumentException e) {
+			return bulkError(e.getMessage());
+		}
+	}
+
+	/**
+	 * Cancel many appointments, e.g. when closing a shop day
+	 * Body: {"appointmentIds": [...]}
+	 */
+	@PostMapping("/bulk/cancel")
+	public ResponseEntity<?> bulkCancel(@RequestBody Map<String, Object> request) {
+		try {
+			return ResponseEntity.ok(appointmentService.bulkCancel(bulkIds(request.get("appointmentIds"))));
+		} catch (IllegalArgumentException e) {
+			return bulkError(e.getMessage());
+		}
+	}
+
+	private List<String> bulkIds(Object value) {
+		List<String> appointmentIds = objectMapper.convertValue(value, new TypeReference<List<String>>() {});
+		if (appointmentIds == null || appointmentIds.isEmpty()) {
+			throw new IllegalArgumentException("appointmentIds must not be empty");
+		}
+		if (appointmentIds.size() > MAX_BULK_SIZE) {
+			throw new IllegalArgumentException("At most " + MAX_BULK_SIZE + " appointments per request");
+		}
+		return appointmentIds;
+	}
+
+	private static ResponseEntity<?> bulkError(String message) {
+		Map<String, Object> errorResponse = new java.util.HashMap<>();
+		errorResponse.put("message", message);
+		errorResponse.put("error", "ValidationError");
+		return ResponseEntity.badRequest().body(errorResponse);
+	}
+
 	/**
 	 * Get appointments by date range
 	 */
 	@GetMapping("/range")
-	public ResponseEntity<List<Appointment>> getAppointmentsByDateRange(
+	public ResponseEntity<?> getAppointmentsByDateRange(
 			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
-			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate,
+			@RequestParam(required = false) String view,
+			@RequestParam(required = false) String fields) {
 		try {
+			if (view != null || fields != null) {
+				return ResponseEntity.ok(appointmentService.listAppointments(
+					Criteria.where("date").gte(startDate).lte(endDate), view, fields));
+			}
 			List<Appointment> appointments = appointmentService.getAppointmentsByDateRange(startDate, endDate);
 			return ResponseEntity.ok(appointments);
 		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
 			return ResponseEntity.badRequest().build();
 		}
 	}
@@ -422,7 +606,7 @@ public class AppointmentController {
 				
 				com.revamp.booking.bookingservice.model.TimeSlot slot = slotOpt.get();
 				
-				if (!slot.isAvailable()) {
+				if (!slot.isBookable(java.time.Instant.now())) {
 					result.put("isValid", false);
 					result.put("message", "Time slot is already booked");
 					return ResponseEntity.ok(result);
@@ -441,6 +625,7 @@ public class AppointmentController {
 			return ResponseEntity.ok(result);
 			
 		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
 			return ResponseEntity.badRequest()
 				.body(Map.of("isValid", false, "message", "Error validating booking: " + e.getMessage()));
 		}
@@ -0,0 +1,36 @@
+package com.revamp.booking.bookingservice.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import com.revamp.booking.bookingservice.config.BulkheadFullException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Answers requests turned away by a full bulkhead with 503 and Retry-After,
+ * so clients back off and retry instead of treating it as a bad request
+ */
+@RestControllerAdvice
+@Slf4j
+public class BulkheadExceptionHandler {
+
+	@Value("${booking.bulkhead.retry-after-seconds:1}")
+	private int retryAfterSeconds;
+
+	@ExceptionHandler(BulkheadFullException.class)
+	public ResponseEntity<Map<String, Object>> handleBulkheadFull(BulkheadFullException e) {
+		log.warn(e.getMessage());
+		Map<String, Object> errorResponse = new HashMap<>();
+		errorResponse.put("message", e.getMessage());
+		errorResponse.put("error", "ServiceUnavailable");
+		return ResponseEntity.status(503)
+				.header("Retry-After", String.valueOf(retryAfterSeconds))
+				.body(errorResponse);
+	}
+}
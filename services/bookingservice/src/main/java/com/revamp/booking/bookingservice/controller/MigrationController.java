@@ -0,0 +1,81 @@
+package com.revamp.booking.bookingservice.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.revamp.booking.bookingservice.model.MigrationCheckpoint;
+import com.revamp.booking.bookingservice.service.LegacyIdMigration;
+
+@RestController
+@RequestMapping("/api/bookings/admin/migrations")
+@CrossOrigin(origins = "*")
+public class MigrationController {
+
+	@Autowired
+	private LegacyIdMigration legacyIdMigration;
+
+	@Autowired
+	private AdminGuard adminGuard;
+
+	/**
+	 * Progress of the legacy booking ID migration (admin only, like every endpoint here)
+	 */
+	@GetMapping("/legacy-ids")
+	public ResponseEntity<Map<String, Object>> legacyIdProgress(
+			@RequestHeader(value = "Authorization", required = false) String authHeader) {
+		ResponseEntity<Map<String, Object>> refused = adminGuard.refuse(authHeader);
+		if (refused != null) {
+			return refused;
+		}
+		return ResponseEntity.ok(describe(legacyIdMigration.progress()));
+	}
+
+	/**
+	 * Start the legacy booking ID migration, or resume it where it stopped
+	 */
+	@PostMapping("/legacy-ids/start")
+	public ResponseEntity<Map<String, Object>> startLegacyIdMigration(
+			@RequestHeader(value = "Authorization", required = false) String authHeader) {
+		ResponseEntity<Map<String, Object>> refused = adminGuard.refuse(authHeader);
+		if (refused != null) {
+			return refused;
+		}
+		try {
+			return ResponseEntity.accepted().body(describe(legacyIdMigration.start()));
+		} catch (IllegalStateException e) {
+			Map<String, Object> errorResponse = new HashMap<>();
+			errorResponse.put("message", e.getMessage());
+			errorResponse.put("error", "MigrationRunning");
+			return ResponseEntity.status(409).body(errorResponse);
+		}
+	}
+
+	/**
+	 * Stop the legacy booking ID migration after its current batch
+	 */
+	@PostMapping("/legacy-ids/stop")
+	public ResponseEntity<Map<String, Object>> stopLegacyIdMigration(
+			@RequestHeader(value = "Authorization", required = false) String authHeader) {
+		ResponseEntity<Map<String, Object>> refused = adminGuard.refuse(authHeader);
+		if (refused != null) {
+			return refused;
+		}
+		legacyIdMigration.stop();
+		return ResponseEntity.accepted().body(describe(legacyIdMigration.progress()));
+	}
+
+	private Map<String, Object> describe(MigrationCheckpoint checkpoint) {
+		Map<String, Object> result = new HashMap<>();
+		result.put("checkpoint", checkpoint);
+		result.put("runningHere", legacyIdMigration.isRunningHere());
+		long total = checkpoint.getPendingAtStart();
+		result.put("percentComplete", total == 0
+			? (checkpoint.getStatus() == MigrationCheckpoint.Status.COMPLETED ? 100.0 : 0.0)
+			: Math.min(100.0, Math.round(checkpoint.getProcessed() * 1000.0 / total) / 10.0));
+		return result;
+	}
+}
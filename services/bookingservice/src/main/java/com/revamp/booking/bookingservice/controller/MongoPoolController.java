@@ -0,0 +1,34 @@
+package com.revamp.booking.bookingservice.controller;
+
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import com.revamp.booking.bookingservice.config.MongoClientRegistry;
+
+@RestController
+@RequestMapping("/api/bookings/admin/mongo-pools")
+@CrossOrigin(origins = "*")
+public class MongoPoolController {
+
+	@Autowired
+	private MongoClientRegistry mongoClientRegistry;
+
+	@Autowired
+	private AdminGuard adminGuard;
+
+	/**
+	 * Pool settings, pool usage and command latencies of every Mongo client (admin only)
+	 */
+	@GetMapping
+	public ResponseEntity<Map<String, Object>> mongoPools(
+			@RequestHeader(value = "Authorization", required = false) String authHeader) {
+		ResponseEntity<Map<String, Object>> refused = adminGuard.refuse(authHeader);
+		if (refused != null) {
+			return refused;
+		}
+		return ResponseEntity.ok(mongoClientRegistry.describe());
+	}
+}
@@ -0,0 +1,77 @@
+package com.revamp.booking.bookingservice.controller;
+
+import java.time.LocalDate;
+
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+
+import com.revamp.booking.bookingservice.model.TimeSlot;
+import com.revamp.booking.bookingservice.service.ReactiveTimeSlotService;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * WebFlux handlers for the high-volume availability reads, mirroring the
+ * GET endpoints of TimeSlotController under the same paths. Served by
+ * ReactiveAvailabilityServer on its own port, next to the servlet stack.
+ */
+@Component
+public class ReactiveTimeSlotRoutes {
+
+	private static final String BASE_PATH = "/api/bookings/timeslots";
+
+	private final ReactiveTimeSlotService reactiveTimeSlotService;
+
+	public ReactiveTimeSlotRoutes(ReactiveTimeSlotService reactiveTimeSlotService) {
+		this.reactiveTimeSlotService = reactiveTimeSlotService;
+	}
+
+	public RouterFunction<ServerResponse> routes() {
+		return RouterFunctions.route()
+			.path(BASE_PATH, builder -> builder
+				.GET("/available/{date}", this::getAvailableSlots)
+				.GET("/range", this::getSlotsForDateRange)
+				.GET("/check-availability/{date}", this::checkDateAvailability))
+			.build();
+	}
+
+	/**
+	 * Get available time slots for a specific date
+	 */
+	private Mono<ServerResponse> getAvailableSlots(ServerRequest request) {
+		return Mono.fromCallable(() -> LocalDate.parse(request.pathVariable("date")))
+			.flatMap(date -> ServerResponse.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(reactiveTimeSlotService.getAvailableSlotsForDate(date), TimeSlot.class))
+			.onErrorResume(e -> ServerResponse.badRequest().build());
+	}
+
+	/**
+	 * Get time slots for a date range
+	 */
+	private Mono<ServerResponse> getSlotsForDateRange(ServerRequest request) {
+		return Mono.fromCallable(() -> new LocalDate[] {
+				LocalDate.parse(request.queryParam("startDate").orElseThrow()),
+				LocalDate.parse(request.queryParam("endDate").orElseThrow()) })
+			.flatMap(range -> ServerResponse.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(reactiveTimeSlotService.getSlotsForDateRange(range[0], range[1]), TimeSlot.class))
+			.onErrorResume(e -> ServerResponse.badRequest().build());
+	}
+
+	/**
+	 * Check if a date is available for booking
+	 */
+	private Mono<ServerResponse> checkDateAvailability(ServerRequest request) {
+		return Mono.fromCallable(() -> LocalDate.parse(request.pathVariable("date")))
+			.flatMap(reactiveTimeSlotService::checkDateAvailability)
+			.flatMap(result -> ServerResponse.ok()
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue(result))
+			.onErrorResume(e -> ServerResponse.badRequest().build());
+	}
+}
@@ -1,25 +1,45 @@
 package com.revamp.booking.bookingservice.controller;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import com.revamp.booking.bookingservice.config.BulkheadFullException;
 import com.revamp.booking.bookingservice.model.TimeSlot;
+import com.revamp.booking.bookingservice.service.SlotAvailabilityFeed;
 import com.revamp.booking.bookingservice.service.TimeSlotService;
+import com.revamp.booking.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
 
 @RestController
 @RequestMapping("/api/bookings/timeslots")
 @CrossOrigin(origins = "*")
 public class TimeSlotController {
 
+	private static final int MAX_CALENDAR_DAYS = 92;
+
+	private static final int MAX_STREAM_DATES = 31;
+
 	@Autowired
 	private TimeSlotService timeSlotService;
 
+	@Autowired
+	private SlotAvailabilityFeed slotAvailabilityFeed;
+
+	@Autowired
+	private JwtUtil jwtUtil;
+
 	/**
 	 * Get available time slots for a specific date
 	 */
@@ -30,6 +50,7 @@ public class TimeSlotController {
 			List<TimeSlot> slots = timeSlotService.getAvailableSlotsForDate(date);
 			return ResponseEntity.ok(slots);
 		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
 			return ResponseEntity.badRequest().build();
 		}
 	}
@@ -45,7 +66,65 @@ public class TimeSlotController {
 			List<TimeSlot> slots = timeSlotService.getSlotsForDateRange(startDate, endDate);
 			return ResponseEntity.ok(slots);
 		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	/**
+	 * Get a per-day availability calendar for a date range (at most 92 days)
+	 * Lets the booking UI render a month view with two queries instead of one call per day
+	 */
+	@GetMapping("/calendar")
+	public ResponseEntity<Map<String, Object>> getAvailabilityCalendar(
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+			@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+		try {
+			if (to.isBefore(from) || from.plusDays(MAX_CALENDAR_DAYS).isBefore(to)) {
+				return ResponseEntity.badRequest().build();
+			}
+			Map<String, Object> result = new java.util.HashMap<>();
+			result.put("from", from.toString());
+			result.put("to", to.toString());
+			result.put("days", timeSlotService.getAvailabilityCalendar(from, to));
+			return ResponseEntity.ok(result);
+		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	/**
+	 * Live availability for the given dates (comma separated, at most 31) as server-sent events
+	 * Each date's current availability is sent straight away, then again whenever it changes,
+	 * in the same shape as check-availability's availableSlots
+	 * Dates outside the materialized slot horizon are rejected with 400
+	 */
+	@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+	public ResponseEntity<SseEmitter> streamAvailability(@RequestParam String dates) {
+		List<LocalDate> subscribed;
+		try {
+			subscribed = Arrays.stream(dates.split(","))
+					.map(String::trim)
+					.filter(date -> !date.isEmpty())
+					.map(LocalDate::parse)
+					.distinct()
+					.toList();
+		} catch (DateTimeParseException e) {
+			return ResponseEntity.badRequest().build();
+		}
+		if (subscribed.isEmpty() || subscribed.size() > MAX_STREAM_DATES) {
+			return ResponseEntity.badRequest().build();
+		}
+		try {
+			return ResponseEntity.ok()
+					.header("Cache-Control", "no-cache")
+					.header("X-Accel-Buffering", "no")
+					.body(slotAvailabilityFeed.subscribe(subscribed));
+		} catch (IllegalArgumentException e) {
 			return ResponseEntity.badRequest().build();
+		} catch (IllegalStateException e) {
+			return ResponseEntity.status(503).header("Retry-After", "5").build();
 		}
 	}
 
@@ -61,6 +140,7 @@ public class TimeSlotController {
 			List<TimeSlot> slots = timeSlotService.generateTimeSlots(startDate, endDate);
 			return ResponseEntity.ok(slots);
 		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
 			return ResponseEntity.badRequest().build();
 		}
 	}
@@ -75,6 +155,60 @@ public class TimeSlotController {
 					.map(ResponseEntity::ok)
 					.orElse(ResponseEntity.notFound().build());
 		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	/**
+	 * Hold a time slot while the customer goes through checkout and payment
+	 * The returned holdId is passed as holdId when creating the appointment;
+	 * calling again with the same holdId extends the hold, for the same customer only
+	 */
+	@PostMapping("/{id}/hold")
+	public ResponseEntity<Map<String, Object>> holdSlot(
+			@PathVariable String id,
+			@RequestParam(required = false) String holdId,
+			@RequestHeader(value = "Authorization", required = false) String authHeader) {
+		String customerId = customerId(authHeader);
+		if (customerId == null) {
+			return ResponseEntity.status(401).build();
+		}
+		try {
+			String holder = holdId != null && !holdId.isBlank() ? holdId : new ObjectId().toHexString();
+			if (!ObjectId.isValid(holder)) {
+				return ResponseEntity.badRequest().build();
+			}
+			TimeSlot slot = timeSlotService.holdSlot(id, holder, customerId);
+			Map<String, Object> result = new java.util.HashMap<>();
+			result.put("slotId", slot.getId());
+			result.put("holdId", holder);
+			result.put("holdExpiresAt", slot.getHold(holder).getExpiresAt());
+			return ResponseEntity.ok(result);
+		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
+			Map<String, Object> result = new java.util.HashMap<>();
+			result.put("message", e.getMessage());
+			return ResponseEntity.status(409).body(result);
+		}
+	}
+
+	/**
+	 * Release a slot hold early, e.g. when the customer leaves checkout
+	 */
+	@DeleteMapping("/{id}/hold/{holdId}")
+	public ResponseEntity<Void> releaseHold(@PathVariable String id, @PathVariable String holdId,
+			@RequestHeader(value = "Authorization", required = false) String authHeader) {
+		String customerId = customerId(authHeader);
+		if (customerId == null) {
+			return ResponseEntity.status(401).build();
+		}
+		try {
+			return timeSlotService.releaseHold(id, holdId, customerId)
+					? ResponseEntity.noContent().build()
+					: ResponseEntity.notFound().build();
+		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
 			return ResponseEntity.badRequest().build();
 		}
 	}
@@ -112,8 +246,24 @@ public class TimeSlotController {
 			
 			return ResponseEntity.ok(result);
 		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
 			return ResponseEntity.badRequest().build();
 		}
 	}
-}
 
+	/**
+	 * Customer ID from a valid Bearer token, or null
+	 */
+	private String customerId(String authHeader) {
+		if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+			return null;
+		}
+		try {
+			Claims claims = jwtUtil.parseToken(authHeader);
+			return jwtUtil.getCustomerId(claims);
+		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
+			return null;
+		}
+	}
+}
@@ -9,6 +9,7 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import com.revamp.booking.bookingservice.config.BulkheadFullException;
 import com.revamp.booking.bookingservice.model.UnavailableDate;
 import com.revamp.booking.bookingservice.service.UnavailableDateService;
 
@@ -33,6 +34,7 @@ public class UnavailableDateController {
 			UnavailableDate unavailableDate = unavailableDateService.addUnavailableDate(date, reason, description);
 			return ResponseEntity.ok(unavailableDate);
 		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
 			return ResponseEntity.badRequest().build();
 		}
 	}
@@ -46,6 +48,7 @@ public class UnavailableDateController {
 			unavailableDateService.removeUnavailableDate(id);
 			return ResponseEntity.ok().build();
 		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
 			return ResponseEntity.badRequest().build();
 		}
 	}
@@ -59,6 +62,7 @@ public class UnavailableDateController {
 			List<UnavailableDate> dates = unavailableDateService.getAllUnavailableDates();
 			return ResponseEntity.ok(dates);
 		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
 			return ResponseEntity.badRequest().build();
 		}
 	}
@@ -74,6 +78,7 @@ public class UnavailableDateController {
 			List<UnavailableDate> dates = unavailableDateService.getUnavailableDatesInRange(startDate, endDate);
 			return ResponseEntity.ok(dates);
 		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
 			return ResponseEntity.badRequest().build();
 		}
 	}
@@ -88,6 +93,7 @@ public class UnavailableDateController {
 			boolean isUnavailable = unavailableDateService.isDateUnavailable(date);
 			return ResponseEntity.ok(Map.of("isUnavailable", isUnavailable));
 		} catch (Exception e) {
+			BulkheadFullException.rethrow(e);
 			return ResponseEntity.badRequest().build();
 		}
 	}
@@ -1,8 +1,11 @@
 package com.revamp.booking.bookingservice.model;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,6 +21,10 @@ import java.util.List;
 public class Appointment {
 	@Id
 	private String id;
+	private String legacyId; // original ID of a document whose _id was not an ObjectId, see LegacyIdMigration
+
+	@Version
+	private Long version; // bumped by every update; clients may send it back to detect concurrent edits
 	
 	private String customerId;
 	private String customerName;
@@ -42,6 +49,11 @@ public class Appointment {
 	private String instructions; // From Booking model
 	private java.time.LocalDateTime createdAt; // From Booking model
 	private java.time.LocalDateTime updatedAt; // From Booking model
+	private Boolean refundRequired; // paid but the slot was lost, see StripeWebhookController
+	private String paymentIntentId; // the payment to refund when refundRequired
+
+	@JsonIgnore
+	private List<OutboxEvent> pendingEvents; // not yet delivered to employeeservice, see OutboxRelay
 	
 	@Data
 	@NoArgsConstructor
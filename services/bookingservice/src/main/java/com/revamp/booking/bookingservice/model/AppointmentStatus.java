@@ -0,0 +1,108 @@
+package com.revamp.booking.bookingservice.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Appointment lifecycle: Pending -> Approved -> In Progress -> Completed -> Delivered.
+ * An unpaid Pending appointment whose slot hold ran out is Expired until payment
+ * arrives and puts it back to Pending. A paid appointment whose slot was taken
+ * before payment could confirm it is Slot Lost and waits for a refund; nothing
+ * moves out of it. An appointment cancelled while employees held tasks for it is
+ * Cancelled until employeeservice has been told, then OutboxRelay removes it; only
+ * cancellation puts it there. Repeating the current status is allowed.
+ */
+public enum AppointmentStatus {
+
+	PENDING("Pending"),
+	APPROVED("Approved"),
+	IN_PROGRESS("In Progress"),
+	COMPLETED("Completed"),
+	DELIVERED("Delivered"),
+	EXPIRED("Expired"),
+	SLOT_LOST("Slot Lost"),
+	CANCELLED("Cancelled");
+
+	private final String label;
+
+	AppointmentStatus(String label) {
+		this.label = label;
+	}
+
+	/**
+	 * The value stored in the status field
+	 */
+	public String label() {
+		return label;
+	}
+
+	/**
+	 * Statuses an appointment may be in when it moves to this one
+	 */
+	public Set<AppointmentStatus> allowedFrom() {
+		return switch (this) {
+			case PENDING -> EnumSet.of(PENDING, EXPIRED);
+			case APPROVED -> EnumSet.of(PENDING, APPROVED);
+			case IN_PROGRESS -> EnumSet.of(APPROVED, IN_PROGRESS);
+			case COMPLETED -> EnumSet.of(IN_PROGRESS, COMPLETED);
+			case DELIVERED -> EnumSet.of(COMPLETED, DELIVERED);
+			case EXPIRED -> EnumSet.of(PENDING, EXPIRED);
+			case SLOT_LOST -> EnumSet.of(PENDING, EXPIRED, SLOT_LOST);
+			case CANCELLED -> EnumSet.noneOf(AppointmentStatus.class);
+		};
+	}
+
+	/**
+	 * Every spelling of these statuses found in stored documents ("pending", "in-progress", ...),
+	 * for use in a query; a missing status counts as Pending
+	 */
+	public static List<String> storedValues(Set<AppointmentStatus> statuses) {
+		List<String> values = new ArrayList<>();
+		for (AppointmentStatus status : statuses) {
+			String lower = status.label.toLowerCase(Locale.ROOT);
+			values.add(status.label);
+			values.add(lower);
+			if (lower.contains(" ")) {
+				values.add(lower.replace(' ', '-'));
+				values.add(status.name());
+			}
+			if (status == PENDING) {
+				values.add(null);
+			}
+		}
+		return Collections.unmodifiableList(values);
+	}
+
+	/**
+	 * Parse a status in any of its spellings; throws IllegalArgumentException for unknown values
+	 */
+	public static AppointmentStatus parse(String value) {
+		if (value != null) {
+			String key = value.trim().replace('-', ' ').replace('_', ' ');
+			for (AppointmentStatus status : values()) {
+				if (status.label.equalsIgnoreCase(key)) {
+					return status;
+				}
+			}
+		}
+		throw new IllegalArgumentException("Unknown appointment status: " + value);
+	}
+
+	/**
+	 * Like parse, but returns null instead of throwing; a missing status is Pending
+	 */
+	public static AppointmentStatus of(String value) {
+		if (value == null) {
+			return PENDING;
+		}
+		try {
+			return parse(value);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+}
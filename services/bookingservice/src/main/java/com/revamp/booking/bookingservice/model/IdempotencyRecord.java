@@ -0,0 +1,39 @@
+package com.revamp.booking.bookingservice.model;
+
+import java.time.Instant;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The stored outcome of a create request sent with an Idempotency-Key header
+ */
+@Document(collection = "idempotency_keys")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IdempotencyRecord {
+
+	public enum State {
+		IN_FLIGHT,
+		COMPLETED
+	}
+
+	@Id
+	private String id; // endpoint:customerId:key
+
+	private State state;
+	private String fingerprint; // SHA-256 of the request body, a reused key with another body is rejected
+	private String leaseToken; // written by the request now running the key; completing and releasing need it
+
+	private int statusCode;
+	private String responseBody; // JSON, replayed as-is
+
+	private Instant createdAt;
+	private Instant leaseUntil; // an IN_FLIGHT record past this is treated as abandoned
+	private Instant expiresAt; // removed by the TTL index after this
+}
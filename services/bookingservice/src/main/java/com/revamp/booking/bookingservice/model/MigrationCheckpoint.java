@@ -0,0 +1,45 @@
+package com.revamp.booking.bookingservice.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of a data migration, saved after every batch so a restarted run resumes where it stopped
+ */
+@Document(collection = "migrations")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MigrationCheckpoint {
+
+	public enum Status {
+		IDLE,
+		RUNNING,
+		COMPLETED,
+		FAILED
+	}
+
+	@Id
+	private String id; // migration name
+
+	private Status status = Status.IDLE;
+	private long pendingAtStart; // documents left to migrate when the current run started
+	private long processed;
+	private long converted; // string _id turned into the matching ObjectId
+	private long reassigned; // non-ObjectId _id replaced by a new ObjectId, old value kept as legacyId
+	private long relabeled; // stray id field moved to legacyId
+	private long batches;
+	private List<String> failedIds = new ArrayList<>(); // skipped on later batches, capped
+	private String lastError;
+	private Instant startedAt;
+	private Instant updatedAt; // heartbeat; a RUNNING checkpoint that stops moving can be taken over
+	private Instant completedAt;
+}
@@ -0,0 +1,35 @@
+package com.revamp.booking.bookingservice.model;
+
+import java.time.Instant;
+
+import org.bson.types.ObjectId;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A change to an appointment that employeeservice has not heard about yet.
+ * Events are pushed onto the appointment's pendingEvents in the same update that
+ * makes the change, so the change and its event are written together or not at all;
+ * OutboxRelay delivers them and pulls them off again.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+	public enum Type {
+		EMPLOYEES_ASSIGNED,
+		STATUS_CHANGED,
+		CANCELLED
+	}
+
+	private String eventId; // unique within the appointment; a bulk update pushes the same event to every match
+	private Type type;
+	private Instant occurredAt;
+
+	public static OutboxEvent of(Type type) {
+		return new OutboxEvent(new ObjectId().toHexString(), type, Instant.now());
+	}
+}
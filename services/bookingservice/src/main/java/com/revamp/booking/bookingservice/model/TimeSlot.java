@@ -1,12 +1,17 @@
 package com.revamp.booking.bookingservice.model;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -21,24 +26,84 @@ public class TimeSlot {
     private String id;
 
     private LocalDate date;
-    private LocalTime startTime; // 08:00, 11:00, 14:00
-    private LocalTime endTime;   // 11:00, 14:00, 17:00
+    private LocalTime startTime; // from the weekday slot template, e.g. 08:00
+    private LocalTime endTime;   // e.g. 11:00
 
     @Field("isAvailable")
-    private boolean available;
+    private boolean available; // true while bookedCount < capacity
+
+    private int capacity = 1; // service bays for this window
+
+    private int bookedCount; // booked appointments plus active checkout holds
+
+    private List<String> appointmentIds = new ArrayList<>(); // one entry per booking or hold, at most capacity
+
+    private List<SlotHold> holds = new ArrayList<>(); // checkout holds, a subset of appointmentIds
 
-    private String appointmentId; // null if available, appointment ID if booked
+    @JsonIgnore
+    private long version; // bumped by every claim, release and hold change; orders the states the index sees
 
     public TimeSlot(LocalDate date, LocalTime startTime, LocalTime endTime) {
+        this(date, startTime, endTime, 1);
+    }
+
+    public TimeSlot(LocalDate date, LocalTime startTime, LocalTime endTime, int capacity) {
         this.date = date;
         this.startTime = startTime;
         this.endTime = endTime;
-        this.available = true;
-        this.appointmentId = null;
+        this.capacity = capacity;
+        this.available = capacity > 0;
+    }
+
+    /**
+     * A bay held for a customer in checkout until expiresAt
+     * Only the customer who took the hold (ownerId) may extend or release it
+     */
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class SlotHold {
+        private String holderId;
+        private Instant expiresAt;
+        @JsonIgnore
+        private String ownerId; // customer ID, kept out of the public slot responses
+
+        public boolean isExpired(Instant now) {
+            return expiresAt != null && !expiresAt.isAfter(now);
+        }
     }
 
     // ✅ Explicit getter (safety if Lombok fails)
     public boolean isAvailable() {
         return available;
     }
+
+    /**
+     * A bay is free, counting holds that have run out but not been swept yet as free
+     */
+    public boolean isBookable(Instant now) {
+        return available || freeBays(now) > 0;
+    }
+
+    /**
+     * Bays not taken by a booking or a live hold; the count isBookable goes by
+     */
+    public int freeBays(Instant now) {
+        return (int) Math.max(0, capacity - (bookedCount - expiredHolds(now)));
+    }
+
+    public boolean isHeldBy(String holderId) {
+        return holds != null && holds.stream().anyMatch(hold -> hold.getHolderId().equals(holderId));
+    }
+
+    public SlotHold getHold(String holderId) {
+        return holds == null ? null : holds.stream()
+            .filter(hold -> hold.getHolderId().equals(holderId))
+            .findFirst()
+            .orElse(null);
+    }
+
+    private long expiredHolds(Instant now) {
+        return holds == null ? 0 : holds.stream().filter(hold -> hold.isExpired(now)).count();
+    }
 }
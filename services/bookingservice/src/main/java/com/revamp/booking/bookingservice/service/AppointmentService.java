@@ -1,65 +1,137 @@
 package com.revamp.booking.bookingservice.service;
 
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.revamp.booking.bookingservice.config.MongoReadRouter;
 import com.revamp.booking.bookingservice.model.Appointment;
+import com.revamp.booking.bookingservice.model.AppointmentStatus;
+import com.revamp.booking.bookingservice.model.OutboxEvent;
 import com.revamp.booking.bookingservice.model.TimeSlot;
+import com.revamp.booking.dto.AppointmentFilter;
+import com.revamp.booking.dto.AppointmentPage;
+import com.revamp.booking.dto.AppointmentSummary;
+import com.revamp.booking.dto.BulkResult;
+import com.revamp.booking.dto.EmployeeAssignment;
 
 @Service
 public class AppointmentService {
 
+	private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt", "_id");
+
+	private static final int STREAM_BATCH_SIZE = 500;
+
+	private static final TypeReference<Map<String, Object>> FIELD_MAP = new TypeReference<>() {};
+
+	// Properties a client may ask for in a sparse fieldset
+	private static final Set<String> APPOINTMENT_FIELDS = Arrays.stream(Appointment.class.getDeclaredFields())
+		.filter(field -> !Modifier.isStatic(field.getModifiers()))
+		.filter(field -> !field.isAnnotationPresent(JsonIgnore.class))
+		.map(Field::getName)
+		.collect(Collectors.toUnmodifiableSet());
+
 	@Autowired
 	private MongoTemplate mongoTemplate;
 
+	@Autowired
+	private MongoReadRouter readRouter;
+
 	@Autowired
 	private TimeSlotService timeSlotService;
 
 	@Autowired
 	private UnavailableDateService unavailableDateService;
 
+	@Autowired
+	private ObjectMapper objectMapper;
+
 	/**
 	 * Create a new appointment
+	 * The appointment ID is generated up front so the slot is claimed with the
+	 * appointment ID already set; if the insert fails the claim is compensated
 	 */
 	public Appointment createAppointment(Appointment appointment) {
-		System.out.println("===== AppointmentService.createAppointment =====");
-		System.out.println("Input appointment data:");
-		System.out.println("  Customer ID: " + appointment.getCustomerId());
-		System.out.println("  Customer Name: " + appointment.getCustomerName());
-		System.out.println("  Customer Email: " + appointment.getCustomerEmail());
-		System.out.println("  Vehicle ID: " + appointment.getVehicleId());
-		System.out.println("  Vehicle: " + appointment.getVehicle());
-		System.out.println("  Vehicle Details: " + appointment.getVehicleDetails());
-		System.out.println("  Service Type: " + appointment.getServiceType());
-		System.out.println("  Date: " + appointment.getDate());
-		System.out.println("  Status: " + appointment.getStatus());
-		
+		return createAppointment(appointment, null);
+	}
+
+	/**
+	 * Create a new appointment on a slot held at checkout
+	 * The hold ID becomes the appointment ID and the slot stays held until the
+	 * payment webhook confirms it; without a hold ID the slot is booked outright
+	 */
+	public Appointment createAppointment(Appointment appointment, String holdId) {
 		// Check if date is unavailable (for both Service and Modification)
 		if (unavailableDateService.isDateUnavailable(appointment.getDate())) {
-			throw new RuntimeException("Selected date is unavailable (holiday/maintenance)");
+			throw new IllegalArgumentException("Selected date is unavailable (holiday/maintenance)");
 		}
 		
 		// Check if it's Sunday (for both Service and Modification)
 		if (appointment.getDate().getDayOfWeek().getValue() == 7) {
-			throw new RuntimeException("Shop is closed on Sundays");
+			throw new IllegalArgumentException("Shop is closed on Sundays");
+		}
+		
+		if (appointment.getCustomerId() == null || appointment.getCustomerId().isEmpty()) {
+			throw new IllegalArgumentException("Customer ID is required but was not set");
 		}
 		
-		// For Service type, book the time slot
-		if ("Service".equals(appointment.getServiceType())) {
+		if (holdId != null) {
+			if (!ObjectId.isValid(holdId)) {
+				throw new IllegalArgumentException("Invalid slot hold ID");
+			}
+			appointment.setId(holdId);
+		}
+		if (appointment.getId() == null) {
+			appointment.setId(new ObjectId().toHexString());
+		}
+		
+		boolean isService = "Service".equals(appointment.getServiceType());
+		
+		// For Service type, claim the time slot for this appointment
+		if (isService) {
 			if (appointment.getTimeSlotId() == null || appointment.getTimeSlotId().isEmpty()) {
-				throw new RuntimeException("Time slot ID is required for Service appointments");
+				throw new IllegalArgumentException("Time slot ID is required for Service appointments");
 			}
 			
-			// Book the time slot
-			TimeSlot slot = timeSlotService.bookSlot(appointment.getTimeSlotId(), null);
+			TimeSlot slot = holdId != null
+				? timeSlotService.holdSlot(appointment.getTimeSlotId(), holdId, appointment.getCustomerId())
+				: timeSlotService.bookSlot(appointment.getTimeSlotId(), appointment.getId());
 			appointment.setTime(slot.getStartTime());
 			appointment.setEndTime(slot.getEndTime());
 			
@@ -99,198 +171,511 @@ public class AppointmentService {
 			appointment.setUpdatedAt(java.time.LocalDateTime.now());
 		}
 		
-		System.out.println("Appointment before saving to MongoDB:");
-		System.out.println("  Customer ID: " + appointment.getCustomerId());
-		System.out.println("  Customer Name: " + appointment.getCustomerName());
-		System.out.println("  Customer Email: " + appointment.getCustomerEmail());
-		System.out.println("  Vehicle ID: " + appointment.getVehicleId());
-		System.out.println("  Vehicle: " + appointment.getVehicle());
-		System.out.println("  Vehicle Details: " + appointment.getVehicleDetails());
-		System.out.println("  Service Type: " + appointment.getServiceType());
-		System.out.println("  Date: " + appointment.getDate());
-		System.out.println("  Status: " + appointment.getStatus());
-		
-		// CRITICAL: Ensure customer info is set (should not be null at this point)
-		if (appointment.getCustomerId() == null || appointment.getCustomerId().isEmpty()) {
-			System.err.println("ERROR: Customer ID is null before saving! This should not happen.");
-			throw new RuntimeException("Customer ID is required but was not set");
+		try {
+			// In a causal session, so the customer's next listing shows the booking even from a secondary
+			return readRouter.writeFor(appointment.getCustomerId(), ops -> ops.insert(appointment));
+		} catch (RuntimeException e) {
+			// Compensate: give the slot back, unless the insert failed because this customer's
+			// appointment for the hold is already stored on the slot (a repeated request)
+			boolean alreadyStored = holdId != null
+				&& mongoTemplate.exists(new Query(Criteria.where("_id").is(holdId)
+					.and("customerId").is(appointment.getCustomerId())
+					.and("timeSlotId").is(appointment.getTimeSlotId())), Appointment.class);
+			if (isService && !alreadyStored) {
+				timeSlotService.releaseSlot(appointment.getTimeSlotId(), appointment.getId());
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Get appointment by ID
+	 */
+	public Optional<Appointment> getAppointmentById(String id) {
+		return Optional.ofNullable(mongoTemplate.findOne(byAppointmentId(id), Appointment.class));
+	}
+
+	/**
+	 * One indexed lookup for an appointment ID: the canonical ObjectId _id, or the
+	 * legacyId kept by LegacyIdMigration for documents that had another kind of ID
+	 */
+	static Query byAppointmentId(String id) {
+		return new Query(new Criteria().orOperator(
+			Criteria.where("_id").is(id),
+			Criteria.where("legacyId").is(id)));
+	}
+
+	static Query byAppointmentIds(Collection<String> ids) {
+		return new Query(new Criteria().orOperator(
+			Criteria.where("_id").in(ids),
+			Criteria.where("legacyId").in(ids)));
+	}
+
+	/**
+	 * Get all appointments
+	 * Listings are tolerant reads and may come from a secondary
+	 */
+	public List<Appointment> getAllAppointments() {
+		return readRouter.read(ops -> ops.findAll(Appointment.class));
+	}
+
+	/**
+	 * List appointments matching the criteria in the requested shape:
+	 * full documents by default, summary records for view=summary, or only the
+	 * requested properties for a fields= sparse fieldset
+	 */
+	public List<?> listAppointments(Criteria criteria, String view, String fields) {
+		Set<String> requested = fields != null && !fields.isBlank() ? parseFields(fields) : null;
+		return readRouter.read(ops -> list(ops, criteria, view, requested));
+	}
+
+	/**
+	 * Same as listAppointments, limited to one customer's appointments and
+	 * guaranteed to include what that customer just booked
+	 */
+	public List<?> listCustomerAppointments(String customerId, String view, String fields) {
+		Set<String> requested = fields != null && !fields.isBlank() ? parseFields(fields) : null;
+		return readRouter.readFor(customerId,
+			ops -> list(ops, Criteria.where("customerId").is(customerId), view, requested));
+	}
+
+	private List<?> list(MongoOperations ops, Criteria criteria, String view, Set<String> fields) {
+		if (fields != null) {
+			return findFields(ops, criteria, fields);
 		}
-		if (appointment.getCustomerEmail() == null || appointment.getCustomerEmail().isEmpty()) {
-			System.err.println("WARNING: Customer Email is null before saving!");
+		if ("summary".equalsIgnoreCase(view)) {
+			return findSummaries(ops, criteria);
 		}
-		
-		// Save appointment using insert to ensure it's a new document
-		Appointment saved;
-		try {
-			// Use insert instead of save to ensure it's a new document
-			mongoTemplate.insert(appointment);
-			saved = appointment; // After insert, the appointment object will have the generated ID
-			
-			System.out.println("Appointment inserted to MongoDB with ID: " + saved.getId());
-		} catch (Exception e) {
-			System.err.println("ERROR saving appointment to MongoDB: " + e.getMessage());
-			e.printStackTrace();
-			// Fallback to save if insert fails (might be due to ID conflict)
-			saved = mongoTemplate.save(appointment);
-			System.out.println("Used save() fallback, appointment ID: " + saved.getId());
+		return ops.find(new Query(criteria), Appointment.class);
+	}
+
+	/**
+	 * Appointment summaries; only the summary columns are read from Mongo
+	 */
+	public List<AppointmentSummary> findSummaries(Criteria criteria) {
+		return readRouter.read(ops -> findSummaries(ops, criteria));
+	}
+
+	private static List<AppointmentSummary> findSummaries(MongoOperations ops, Criteria criteria) {
+		Query query = new Query(criteria);
+		query.fields().include(AppointmentSummary.FIELDS);
+		return ops.query(Appointment.class)
+			.as(AppointmentSummary.class)
+			.matching(query)
+			.all();
+	}
+
+	private List<Map<String, Object>> findFields(MongoOperations ops, Criteria criteria, Set<String> fields) {
+		Query query = new Query(criteria);
+		query.fields().include(fields.toArray(String[]::new));
+		List<Map<String, Object>> result = new ArrayList<>();
+		for (Appointment appointment : ops.find(query, Appointment.class)) {
+			Map<String, Object> values = objectMapper.convertValue(appointment, FIELD_MAP);
+			values.keySet().retainAll(fields);
+			values.put("id", appointment.getId());
+			result.add(values);
 		}
-		
-		// Verify the saved data by querying it back from MongoDB
-		Query verifyQuery = new Query(Criteria.where("_id").is(saved.getId()));
-		Appointment verified = mongoTemplate.findOne(verifyQuery, Appointment.class);
-		
-		System.out.println("=== VERIFICATION: Querying back from MongoDB ===");
-		if (verified != null) {
-			System.out.println("  ID: " + verified.getId());
-			System.out.println("  Customer ID: " + verified.getCustomerId());
-			System.out.println("  Customer Name: " + verified.getCustomerName());
-			System.out.println("  Customer Email: " + verified.getCustomerEmail());
-			System.out.println("  Vehicle ID: " + verified.getVehicleId());
-			System.out.println("  Vehicle: " + verified.getVehicle());
-			System.out.println("  Vehicle Details: " + verified.getVehicleDetails());
-			
-			// If verification shows null values, that's a problem
-			if (verified.getCustomerId() == null) {
-				System.err.println("ERROR: Customer ID is null in database after saving!");
-			}
-			if (verified.getCustomerEmail() == null) {
-				System.err.println("ERROR: Customer Email is null in database after saving!");
+		return result;
+	}
+
+	private static Set<String> parseFields(String fields) {
+		Set<String> requested = new LinkedHashSet<>();
+		for (String field : fields.split(",")) {
+			String name = field.trim();
+			if (name.isEmpty() || "id".equals(name)) {
+				continue;
 			}
-			if (verified.getVehicle() == null && verified.getVehicleId() == null && verified.getVehicleDetails() == null) {
-				System.err.println("WARNING: All vehicle fields are null in database after saving!");
+			if (!APPOINTMENT_FIELDS.contains(name)) {
+				throw new IllegalArgumentException("Unknown field: " + name);
 			}
-			
-			// Update the saved object with verified data
-			saved = verified;
-		} else {
-			System.err.println("ERROR: Could not verify appointment in database - query returned null!");
+			requested.add(name);
 		}
-		System.out.println("================================================");
-		
-		// For Service type, update slot with appointment ID
-		if ("Service".equals(appointment.getServiceType())) {
-			TimeSlot slot = timeSlotService.getSlotById(appointment.getTimeSlotId()).orElse(null);
-			if (slot != null) {
-				slot.setAppointmentId(saved.getId());
-				mongoTemplate.save(slot);
-			}
+		return requested;
+	}
+
+	/**
+	 * Get one page of appointments, newest first
+	 * Keyset pagination on (createdAt, _id): each page is a bounded index range
+	 * scan, however deep the client pages
+	 */
+	public AppointmentPage<Appointment> getAppointmentsPage(AppointmentFilter filter, String cursor, int limit) {
+		Query query = new Query(filterCriteria(filter, cursor))
+			.with(NEWEST_FIRST)
+			.limit(limit + 1);
+		List<Appointment> appointments = readRouter.read(ops -> ops.find(query, Appointment.class));
+
+		String nextCursor = null;
+		if (appointments.size() > limit) {
+			appointments = appointments.subList(0, limit);
+			Appointment last = appointments.get(limit - 1);
+			nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
 		}
-		
-		System.out.println("============================================");
-		
-		return saved;
+		return new AppointmentPage<>(appointments, nextCursor, limit);
 	}
 
 	/**
-	 * Get appointment by ID
+	 * Stream matching appointments, newest first, straight from a Mongo cursor
+	 * The caller must close the stream
 	 */
-	public Optional<Appointment> getAppointmentById(String id) {
-		// Use _id for MongoDB query (Spring Data MongoDB maps id field to _id)
-		Query query = new Query(Criteria.where("_id").is(id));
-		Appointment appointment = mongoTemplate.findOne(query, Appointment.class);
-		
-		// Fallback to "id" field if not found
-		if (appointment == null) {
-			query = new Query(Criteria.where("id").is(id));
-			appointment = mongoTemplate.findOne(query, Appointment.class);
+	public Stream<Appointment> streamAppointments(AppointmentFilter filter) {
+		Query query = new Query(filterCriteria(filter, null))
+			.with(NEWEST_FIRST)
+			.cursorBatchSize(STREAM_BATCH_SIZE);
+		return readRouter.read(ops -> ops.stream(query, Appointment.class));
+	}
+
+	private Criteria filterCriteria(AppointmentFilter filter, String cursor) {
+		List<Criteria> criteria = new ArrayList<>();
+		if (filter != null) {
+			if (filter.getStatus() != null && !filter.getStatus().isEmpty()) {
+				criteria.add(Criteria.where("status").is(filter.getStatus()));
+			}
+			if (filter.getServiceType() != null && !filter.getServiceType().isEmpty()) {
+				criteria.add(Criteria.where("serviceType").is(filter.getServiceType()));
+			}
+			if (filter.getFrom() != null && filter.getTo() != null) {
+				criteria.add(Criteria.where("date").gte(filter.getFrom()).lte(filter.getTo()));
+			} else if (filter.getFrom() != null) {
+				criteria.add(Criteria.where("date").gte(filter.getFrom()));
+			} else if (filter.getTo() != null) {
+				criteria.add(Criteria.where("date").lte(filter.getTo()));
+			}
 		}
-		
-		return Optional.ofNullable(appointment);
+		if (cursor != null && !cursor.isEmpty()) {
+			criteria.add(afterCursor(cursor));
+		}
+		return criteria.isEmpty() ? new Criteria() : new Criteria().andOperator(criteria);
 	}
 
 	/**
-	 * Get all appointments
+	 * Everything after the cursor position in (createdAt desc, _id desc) order
+	 * Documents without createdAt sort last and are paged by _id alone
 	 */
-	public List<Appointment> getAllAppointments() {
-		List<Appointment> appointments = mongoTemplate.findAll(Appointment.class);
-		System.out.println("DEBUG: Found " + appointments.size() + " appointment(s) in database");
-		for (Appointment apt : appointments) {
-			System.out.println("DEBUG: Appointment ID: " + apt.getId() + ", Customer: " + apt.getCustomerName() + ", Date: " + apt.getDate());
+	private Criteria afterCursor(String cursor) {
+		String decoded;
+		try {
+			decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid cursor");
+		}
+		int separator = decoded.indexOf('|');
+		if (separator < 0) {
+			throw new IllegalArgumentException("Invalid cursor");
+		}
+		String createdAtPart = decoded.substring(0, separator);
+		String id = decoded.substring(separator + 1);
+
+		if (createdAtPart.isEmpty()) {
+			return Criteria.where("createdAt").is(null).and("_id").lt(id);
+		}
+		LocalDateTime createdAt;
+		try {
+			createdAt = LocalDateTime.parse(createdAtPart);
+		} catch (DateTimeParseException e) {
+			throw new IllegalArgumentException("Invalid cursor");
 		}
-		return appointments;
+		return new Criteria().orOperator(
+			Criteria.where("createdAt").lt(createdAt),
+			Criteria.where("createdAt").is(createdAt).and("_id").lt(id),
+			Criteria.where("createdAt").is(null));
+	}
+
+	private static String encodeCursor(LocalDateTime createdAt, String id) {
+		String raw = (createdAt != null ? createdAt.toString() : "") + "|" + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
 	}
 
 	/**
 	 * Get appointments by customer ID
+	 * Includes an appointment the customer just created even when read from a secondary
 	 */
 	public List<Appointment> getAppointmentsByCustomerId(String customerId) {
 		Query query = new Query(Criteria.where("customerId").is(customerId));
-		return mongoTemplate.find(query, Appointment.class);
+		return readRouter.readFor(customerId, ops -> ops.find(query, Appointment.class));
 	}
 
 	/**
 	 * Update appointment status
 	 */
 	public Appointment updateAppointmentStatus(String id, String status) {
-		// Use _id for MongoDB query (Spring Data MongoDB maps id field to _id)
-		Query query = new Query(Criteria.where("_id").is(id));
-		Appointment appointment = mongoTemplate.findOne(query, Appointment.class);
-		
-		// Fallback to "id" field if not found
-		if (appointment == null) {
-			query = new Query(Criteria.where("id").is(id));
-			appointment = mongoTemplate.findOne(query, Appointment.class);
-		}
-		
-		if (appointment == null) {
-			throw new RuntimeException("Appointment not found with ID: " + id);
+		return updateAppointmentStatus(id, status, null);
+	}
+
+	/**
+	 * Update appointment status with one guarded findAndModify
+	 * Only the status fields are written, and only when the current status may move
+	 * to the new one and, if given, the version still matches what the caller read.
+	 * Throws IllegalStateException for a transition that is not allowed and
+	 * OptimisticLockingFailureException when someone else changed the appointment.
+	 * The outbox event for employeeservice is pushed by the same write.
+	 */
+	public Appointment updateAppointmentStatus(String id, String status, Long expectedVersion) {
+		AppointmentStatus target = AppointmentStatus.parse(status);
+		Update update = new Update()
+			.set("status", target.label())
+			.set("updatedAt", LocalDateTime.now())
+			.inc("version", 1)
+			.push("pendingEvents", OutboxEvent.of(OutboxEvent.Type.STATUS_CHANGED));
+		Appointment updated = mongoTemplate.findAndModify(
+			guardedUpdateQuery(id, target, expectedVersion),
+			update,
+			FindAndModifyOptions.options().returnNew(true),
+			Appointment.class);
+		if (updated == null) {
+			throw updateRejected(id, target, expectedVersion);
 		}
-		
-		appointment.setStatus(status);
-		appointment.setUpdatedAt(java.time.LocalDateTime.now());
-		return mongoTemplate.save(appointment);
+		return updated;
 	}
 
 	/**
 	 * Assign employees to appointment
 	 */
 	public Appointment assignEmployees(String appointmentId, List<String> employeeIds, List<String> employeeNames) {
-		// Use _id for MongoDB query (Spring Data MongoDB maps id field to _id)
-		Query query = new Query(Criteria.where("_id").is(appointmentId));
-		Appointment appointment = mongoTemplate.findOne(query, Appointment.class);
-		
-		if (appointment == null) {
-			// Try with "id" field as fallback
-			query = new Query(Criteria.where("id").is(appointmentId));
-			appointment = mongoTemplate.findOne(query, Appointment.class);
+		return assignEmployees(appointmentId, employeeIds, employeeNames, null);
+	}
+
+	/**
+	 * Assign employees and approve the appointment with one guarded findAndModify,
+	 * under the same rules as updateAppointmentStatus
+	 */
+	public Appointment assignEmployees(String appointmentId, List<String> employeeIds, List<String> employeeNames,
+			Long expectedVersion) {
+		Update update = new Update()
+			.set("assignedEmployeeIds", employeeIds)
+			.set("assignedEmployeeNames", employeeNames)
+			.set("status", AppointmentStatus.APPROVED.label())
+			.set("updatedAt", LocalDateTime.now())
+			.inc("version", 1)
+			.push("pendingEvents", OutboxEvent.of(OutboxEvent.Type.EMPLOYEES_ASSIGNED));
+		Appointment updated = mongoTemplate.findAndModify(
+			guardedUpdateQuery(appointmentId, AppointmentStatus.APPROVED, expectedVersion),
+			update,
+			FindAndModifyOptions.options().returnNew(true),
+			Appointment.class);
+		if (updated == null) {
+			throw updateRejected(appointmentId, AppointmentStatus.APPROVED, expectedVersion);
 		}
-		
-		if (appointment == null) {
-			throw new RuntimeException("Appointment not found with ID: " + appointmentId);
+		return updated;
+	}
+
+	private static Query guardedUpdateQuery(String id, AppointmentStatus target, Long expectedVersion) {
+		Query query = byAppointmentId(id);
+		query.addCriteria(Criteria.where("status").in(AppointmentStatus.storedValues(target.allowedFrom())));
+		if (expectedVersion != null) {
+			// Documents written before versioning have no version field; they count as version 0
+			query.addCriteria(expectedVersion == 0
+				? Criteria.where("version").in(0L, null)
+				: Criteria.where("version").is(expectedVersion));
 		}
-		
-		appointment.setAssignedEmployeeIds(employeeIds);
-		appointment.setAssignedEmployeeNames(employeeNames);
-		appointment.setStatus("Approved");
-		
-		// Update the updatedAt timestamp
-		appointment.setUpdatedAt(java.time.LocalDateTime.now());
-		
-		return mongoTemplate.save(appointment);
+		return query;
+	}
+
+	/**
+	 * Work out why a guarded update matched nothing; only runs on the failure path
+	 */
+	private RuntimeException updateRejected(String id, AppointmentStatus target, Long expectedVersion) {
+		Query query = byAppointmentId(id);
+		query.fields().include("status", "version");
+		Appointment current = mongoTemplate.findOne(query, Appointment.class);
+		if (current == null) {
+			return new RuntimeException("Appointment not found with ID: " + id);
+		}
+		long currentVersion = current.getVersion() == null ? 0 : current.getVersion();
+		if (expectedVersion != null && currentVersion != expectedVersion) {
+			return new OptimisticLockingFailureException("Appointment " + id + " was changed by someone else (version "
+				+ currentVersion + ", expected " + expectedVersion + ")");
+		}
+		return new IllegalStateException("Cannot change appointment status from "
+			+ (current.getStatus() == null ? "Pending" : current.getStatus()) + " to " + target.label());
+	}
+
+	/**
+	 * Mark unpaid appointments whose checkout hold was swept as expired
+	 * Only appointments still pending payment approval are touched
+	 */
+	public long expireAbandonedHolds(Collection<String> appointmentIds) {
+		if (appointmentIds.isEmpty()) {
+			return 0;
+		}
+		Query query = new Query(Criteria.where("_id").in(appointmentIds)
+			.and("status").in(AppointmentStatus.storedValues(AppointmentStatus.EXPIRED.allowedFrom())));
+		Update update = new Update()
+			.set("status", AppointmentStatus.EXPIRED.label())
+			.set("updatedAt", LocalDateTime.now())
+			.inc("version", 1);
+		return mongoTemplate.updateMulti(query, update, Appointment.class).getModifiedCount();
 	}
 
 	/**
 	 * Cancel appointment and release time slot if applicable
+	 * An appointment with assigned employees stays behind as Cancelled with an
+	 * outbox event until employeeservice has dropped their tasks, see cancel
 	 */
 	public void cancelAppointment(String appointmentId) {
-		// Use _id for MongoDB query (Spring Data MongoDB maps id field to _id)
-		Query query = new Query(Criteria.where("_id").is(appointmentId));
-		Appointment appointment = mongoTemplate.findOne(query, Appointment.class);
-		
-		// Fallback to "id" field if not found
-		if (appointment == null) {
-			query = new Query(Criteria.where("id").is(appointmentId));
-			appointment = mongoTemplate.findOne(query, Appointment.class);
-		}
+		Appointment appointment = mongoTemplate.findOne(byAppointmentId(appointmentId), Appointment.class);
 		
 		if (appointment != null) {
 			// Release time slot if it's a Service appointment
 			if ("Service".equals(appointment.getServiceType()) && appointment.getTimeSlotId() != null) {
-				timeSlotService.releaseSlot(appointment.getTimeSlotId());
+				timeSlotService.releaseSlot(appointment.getTimeSlotId(), appointment.getId());
 			}
 			
-			mongoTemplate.remove(appointment);
+			cancel(List.of(appointment.getId()));
+		}
+	}
+
+	/**
+	 * Set the same status on many appointments with a single update
+	 * Appointments whose current status does not allow the change are left alone and reported
+	 */
+	public BulkResult bulkUpdateStatus(List<String> appointmentIds, String status) {
+		AppointmentStatus target = AppointmentStatus.parse(status);
+		List<String> ids = distinctIds(appointmentIds);
+		Query query = byAppointmentIds(ids);
+		query.addCriteria(Criteria.where("status").in(AppointmentStatus.storedValues(target.allowedFrom())));
+		Update update = new Update()
+			.set("status", target.label())
+			.set("updatedAt", LocalDateTime.now())
+			.inc("version", 1)
+			.push("pendingEvents", OutboxEvent.of(OutboxEvent.Type.STATUS_CHANGED));
+		UpdateResult result = mongoTemplate.updateMulti(query, update, Appointment.class);
+		return bulkResult(ids, result.getMatchedCount(), result.getModifiedCount(), target);
+	}
+
+	/**
+	 * Assign employees to many appointments in one bulk write, approving each like assignEmployees
+	 */
+	public BulkResult bulkAssignEmployees(List<EmployeeAssignment> assignments) {
+		Map<String, EmployeeAssignment> byId = new LinkedHashMap<>();
+		for (EmployeeAssignment assignment : assignments) {
+			if (assignment.getAppointmentId() == null || assignment.getAppointmentId().isBlank()) {
+				throw new IllegalArgumentException("Every assignment needs an appointmentId");
+			}
+			if (assignment.getEmployeeIds() == null || assignment.getEmployeeIds().isEmpty()
+					|| assignment.getEmployeeNames() == null || assignment.getEmployeeNames().isEmpty()) {
+				throw new IllegalArgumentException("Employee IDs and names are required for appointment " + assignment.getAppointmentId());
+			}
+			byId.put(assignment.getAppointmentId(), assignment); // the last entry for an ID wins
+		}
+
+		LocalDateTime now = LocalDateTime.now();
+		BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Appointment.class);
+		for (EmployeeAssignment assignment : byId.values()) {
+			ops.updateOne(
+				guardedUpdateQuery(assignment.getAppointmentId(), AppointmentStatus.APPROVED, null),
+				new Update()
+					.set("assignedEmployeeIds", assignment.getEmployeeIds())
+					.set("assignedEmployeeNames", assignment.getEmployeeNames())
+					.set("status", AppointmentStatus.APPROVED.label())
+					.set("updatedAt", now)
+					.inc("version", 1)
+					.push("pendingEvents", OutboxEvent.of(OutboxEvent.Type.EMPLOYEES_ASSIGNED)));
+		}
+		BulkWriteResult result = ops.execute();
+
+		List<String> ids = new ArrayList<>(byId.keySet());
+		return bulkResult(ids, result.getMatchedCount(), result.getModifiedCount(), AppointmentStatus.APPROVED);
+	}
+
+	/**
+	 * Cancel many appointments: one read for their slots, one grouped slot release,
+	 * then one update and one delete as in cancelAppointment
+	 */
+	public BulkResult bulkCancel(List<String> appointmentIds) {
+		List<String> ids = distinctIds(appointmentIds);
+		Query query = byAppointmentIds(ids);
+		query.fields().include("legacyId", "serviceType", "timeSlotId");
+		List<Appointment> appointments = mongoTemplate.find(query, Appointment.class);
+		if (appointments.isEmpty()) {
+			return new BulkResult(ids.size(), 0, 0, ids, List.of());
+		}
+
+		Map<String, List<String>> appointmentIdsBySlot = appointments.stream()
+			.filter(appointment -> "Service".equals(appointment.getServiceType()) && appointment.getTimeSlotId() != null)
+			.collect(Collectors.groupingBy(Appointment::getTimeSlotId,
+				Collectors.mapping(Appointment::getId, Collectors.toList())));
+		timeSlotService.releaseSlots(appointmentIdsBySlot);
+
+		List<String> found = appointments.stream().map(Appointment::getId).toList();
+		long cancelled = cancel(found);
+		List<String> notFound = ids.stream().filter(id -> !knownIds(appointments).contains(id)).toList();
+		return new BulkResult(ids.size(), found.size(), cancelled, notFound, List.of());
+	}
+
+	/**
+	 * Appointments nobody was assigned to are deleted. The others become Cancelled
+	 * and get the outbox event in the same update, so employeeservice hears about it;
+	 * OutboxRelay deletes them once their tasks are gone. Returns how many were cancelled.
+	 */
+	private long cancel(List<String> appointmentIds) {
+		Update tombstone = new Update()
+			.set("status", AppointmentStatus.CANCELLED.label())
+			.set("updatedAt", LocalDateTime.now())
+			.inc("version", 1)
+			.push("pendingEvents", OutboxEvent.of(OutboxEvent.Type.CANCELLED));
+		long tombstoned = mongoTemplate.updateMulti(
+			new Query(Criteria.where("_id").in(appointmentIds).and("assignedEmployeeIds.0").exists(true)
+				.and("status").ne(AppointmentStatus.CANCELLED.label())),
+			tombstone, Appointment.class).getModifiedCount();
+		long removed = mongoTemplate.remove(
+			new Query(Criteria.where("_id").in(appointmentIds).and("assignedEmployeeIds.0").exists(false)),
+			Appointment.class).getDeletedCount();
+		return tombstoned + removed;
+	}
+
+	private static List<String> distinctIds(List<String> appointmentIds) {
+		List<String> ids = appointmentIds == null ? List.of() : appointmentIds.stream()
+			.filter(id -> id != null && !id.isBlank())
+			.distinct()
+			.toList();
+		if (ids.isEmpty()) {
+			throw new IllegalArgumentException("appointmentIds must not be empty");
+		}
+		return ids;
+	}
+
+	/**
+	 * Result of a guarded bulk status change; when some appointments were not matched,
+	 * one small read tells the missing ones from those whose status refused the change.
+	 * Every requested ID lands in exactly one of notFound, rejected or (implicitly) applied,
+	 * judged by the same stored status values the update matched on.
+	 */
+	private BulkResult bulkResult(List<String> ids, long matched, long modified, AppointmentStatus target) {
+		if (matched >= ids.size()) {
+			return new BulkResult(ids.size(), matched, modified, List.of(), List.of());
+		}
+		Query query = byAppointmentIds(ids);
+		query.fields().include("_id", "legacyId", "status");
+		Map<String, Appointment> byRequestedId = new HashMap<>();
+		for (Appointment appointment : mongoTemplate.find(query, Appointment.class)) {
+			byRequestedId.put(appointment.getId(), appointment);
+			if (appointment.getLegacyId() != null) {
+				byRequestedId.put(appointment.getLegacyId(), appointment);
+			}
+		}
+		List<String> accepted = AppointmentStatus.storedValues(target.allowedFrom());
+		List<String> notFound = new ArrayList<>();
+		List<String> rejected = new ArrayList<>();
+		for (String id : ids) {
+			Appointment appointment = byRequestedId.get(id);
+			if (appointment == null) {
+				notFound.add(id);
+			} else if (!accepted.contains(appointment.getStatus())) {
+				rejected.add(id);
+			}
+		}
+		return new BulkResult(ids.size(), matched, modified, notFound, rejected);
+	}
+
+	private static Set<String> knownIds(List<Appointment> appointments) {
+		Set<String> ids = new HashSet<>();
+		for (Appointment appointment : appointments) {
+			ids.add(appointment.getId());
+			if (appointment.getLegacyId() != null) {
+				ids.add(appointment.getLegacyId());
+			}
 		}
+		return ids;
 	}
 
 	/**
@@ -298,7 +683,7 @@ public class AppointmentService {
 	 */
 	public List<Appointment> getAppointmentsByDateRange(LocalDate startDate, LocalDate endDate) {
 		Query query = new Query(Criteria.where("date").gte(startDate).lte(endDate));
-		return mongoTemplate.find(query, Appointment.class);
+		return readRouter.read(ops -> ops.find(query, Appointment.class));
 	}
 
 	/**
@@ -327,8 +712,8 @@ public class AppointmentService {
 	 * Release a time slot (for use by other services)
 	 * This can be called when cancelling a booking in another service
 	 */
-	public void releaseTimeSlot(String slotId) {
-		timeSlotService.releaseSlot(slotId);
+	public void releaseTimeSlot(String slotId, String bookingId) {
+		timeSlotService.releaseSlot(slotId, bookingId);
 	}
 }
 
@@ -0,0 +1,221 @@
+package com.revamp.booking.bookingservice.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.temporal.IsoFields;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import com.revamp.booking.bookingservice.config.MongoReadRouter;
+import com.revamp.booking.bookingservice.model.Appointment;
+import com.revamp.booking.bookingservice.model.AppointmentStatus;
+import com.revamp.booking.bookingservice.model.TimeSlot;
+import com.revamp.booking.dto.UtilizationBucket;
+
+/**
+ * Shop utilization figures for the admin dashboards, computed by two
+ * aggregation pipelines (timeslots per day, bookings per day, status and
+ * service type) instead of shipping every appointment to the client.
+ * A day is closed once it is far enough in the past and every appointment on
+ * it is settled: Delivered, Slot Lost, Expired or Cancelled. Its figures are
+ * then kept once computed and a range over closed days is answered without a
+ * query; days with appointments still moving through the lifecycle are
+ * aggregated again on every request. An expired appointment can still come back
+ * to Pending when a late payment arrives; that is rare enough to be left to
+ * evictClosedDays rather than keep every day with an abandoned hold uncached.
+ */
+@Service
+public class BookingAnalyticsService {
+
+	public enum Granularity {
+		DAY, WEEK
+	}
+
+	// Statuses a past day's appointments are not expected to leave, see the class comment
+	private static final Set<AppointmentStatus> SETTLED = EnumSet.of(AppointmentStatus.DELIVERED,
+		AppointmentStatus.SLOT_LOST, AppointmentStatus.EXPIRED, AppointmentStatus.CANCELLED);
+
+	private final MongoReadRouter readRouter;
+	private final int closedAfterDays;
+	private final int cacheMaxDays;
+
+	private final Map<LocalDate, UtilizationBucket> closedDays = new ConcurrentHashMap<>();
+
+	public BookingAnalyticsService(MongoReadRouter readRouter,
+			@Value("${booking.analytics.closed-after-days:7}") int closedAfterDays,
+			@Value("${booking.analytics.cache-max-days:3660}") int cacheMaxDays) {
+		this.readRouter = readRouter;
+		this.closedAfterDays = closedAfterDays;
+		this.cacheMaxDays = cacheMaxDays;
+	}
+
+	/**
+	 * Figures for every day from..to, inclusive; days without slots or appointments are included with zeros
+	 */
+	public List<UtilizationBucket> days(LocalDate from, LocalDate to) {
+		LocalDate closedBefore = LocalDate.now().minusDays(closedAfterDays);
+
+		// Only the span between the first and last day not yet cached is aggregated
+		LocalDate firstMissing = null;
+		LocalDate lastMissing = null;
+		for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+			if (!closedDays.containsKey(date)) {
+				firstMissing = firstMissing == null ? date : firstMissing;
+				lastMissing = date;
+			}
+		}
+		Map<LocalDate, Accumulator> computed = firstMissing == null ? Map.of() : aggregate(firstMissing, lastMissing);
+
+		List<UtilizationBucket> days = new ArrayList<>();
+		for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+			UtilizationBucket day = closedDays.get(date);
+			if (day == null) {
+				Accumulator figures = computed.getOrDefault(date, new Accumulator());
+				day = figures.toBucket(date.toString(), date, date);
+				if (date.isBefore(closedBefore) && figures.openAppointments == 0 && closedDays.size() < cacheMaxDays) {
+					closedDays.put(date, day);
+				}
+			}
+			days.add(day);
+		}
+		return days;
+	}
+
+	/**
+	 * Roll day figures up into ISO weeks (Monday to Sunday), clipped to the days given
+	 */
+	private List<UtilizationBucket> weeks(List<UtilizationBucket> days) {
+		Map<LocalDate, List<UtilizationBucket>> byWeek = new LinkedHashMap<>();
+		for (UtilizationBucket day : days) {
+			byWeek.computeIfAbsent(day.from().with(DayOfWeek.MONDAY), monday -> new ArrayList<>()).add(day);
+		}
+		List<UtilizationBucket> weeks = new ArrayList<>();
+		byWeek.forEach((monday, weekDays) -> weeks.add(total(weekDays, String.format("%d-W%02d",
+			monday.get(IsoFields.WEEK_BASED_YEAR), monday.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR)))));
+		return weeks;
+	}
+
+	public List<UtilizationBucket> buckets(List<UtilizationBucket> days, Granularity granularity) {
+		return granularity == Granularity.WEEK ? weeks(days) : days;
+	}
+
+	/**
+	 * Sum of the given consecutive buckets
+	 */
+	public UtilizationBucket total(List<UtilizationBucket> buckets, String period) {
+		Accumulator total = new Accumulator();
+		buckets.forEach(total::add);
+		return total.toBucket(period, buckets.isEmpty() ? null : buckets.get(0).from(),
+			buckets.isEmpty() ? null : buckets.get(buckets.size() - 1).to());
+	}
+
+	/**
+	 * Forget the cached figures of closed days, e.g. after correcting old appointments
+	 */
+	public void evictClosedDays() {
+		closedDays.clear();
+	}
+
+	private Map<LocalDate, Accumulator> aggregate(LocalDate from, LocalDate to) {
+		TypedAggregation<TimeSlot> slotsPerDay = Aggregation.newAggregation(TimeSlot.class,
+			Aggregation.match(Criteria.where("date").gte(from).lte(to)),
+			Aggregation.group("date")
+				.count().as("slots")
+				.sum("capacity").as("capacity")
+				.sum("bookedCount").as("bookedBays"));
+		TypedAggregation<Appointment> appointmentsPerDay = Aggregation.newAggregation(Appointment.class,
+			Aggregation.match(Criteria.where("date").gte(from).lte(to)),
+			Aggregation.group("date", "status", "serviceType")
+				.count().as("count")
+				.sum("estimatedCost").as("revenue"));
+
+		Map<LocalDate, Accumulator> days = new TreeMap<>();
+		for (Document row : readRouter.read(ops -> ops.aggregate(slotsPerDay, Document.class)).getMappedResults()) {
+			if (!(row.get("_id") instanceof Date date)) {
+				continue;
+			}
+			Accumulator day = days.computeIfAbsent(toLocalDate(date), d -> new Accumulator());
+			day.slots += number(row.get("slots"));
+			day.capacity += number(row.get("capacity"));
+			day.bookedBays += number(row.get("bookedBays"));
+		}
+		for (Document row : readRouter.read(ops -> ops.aggregate(appointmentsPerDay, Document.class)).getMappedResults()) {
+			Document id = row.get("_id", Document.class);
+			if (!(id.get("date") instanceof Date date)) {
+				continue; // appointments without a date have no day to count against
+			}
+			Accumulator day = days.computeIfAbsent(toLocalDate(date), d -> new Accumulator());
+			long count = number(row.get("count"));
+			AppointmentStatus status = AppointmentStatus.of(id.getString("status"));
+			String serviceType = id.getString("serviceType");
+
+			day.appointments += count;
+			if (!SETTLED.contains(status)) {
+				day.openAppointments += count;
+			}
+			day.statusCounts.merge(status != null ? status.label() : id.getString("status"), count, Long::sum);
+			day.serviceTypes.merge(serviceType != null ? serviceType : "Unknown", count, Long::sum);
+			if (status != AppointmentStatus.EXPIRED && status != AppointmentStatus.SLOT_LOST
+					&& row.get("revenue") instanceof Number revenue) {
+				day.revenue += revenue.doubleValue();
+			}
+		}
+		return days;
+	}
+
+	/**
+	 * LocalDate fields are stored as midnight in the JVM's zone, see Spring's Jsr310Converters
+	 */
+	private static LocalDate toLocalDate(Date value) {
+		return value.toInstant().atZone(ZoneId.systemDefault()).toLocalDate();
+	}
+
+	private static long number(Object value) {
+		return value instanceof Number number ? number.longValue() : 0;
+	}
+
+	private static final class Accumulator {
+		private long slots;
+		private long capacity;
+		private long bookedBays;
+		private long appointments;
+		private long openAppointments;
+		private double revenue;
+		private final Map<String, Long> statusCounts = new TreeMap<>();
+		private final Map<String, Long> serviceTypes = new TreeMap<>();
+
+		void add(UtilizationBucket bucket) {
+			slots += bucket.slots();
+			capacity += bucket.capacity();
+			bookedBays += bucket.bookedBays();
+			appointments += bucket.appointments();
+			revenue += bucket.estimatedRevenue();
+			bucket.statusCounts().forEach((status, count) -> statusCounts.merge(status, count, Long::sum));
+			bucket.serviceTypes().forEach((type, count) -> serviceTypes.merge(type, count, Long::sum));
+		}
+
+		UtilizationBucket toBucket(String period, LocalDate from, LocalDate to) {
+			double utilization = capacity == 0 ? 0.0 : Math.round(10_000.0 * bookedBays / capacity) / 10_000.0;
+			return new UtilizationBucket(period, from, to, slots, capacity, bookedBays, utilization, appointments,
+				Collections.unmodifiableMap(new TreeMap<>(statusCounts)),
+				Collections.unmodifiableMap(new TreeMap<>(serviceTypes)),
+				Math.round(revenue * 100) / 100.0);
+		}
+	}
+}
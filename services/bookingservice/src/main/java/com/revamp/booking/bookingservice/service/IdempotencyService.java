@@ -0,0 +1,219 @@
+package com.revamp.booking.bookingservice.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revamp.booking.bookingservice.model.IdempotencyRecord;
+import com.revamp.booking.bookingservice.model.IdempotencyRecord.State;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Idempotency-Key support for create endpoints. The first request with a key
+ * claims it by inserting an IN_FLIGHT record under (endpoint, customer, key);
+ * a successful response is stored when it finishes and replayed to every
+ * retry until the TTL index removes the record. A retry that arrives while the first
+ * request is still running gets 409 instead of starting a second create. Each claim
+ * writes its own lease token, and only the request holding it may complete or
+ * release the record, so a request whose lease was taken over cannot overwrite
+ * the outcome of the one that took it.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+	public static final String HEADER = "Idempotency-Key";
+
+	public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+	private static final int MAX_KEY_LENGTH = 255;
+
+	private final MongoTemplate mongoTemplate;
+	private final ObjectMapper objectMapper;
+	private final Duration ttl;
+	private final Duration lease;
+
+	public IdempotencyService(MongoTemplate mongoTemplate, ObjectMapper objectMapper,
+			@Value("${booking.idempotency.ttl-hours:24}") long ttlHours,
+			@Value("${booking.idempotency.lease-seconds:60}") long leaseSeconds) {
+		this.mongoTemplate = mongoTemplate;
+		this.objectMapper = objectMapper;
+		this.ttl = Duration.ofHours(ttlHours);
+		this.lease = Duration.ofSeconds(leaseSeconds);
+	}
+
+	/**
+	 * Run a create action at most once per key
+	 * Without a key the action simply runs. Only successful responses are stored
+	 * and replayed; an error response or an exception created nothing, so it
+	 * frees the key and a retry runs the action again.
+	 */
+	public ResponseEntity<?> execute(String endpoint, String customerId, String key, Object request,
+			Supplier<ResponseEntity<?>> action) {
+		if (key == null || key.isBlank()) {
+			return action.get();
+		}
+		if (key.length() > MAX_KEY_LENGTH) {
+			return error(400, "Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters", "InvalidIdempotencyKey");
+		}
+
+		String id = endpoint + ":" + customerId + ":" + key;
+		String fingerprint = fingerprint(request);
+		String leaseToken = UUID.randomUUID().toString();
+		ResponseEntity<?> existing = claim(id, fingerprint, leaseToken);
+		if (existing != null) {
+			return existing;
+		}
+
+		ResponseEntity<?> response;
+		try {
+			response = action.get();
+		} catch (RuntimeException e) {
+			release(id, leaseToken);
+			throw e;
+		}
+		if (response.getStatusCode().is2xxSuccessful()) {
+			complete(id, leaseToken, response);
+		} else {
+			release(id, leaseToken);
+		}
+		return response;
+	}
+
+	/**
+	 * Claim the key; returns null when this request may run, otherwise the response for the client
+	 */
+	private ResponseEntity<?> claim(String id, String fingerprint, String leaseToken) {
+		for (int attempt = 0; attempt < 2; attempt++) {
+			Instant now = Instant.now();
+			try {
+				mongoTemplate.insert(new IdempotencyRecord(id, State.IN_FLIGHT, fingerprint, leaseToken, 0, null,
+					now, now.plus(lease), now.plus(ttl)));
+				return null;
+			} catch (DuplicateKeyException e) {
+				// Key already used, look at what the earlier request left behind
+			}
+
+			IdempotencyRecord record = mongoTemplate.findById(id, IdempotencyRecord.class);
+			if (record == null) {
+				continue; // expired between the insert and the read
+			}
+			if (!fingerprint.equals(record.getFingerprint())) {
+				return error(422, "Idempotency-Key was already used with a different request", "IdempotencyKeyReused");
+			}
+			if (record.getState() == State.COMPLETED) {
+				return replay(record);
+			}
+			if (record.getLeaseUntil() != null && record.getLeaseUntil().isBefore(now) && takeOver(record, leaseToken, now)) {
+				log.warn("Taking over abandoned in-flight request {}", id);
+				return null;
+			}
+			return inFlight();
+		}
+		return inFlight();
+	}
+
+	/**
+	 * Take over an IN_FLIGHT record whose owner died, guarded on its lease so only one retry wins
+	 */
+	private boolean takeOver(IdempotencyRecord record, String leaseToken, Instant now) {
+		Query query = new Query(Criteria.where("id").is(record.getId())
+			.and("state").is(State.IN_FLIGHT)
+			.and("leaseUntil").is(record.getLeaseUntil()));
+		Update update = new Update()
+			.set("leaseToken", leaseToken)
+			.set("createdAt", now)
+			.set("leaseUntil", now.plus(lease))
+			.set("expiresAt", now.plus(ttl));
+		return mongoTemplate.updateFirst(query, update, IdempotencyRecord.class).getModifiedCount() > 0;
+	}
+
+	private void complete(String id, String leaseToken, ResponseEntity<?> response) {
+		String body;
+		try {
+			body = response.getBody() == null ? null : objectMapper.writeValueAsString(response.getBody());
+		} catch (JsonProcessingException e) {
+			log.error("Could not store response for {}: {}", id, e.getMessage());
+			release(id, leaseToken);
+			return;
+		}
+		Update update = new Update()
+			.set("state", State.COMPLETED)
+			.set("statusCode", response.getStatusCode().value())
+			.set("responseBody", body)
+			.unset("leaseUntil");
+		if (mongoTemplate.updateFirst(heldBy(id, leaseToken), update, IdempotencyRecord.class).getModifiedCount() == 0) {
+			log.warn("Response for {} not stored: the key was taken over after its lease ran out", id);
+		}
+	}
+
+	private void release(String id, String leaseToken) {
+		mongoTemplate.remove(heldBy(id, leaseToken), IdempotencyRecord.class);
+	}
+
+	/**
+	 * The record while it is still IN_FLIGHT under this request's claim
+	 */
+	private static Query heldBy(String id, String leaseToken) {
+		return new Query(Criteria.where("id").is(id)
+			.and("state").is(State.IN_FLIGHT)
+			.and("leaseToken").is(leaseToken));
+	}
+
+	private static ResponseEntity<?> replay(IdempotencyRecord record) {
+		ResponseEntity.BodyBuilder builder = ResponseEntity.status(record.getStatusCode())
+			.header(REPLAYED_HEADER, "true");
+		if (record.getResponseBody() == null) {
+			return builder.build();
+		}
+		return builder.contentType(MediaType.APPLICATION_JSON).body(record.getResponseBody());
+	}
+
+	private static ResponseEntity<?> inFlight() {
+		return ResponseEntity.status(409)
+			.header("Retry-After", "1")
+			.body(errorBody("A request with this Idempotency-Key is still being processed", "RequestInProgress"));
+	}
+
+	private String fingerprint(Object request) {
+		try {
+			byte[] json = request == null
+				? new byte[0]
+				: objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+			return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+		} catch (JsonProcessingException | NoSuchAlgorithmException e) {
+			throw new IllegalStateException("Could not fingerprint request: " + e.getMessage(), e);
+		}
+	}
+
+	private static ResponseEntity<?> error(int status, String message, String error) {
+		return ResponseEntity.status(status).body(errorBody(message, error));
+	}
+
+	private static Map<String, Object> errorBody(String message, String error) {
+		Map<String, Object> body = new HashMap<>();
+		body.put("message", message);
+		body.put("error", error);
+		return body;
+	}
+}
@@ -0,0 +1,389 @@
+package com.revamp.booking.bookingservice.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateManyModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import com.mongodb.client.model.WriteModel;
+import com.revamp.booking.bookingservice.model.MigrationCheckpoint;
+import com.revamp.booking.bookingservice.model.MigrationCheckpoint.Status;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Rewrites legacy documents in the bookings collection to canonical ObjectId _ids,
+ * so AppointmentService can resolve every appointment ID with one indexed query:
+ *
+ *   _id stored as a 24-hex string   replaced by the same value as an ObjectId
+ *   _id stored as any other string  replaced by a new ObjectId, the old value kept
+ *                                   in legacyId and slot references rewritten
+ *   stray "id" field                moved to legacyId
+ *
+ * Works in batches through the raw driver (so string _ids are never coerced to
+ * ObjectIds by the query mapper), copies with an upsert before deleting the
+ * original so every step can be repeated, and checkpoints progress in the
+ * migrations collection after each batch. The original is only deleted while it
+ * is still exactly as read; one that an update reached through its old ID in the
+ * meantime stays pending and is copied again by a later batch. One replica runs
+ * it at a time; a run whose heartbeat stops is resumed by the next replica that
+ * notices, and a stop request is seen by whichever replica runs it.
+ */
+@Service
+@Slf4j
+public class LegacyIdMigration {
+
+	public static final String NAME = "legacy-booking-ids";
+
+	private static final String BOOKINGS = "bookings";
+
+	private static final String TIMESLOTS = "timeslots";
+
+	// Marker document in the checkpoint's collection; its presence asks the run to stop
+	private static final String STOP_MARKER = NAME + ".stop";
+
+	private static final int MAX_FAILED_IDS = 1000;
+
+	private final MongoTemplate mongoTemplate;
+	private final int batchSize;
+	private final long pauseMillis;
+	private final Duration staleAfter;
+
+	private volatile Thread worker;
+	private volatile boolean stopRequested;
+
+	public LegacyIdMigration(MongoTemplate mongoTemplate,
+			@Value("${booking.migrations.legacy-ids.batch-size:500}") int batchSize,
+			@Value("${booking.migrations.legacy-ids.pause-millis:50}") long pauseMillis,
+			@Value("${booking.migrations.legacy-ids.stale-seconds:120}") long staleSeconds) {
+		this.mongoTemplate = mongoTemplate;
+		this.batchSize = batchSize;
+		this.pauseMillis = pauseMillis;
+		this.staleAfter = Duration.ofSeconds(staleSeconds);
+	}
+
+	/**
+	 * Start or resume the migration in the background; returns the checkpoint it runs from
+	 * Throws IllegalStateException when another replica is running it
+	 */
+	public synchronized MigrationCheckpoint start() {
+		if (worker != null && worker.isAlive()) {
+			return progress();
+		}
+		MigrationCheckpoint checkpoint = claim();
+		stopRequested = false;
+		worker = new Thread(() -> run(checkpoint), "migration-" + NAME);
+		worker.setDaemon(true);
+		worker.start();
+		return checkpoint;
+	}
+
+	/**
+	 * Ask a running migration to stop after the current batch, on whichever replica
+	 * runs it; it can be started again later
+	 */
+	public void stop() {
+		stopRequested = true;
+		migrations().replaceOne(Filters.eq("_id", STOP_MARKER),
+			new Document("_id", STOP_MARKER).append("requestedAt", Date.from(Instant.now())),
+			new ReplaceOptions().upsert(true));
+	}
+
+	public MigrationCheckpoint progress() {
+		MigrationCheckpoint checkpoint = mongoTemplate.findById(NAME, MigrationCheckpoint.class);
+		if (checkpoint == null) {
+			checkpoint = new MigrationCheckpoint();
+			checkpoint.setId(NAME);
+		}
+		return checkpoint;
+	}
+
+	public boolean isRunningHere() {
+		return worker != null && worker.isAlive();
+	}
+
+	/**
+	 * Resume a run whose replica died mid-way
+	 */
+	@Scheduled(fixedDelayString = "${booking.migrations.legacy-ids.resume-check-millis:60000}")
+	public void resumeIfAbandoned() {
+		MigrationCheckpoint checkpoint = mongoTemplate.findById(NAME, MigrationCheckpoint.class);
+		if (checkpoint == null || checkpoint.getStatus() != Status.RUNNING || isRunningHere()
+				|| checkpoint.getUpdatedAt() == null || checkpoint.getUpdatedAt().isAfter(Instant.now().minus(staleAfter))) {
+			return;
+		}
+		try {
+			start();
+			log.info("Resumed abandoned migration {} after {} processed", NAME, checkpoint.getProcessed());
+		} catch (IllegalStateException e) {
+			// Another replica got there first
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		stopRequested = true;
+	}
+
+	/**
+	 * Take the checkpoint for this replica: allowed when nobody runs it or its heartbeat went stale.
+	 * A finished run starts over with fresh counters, an interrupted one keeps them.
+	 */
+	private MigrationCheckpoint claim() {
+		Instant now = Instant.now();
+		Query claimable = new Query(Criteria.where("id").is(NAME).orOperator(
+			Criteria.where("status").ne(Status.RUNNING),
+			Criteria.where("updatedAt").lt(now.minus(staleAfter))));
+		MigrationCheckpoint previous;
+		try {
+			previous = mongoTemplate.findAndModify(claimable,
+				new Update().set("status", Status.RUNNING).set("updatedAt", now),
+				FindAndModifyOptions.options().upsert(true).returnNew(false),
+				MigrationCheckpoint.class);
+		} catch (DuplicateKeyException e) {
+			throw new IllegalStateException("Migration " + NAME + " is already running on another instance");
+		}
+		migrations().deleteOne(Filters.eq("_id", STOP_MARKER));
+
+		MigrationCheckpoint checkpoint = mongoTemplate.findById(NAME, MigrationCheckpoint.class);
+		boolean resuming = previous != null && (previous.getStatus() == Status.RUNNING || previous.getStatus() == Status.FAILED
+			|| (previous.getStatus() == Status.IDLE && previous.getStartedAt() != null));
+		if (!resuming) {
+			checkpoint = new MigrationCheckpoint();
+			checkpoint.setId(NAME);
+			checkpoint.setStatus(Status.RUNNING);
+		}
+		if (checkpoint.getStartedAt() == null || !resuming) {
+			checkpoint.setStartedAt(now);
+		}
+		checkpoint.setCompletedAt(null);
+		checkpoint.setLastError(null);
+		checkpoint.setUpdatedAt(now);
+		checkpoint.setPendingAtStart(checkpoint.getProcessed() + bookings().countDocuments(pendingFilter(checkpoint)));
+		return mongoTemplate.save(checkpoint);
+	}
+
+	private void run(MigrationCheckpoint checkpoint) {
+		log.info("Migration {} started: {} document(s) pending, batch size {}", NAME,
+			checkpoint.getPendingAtStart() - checkpoint.getProcessed(), batchSize);
+		try {
+			while (!stopRequested && migrations().countDocuments(Filters.eq("_id", STOP_MARKER)) == 0) {
+				List<Document> batch = bookings().find(pendingFilter(checkpoint))
+					.sort(new Document("_id", 1))
+					.limit(batchSize)
+					.into(new ArrayList<>());
+				if (batch.isEmpty()) {
+					checkpoint.setStatus(Status.COMPLETED);
+					checkpoint.setCompletedAt(Instant.now());
+					break;
+				}
+				migrateBatch(batch, checkpoint);
+				checkpoint.setBatches(checkpoint.getBatches() + 1);
+				checkpoint.setUpdatedAt(Instant.now());
+				mongoTemplate.save(checkpoint);
+				if (pauseMillis > 0) {
+					Thread.sleep(pauseMillis);
+				}
+			}
+			if (checkpoint.getStatus() != Status.COMPLETED) {
+				checkpoint.setStatus(Status.IDLE);
+			}
+			log.info("Migration {} {}: {} processed ({} converted, {} reassigned, {} relabeled, {} failed)", NAME,
+				checkpoint.getStatus() == Status.COMPLETED ? "completed" : "stopped", checkpoint.getProcessed(),
+				checkpoint.getConverted(), checkpoint.getReassigned(), checkpoint.getRelabeled(), checkpoint.getFailedIds().size());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			checkpoint.setStatus(Status.IDLE);
+		} catch (RuntimeException e) {
+			log.error("Migration {} failed: {}", NAME, e.getMessage(), e);
+			checkpoint.setStatus(Status.FAILED);
+			checkpoint.setLastError(e.getMessage());
+		}
+		checkpoint.setUpdatedAt(Instant.now());
+		mongoTemplate.save(checkpoint);
+	}
+
+	void migrateBatch(List<Document> batch, MigrationCheckpoint checkpoint) {
+		List<WriteModel<Document>> copies = new ArrayList<>();
+		List<Object> copiedFrom = new ArrayList<>(); // original _id for each entry of copies
+		Map<Object, Document> originals = new LinkedHashMap<>(); // as read, by original _id
+		List<WriteModel<Document>> slotReferences = new ArrayList<>();
+		Map<Object, Object> reassigned = new LinkedHashMap<>();
+
+		for (Document doc : batch) {
+			Object oldId = doc.get("_id");
+			originals.put(oldId, doc);
+			Object strayId = doc.get("id");
+			if (oldId instanceof String legacy) {
+				Document copy = new Document(doc);
+				copy.remove("id");
+				ObjectId newId;
+				if (ObjectId.isValid(legacy)) {
+					newId = new ObjectId(legacy);
+				} else {
+					// A repeated batch finds the copy made before the original was deleted
+					Document existing = bookings().find(Filters.eq("legacyId", legacy))
+						.projection(new Document("_id", 1)).first();
+					newId = existing != null ? existing.getObjectId("_id") : new ObjectId();
+					copy.put("legacyId", legacy);
+					reassigned.put(oldId, newId);
+					slotReferences.add(new UpdateManyModel<>(Filters.eq("appointmentIds", legacy),
+						Updates.set("appointmentIds.$", newId.toHexString())));
+					slotReferences.add(new UpdateManyModel<>(Filters.eq("holds.holderId", legacy),
+						Updates.set("holds.$.holderId", newId.toHexString())));
+				}
+				if (strayId instanceof String stray && !stray.equals(legacy) && !copy.containsKey("legacyId")) {
+					copy.put("legacyId", stray);
+				}
+				copy.put("_id", newId);
+				copies.add(new ReplaceOneModel<>(Filters.eq("_id", newId), copy, new ReplaceOptions().upsert(true)));
+				copiedFrom.add(oldId);
+			} else if (strayId != null) {
+				Bson update = String.valueOf(strayId).equals(String.valueOf(oldId)) || doc.containsKey("legacyId")
+					? Updates.unset("id")
+					: Updates.combine(Updates.set("legacyId", String.valueOf(strayId)), Updates.unset("id"));
+				copies.add(new UpdateOneModel<>(Filters.eq("_id", oldId), update));
+				copiedFrom.add(oldId);
+			}
+		}
+
+		Set<Object> failed = new HashSet<>(write(bookings(), copies, copiedFrom, checkpoint));
+		if (!slotReferences.isEmpty()) {
+			write(mongoTemplate.getCollection(TIMESLOTS), slotReferences, null, checkpoint);
+		}
+
+		// The whole document as read is the filter, so an original that changed after it was read is kept
+		List<WriteModel<Document>> deletes = new ArrayList<>();
+		List<Object> deletedIds = new ArrayList<>();
+		for (int i = 0; i < copies.size(); i++) {
+			Object oldId = copiedFrom.get(i);
+			if (copies.get(i) instanceof ReplaceOneModel && !failed.contains(oldId)) {
+				deletes.add(new DeleteOneModel<>(new Document(originals.get(oldId))));
+				deletedIds.add(oldId);
+			}
+		}
+		failed.addAll(write(bookings(), deletes, deletedIds, checkpoint));
+		Set<Object> changed = stillPresent(deletedIds, failed);
+		if (!changed.isEmpty()) {
+			log.info("Migration {}: {} document(s) changed while being copied, will copy again", NAME, changed.size());
+		}
+
+		for (int i = 0; i < copies.size(); i++) {
+			Object oldId = copiedFrom.get(i);
+			if (failed.contains(oldId) || changed.contains(oldId)) {
+				continue;
+			}
+			if (copies.get(i) instanceof UpdateOneModel) {
+				checkpoint.setRelabeled(checkpoint.getRelabeled() + 1);
+			} else if (reassigned.containsKey(oldId)) {
+				checkpoint.setReassigned(checkpoint.getReassigned() + 1);
+			} else {
+				checkpoint.setConverted(checkpoint.getConverted() + 1);
+			}
+		}
+		checkpoint.setProcessed(checkpoint.getProcessed() + batch.size() - changed.size());
+	}
+
+	/**
+	 * Originals whose conditional delete matched nothing, i.e. that were updated after being read
+	 */
+	private Set<Object> stillPresent(List<Object> deletedIds, Set<Object> failed) {
+		List<Object> expected = deletedIds.stream().filter(id -> !failed.contains(id)).toList();
+		if (expected.isEmpty()) {
+			return Set.of();
+		}
+		Set<Object> present = new HashSet<>();
+		for (Document doc : bookings().find(Filters.in("_id", expected)).projection(new Document("_id", 1))
+				.into(new ArrayList<>())) {
+			present.add(doc.get("_id"));
+		}
+		return present;
+	}
+
+	/**
+	 * Unordered bulk write; returns the ids (from ids, by position) of the writes that failed
+	 */
+	private List<Object> write(MongoCollection<Document> collection, List<WriteModel<Document>> writes, List<Object> ids,
+			MigrationCheckpoint checkpoint) {
+		if (writes.isEmpty()) {
+			return List.of();
+		}
+		try {
+			collection.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+			return List.of();
+		} catch (MongoBulkWriteException e) {
+			List<Object> failed = new ArrayList<>();
+			for (BulkWriteError error : e.getWriteErrors()) {
+				checkpoint.setLastError(error.getMessage());
+				if (ids != null) {
+					Object id = ids.get(error.getIndex());
+					failed.add(id);
+					if (checkpoint.getFailedIds().size() < MAX_FAILED_IDS) {
+						checkpoint.getFailedIds().add(String.valueOf(id));
+					}
+				}
+				log.warn("Migration {}: write {} on {} failed: {}", NAME, error.getIndex(),
+					collection.getNamespace().getCollectionName(), error.getMessage());
+			}
+			return failed;
+		}
+	}
+
+	/**
+	 * Documents still to migrate, minus the ones that already failed
+	 */
+	private static Document pendingFilter(MigrationCheckpoint checkpoint) {
+		Document filter = new Document("$or", List.of(
+			new Document("_id", new Document("$type", "string")),
+			new Document("id", new Document("$exists", true))));
+		if (!checkpoint.getFailedIds().isEmpty()) {
+			List<Object> skip = new ArrayList<>();
+			for (String id : checkpoint.getFailedIds()) {
+				skip.add(id);
+				if (ObjectId.isValid(id)) {
+					skip.add(new ObjectId(id));
+				}
+			}
+			filter.append("_id", new Document("$nin", skip));
+		}
+		return filter;
+	}
+
+	private MongoCollection<Document> bookings() {
+		return mongoTemplate.getCollection(BOOKINGS);
+	}
+
+	private MongoCollection<Document> migrations() {
+		return mongoTemplate.getCollection(mongoTemplate.getCollectionName(MigrationCheckpoint.class));
+	}
+}
@@ -0,0 +1,209 @@
+package com.revamp.booking.bookingservice.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+import com.revamp.booking.bookingservice.model.Appointment;
+import com.revamp.booking.bookingservice.model.OutboxEvent;
+import com.revamp.booking.dto.TaskSyncEvent;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Delivers the outbox events stored on appointments to employeeservice, which keeps
+ * its tasks in step with assignments and status changes. Each run reads the oldest
+ * appointments with pending events, posts one snapshot per appointment in a single
+ * batch, and pulls the delivered events off the appointments that were applied.
+ * A cancelled appointment is sent without employees, so its tasks are removed,
+ * and is deleted instead once delivered. Delivery is at least once: a crash
+ * between the post and the pull resends the batch, which the receiver ignores
+ * by version.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+	static final String INGEST_PATH = "/api/tasks/ingest";
+
+	private final MongoTemplate mongoTemplate;
+	private final RestClient restClient;
+	private final int batchSize;
+
+	public OutboxRelay(MongoTemplate mongoTemplate,
+			@Value("${booking.outbox.employee-service-url:http://localhost:8083}") String employeeServiceUrl,
+			@Value("${booking.outbox.batch-size:100}") int batchSize) {
+		this.mongoTemplate = mongoTemplate;
+		this.restClient = RestClient.builder().baseUrl(employeeServiceUrl).build();
+		this.batchSize = batchSize;
+	}
+
+	/**
+	 * Employeeservice's answer: appointments whose snapshot was applied or was already
+	 * superseded, and those that failed and should be sent again
+	 */
+	record IngestResult(List<String> applied, List<String> failed) {
+	}
+
+	@Scheduled(fixedDelayString = "${booking.outbox.relay-millis:2000}")
+	public void relay() {
+		try {
+			while (relayBatch()) {
+				// keep going while full batches are delivered cleanly
+			}
+		} catch (RestClientException e) {
+			log.warn("Outbox delivery to employeeservice failed, will retry: {}", e.getMessage());
+		} catch (RuntimeException e) {
+			log.error("Outbox relay failed: {}", e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Deliver one batch; returns true when there may be more to deliver right away
+	 */
+	boolean relayBatch() {
+		Query query = new Query(Criteria.where("pendingEvents.occurredAt").lte(Instant.now()))
+			.with(Sort.by("pendingEvents.occurredAt"))
+			.limit(batchSize);
+		List<Appointment> appointments = mongoTemplate.find(query, Appointment.class);
+		if (appointments.isEmpty()) {
+			return false;
+		}
+
+		Map<String, List<String>> delivered = new LinkedHashMap<>();
+		Map<String, List<String>> pending = new LinkedHashMap<>();
+		List<String> cancelled = new ArrayList<>();
+		List<TaskSyncEvent> events = new ArrayList<>();
+		for (Appointment appointment : appointments) {
+			List<String> eventIds = appointment.getPendingEvents().stream().map(OutboxEvent::getEventId).toList();
+			if (isCancelled(appointment)) {
+				cancelled.add(appointment.getId());
+			}
+			if (appointment.getAssignedEmployeeIds() == null || appointment.getAssignedEmployeeIds().isEmpty()) {
+				// Nobody was ever assigned, so employeeservice has no tasks for it
+				delivered.put(appointment.getId(), eventIds);
+				continue;
+			}
+			pending.put(appointment.getId(), eventIds);
+			events.add(toSyncEvent(appointment, eventIds));
+		}
+
+		int failed = 0;
+		if (!events.isEmpty()) {
+			IngestResult result = restClient.post()
+				.uri(INGEST_PATH)
+				.contentType(MediaType.APPLICATION_JSON)
+				.body(events)
+				.retrieve()
+				.body(IngestResult.class);
+			if (result != null && result.applied() != null) {
+				for (String appointmentId : result.applied()) {
+					List<String> eventIds = pending.remove(appointmentId);
+					if (eventIds != null) {
+						delivered.put(appointmentId, eventIds);
+					}
+				}
+			}
+			failed = pending.size();
+			if (failed > 0) {
+				log.warn("Employeeservice did not apply {} of {} task update(s): {}", failed, events.size(), pending.keySet());
+			}
+		}
+
+		acknowledge(delivered, cancelled);
+		log.debug("Outbox relay delivered {} appointment(s), {} left for retry", delivered.size(), failed);
+		return appointments.size() == batchSize && failed == 0;
+	}
+
+	/**
+	 * Pull the delivered events; events pushed since the batch was read stay pending.
+	 * Delivered cancellations are deleted, nothing moves an appointment out of Cancelled
+	 */
+	private void acknowledge(Map<String, List<String>> delivered, List<String> cancelled) {
+		if (delivered.isEmpty()) {
+			return;
+		}
+		BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Appointment.class);
+		delivered.forEach((appointmentId, eventIds) -> {
+			Query query = new Query(Criteria.where("_id").is(appointmentId));
+			if (cancelled.contains(appointmentId)) {
+				ops.remove(query);
+			} else {
+				ops.updateOne(query,
+					new Update().pull("pendingEvents", new Document("eventId", new Document("$in", eventIds))));
+			}
+		});
+		ops.execute();
+	}
+
+	private static boolean isCancelled(Appointment appointment) {
+		return appointment.getPendingEvents().stream().anyMatch(event -> event.getType() == OutboxEvent.Type.CANCELLED);
+	}
+
+	private static TaskSyncEvent toSyncEvent(Appointment appointment, List<String> eventIds) {
+		Instant occurredAt = appointment.getPendingEvents().stream()
+			.map(OutboxEvent::getOccurredAt)
+			.max(Instant::compareTo)
+			.orElse(null);
+		boolean cancelled = isCancelled(appointment);
+		return new TaskSyncEvent(
+			appointment.getId(),
+			appointment.getVersion() == null ? 0 : appointment.getVersion(),
+			eventIds,
+			appointment.getStatus(),
+			cancelled ? List.of() : appointment.getAssignedEmployeeIds(),
+			cancelled ? List.of() : appointment.getAssignedEmployeeNames(),
+			appointment.getCustomerId(),
+			appointment.getCustomerName(),
+			vehicleInfo(appointment),
+			appointment.getServiceType(),
+			description(appointment),
+			appointment.getInstructions(),
+			appointment.getDate(),
+			appointment.getEstimatedTimeHours(),
+			occurredAt);
+	}
+
+	private static String vehicleInfo(Appointment appointment) {
+		Appointment.VehicleDetails details = appointment.getVehicleDetails();
+		if (details == null) {
+			return appointment.getVehicle();
+		}
+		StringBuilder info = new StringBuilder();
+		if (details.getYear() != null) {
+			info.append(details.getYear()).append(' ');
+		}
+		info.append(details.getMake() == null ? "" : details.getMake()).append(' ')
+			.append(details.getModel() == null ? "" : details.getModel());
+		if (details.getRegistrationNumber() != null) {
+			info.append(" (").append(details.getRegistrationNumber()).append(')');
+		}
+		return info.toString().trim();
+	}
+
+	private static String description(Appointment appointment) {
+		List<String> modifications = appointment.getModifications() != null
+			? appointment.getModifications()
+			: appointment.getNeededModifications();
+		if (modifications == null || modifications.isEmpty()) {
+			return appointment.getServiceType();
+		}
+		return appointment.getServiceType() + ": " + String.join(", ", modifications);
+	}
+}
@@ -0,0 +1,116 @@
+package com.revamp.booking.bookingservice.service;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import com.revamp.booking.bookingservice.config.MongoReadRouter;
+import com.revamp.booking.bookingservice.model.TimeSlot;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking counterpart of the TimeSlotService availability reads.
+ * Answers from the resident slot index and holiday calendar where it can
+ * and otherwise reads through ReactiveMongoTemplate, so no call here ever
+ * parks an event-loop thread.
+ */
+@Service
+public class ReactiveTimeSlotService {
+
+	private final ReactiveMongoTemplate reactiveMongoTemplate;
+	private final UnavailableDateService unavailableDateService;
+	private final SlotAvailabilityIndex slotAvailabilityIndex;
+	private final MongoReadRouter readRouter;
+
+	public ReactiveTimeSlotService(ReactiveMongoTemplate reactiveMongoTemplate,
+			UnavailableDateService unavailableDateService, SlotAvailabilityIndex slotAvailabilityIndex,
+			MongoReadRouter readRouter) {
+		this.reactiveMongoTemplate = reactiveMongoTemplate;
+		this.unavailableDateService = unavailableDateService;
+		this.slotAvailabilityIndex = slotAvailabilityIndex;
+		this.readRouter = readRouter;
+	}
+
+	/**
+	 * Available time slots for a date, same rules as TimeSlotService.getAvailableSlotsForDate
+	 */
+	public Flux<TimeSlot> getAvailableSlotsForDate(LocalDate date) {
+		if (isDateUnavailable(date) || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+			return Flux.empty();
+		}
+
+		List<TimeSlot> indexed = slotAvailabilityIndex.getAvailableSlots(date);
+		if (indexed != null) {
+			return Flux.fromIterable(indexed);
+		}
+
+		// Outside the materialized horizon: plain read, slots are never created here
+		// Feeding the index runs its change listeners, so it happens off the event loop
+		Query query = new Query(Criteria.where("date").is(date)).with(Sort.by("startTime"));
+		return reactiveMongoTemplate.find(query, TimeSlot.class)
+			.publishOn(Schedulers.boundedElastic())
+			.doOnNext(slotAvailabilityIndex::apply)
+			.filter(slot -> slot.isBookable(Instant.now()));
+	}
+
+	/**
+	 * All time slots for a date range, routed like TimeSlotService.getSlotsForDateRange
+	 */
+	public Flux<TimeSlot> getSlotsForDateRange(LocalDate startDate, LocalDate endDate) {
+		Query query = new Query(Criteria.where("date").gte(startDate).lte(endDate))
+			.withReadPreference(readRouter.getReadPreference());
+		return reactiveMongoTemplate.find(query, TimeSlot.class);
+	}
+
+	/**
+	 * Availability summary for a date, same shape as TimeSlotController.checkDateAvailability
+	 */
+	public Mono<Map<String, Object>> checkDateAvailability(LocalDate date) {
+		boolean isUnavailable = isDateUnavailable(date);
+		boolean isSunday = date.getDayOfWeek() == DayOfWeek.SUNDAY;
+
+		Map<String, Object> result = new HashMap<>();
+		result.put("date", date.toString());
+		result.put("isAvailable", !isUnavailable && !isSunday);
+		result.put("isUnavailable", isUnavailable);
+		result.put("isSunday", isSunday);
+
+		if (isUnavailable || isSunday) {
+			result.put("availableSlots", new ArrayList<>());
+			result.put("slotCount", 0);
+			result.put("message", isUnavailable
+				? "This date is unavailable (holiday/maintenance)"
+				: "Shop is closed on Sundays");
+			return Mono.just(result);
+		}
+
+		return getAvailableSlotsForDate(date)
+			.collectList()
+			.map(slots -> {
+				result.put("availableSlots", slots);
+				result.put("slotCount", slots.size());
+				return result;
+			});
+	}
+
+	/**
+	 * Holiday lookup against the in-memory calendar, which is loaded before
+	 * the reactive server starts accepting requests
+	 */
+	private boolean isDateUnavailable(LocalDate date) {
+		return unavailableDateService.isDateUnavailable(date);
+	}
+}
@@ -0,0 +1,235 @@
+package com.revamp.booking.bookingservice.service;
+
+import java.io.IOException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revamp.booking.bookingservice.model.TimeSlot;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Server-sent events feed of slot availability per date. Changes come from
+ * SlotAvailabilityIndex, which already hears every claim and release and
+ * the timeslots change stream, and from the holiday calendar. Only dates the
+ * index holds (or that are closed anyway) can be subscribed to, so
+ * subscribers cause no queries of their own.
+ * Changes are coalesced per date and flushed every few hundred milliseconds:
+ * each flush renders a date's frame once and writes the same bytes to every
+ * subscriber of that date, in chunks on a small sender pool.
+ */
+@Component
+@Slf4j
+public class SlotAvailabilityFeed {
+
+	static final String EVENT_NAME = "availability";
+
+	private static final int SEND_CHUNK_SIZE = 250;
+
+	private final TimeSlotService timeSlotService;
+	private final SlotAvailabilityIndex slotAvailabilityIndex;
+	private final ObjectMapper objectMapper;
+	private final long timeoutMillis;
+	private final int maxSubscribers;
+
+	private final Map<LocalDate, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+	private final Set<LocalDate> dirty = ConcurrentHashMap.newKeySet();
+	private final AtomicInteger connections = new AtomicInteger();
+	private final AtomicLong sequence = new AtomicLong();
+	private final ExecutorService sender;
+
+	public SlotAvailabilityFeed(TimeSlotService timeSlotService, SlotAvailabilityIndex slotAvailabilityIndex,
+			UnavailableDateService unavailableDateService, ObjectMapper objectMapper,
+			@Value("${booking.slots.feed.timeout-minutes:30}") long timeoutMinutes,
+			@Value("${booking.slots.feed.max-subscribers:10000}") int maxSubscribers,
+			@Value("${booking.slots.feed.sender-threads:4}") int senderThreads) {
+		this.timeSlotService = timeSlotService;
+		this.slotAvailabilityIndex = slotAvailabilityIndex;
+		this.objectMapper = objectMapper;
+		this.timeoutMillis = timeoutMinutes * 60_000;
+		this.maxSubscribers = maxSubscribers;
+		AtomicInteger threads = new AtomicInteger();
+		this.sender = Executors.newFixedThreadPool(senderThreads, runnable -> {
+			Thread thread = new Thread(runnable, "slot-feed-" + threads.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+		slotAvailabilityIndex.addListener(this::onChange);
+		unavailableDateService.addListener(this::onChange);
+	}
+
+	/**
+	 * Subscribe to the given dates; the current availability of each date is sent first
+	 * Throws IllegalArgumentException for a date outside the slot index and
+	 * IllegalStateException when the feed is at its subscriber limit
+	 */
+	public SseEmitter subscribe(Collection<LocalDate> dates) {
+		for (LocalDate date : dates) {
+			if (!isServedWithoutQueries(date)) {
+				throw new IllegalArgumentException("Live availability is not offered for " + date);
+			}
+		}
+		if (connections.incrementAndGet() > maxSubscribers) {
+			connections.decrementAndGet();
+			throw new IllegalStateException("Too many availability subscribers, try again later");
+		}
+		SseEmitter emitter = new SseEmitter(timeoutMillis);
+		Runnable unsubscribe = () -> unsubscribe(emitter, dates);
+		emitter.onCompletion(unsubscribe);
+		emitter.onTimeout(unsubscribe);
+		emitter.onError(error -> unsubscribe.run());
+
+		for (LocalDate date : dates) {
+			subscribers.computeIfAbsent(date, d -> ConcurrentHashMap.newKeySet()).add(emitter);
+		}
+		for (LocalDate date : dates) {
+			Set<ResponseBodyEmitter.DataWithMediaType> frame = frame(date);
+			if (frame == null || !send(emitter, frame)) {
+				break;
+			}
+		}
+		return emitter;
+	}
+
+	/**
+	 * Indexed dates are answered from memory, and so are closed ones (holidays, Sundays)
+	 */
+	private boolean isServedWithoutQueries(LocalDate date) {
+		return slotAvailabilityIndex.contains(date) || date.getDayOfWeek() == DayOfWeek.SUNDAY
+			|| timeSlotService.isDateUnavailable(date);
+	}
+
+	private void unsubscribe(SseEmitter emitter, Collection<LocalDate> dates) {
+		boolean removed = false;
+		for (LocalDate date : dates) {
+			Set<SseEmitter> emitters = subscribers.get(date);
+			if (emitters != null) {
+				removed |= emitters.remove(emitter);
+				if (emitters.isEmpty()) {
+					subscribers.remove(date, emitters);
+				}
+			}
+		}
+		if (removed) {
+			connections.decrementAndGet();
+		}
+	}
+
+	private void onChange(LocalDate date) {
+		if (subscribers.containsKey(date)) {
+			dirty.add(date);
+		}
+	}
+
+	/**
+	 * Push the latest availability of every date that changed since the last flush
+	 */
+	@Scheduled(fixedDelayString = "${booking.slots.feed.flush-millis:250}")
+	public void flush() {
+		if (dirty.isEmpty()) {
+			return;
+		}
+		Iterator<LocalDate> dates = dirty.iterator();
+		while (dates.hasNext()) {
+			LocalDate date = dates.next();
+			dates.remove();
+			Set<SseEmitter> emitters = subscribers.get(date);
+			if (emitters == null || emitters.isEmpty()) {
+				continue;
+			}
+			Set<ResponseBodyEmitter.DataWithMediaType> frame = frame(date);
+			if (frame != null) {
+				broadcast(new ArrayList<>(emitters), frame);
+			}
+		}
+	}
+
+	/**
+	 * Comment line to every subscriber, so proxies keep the connection open and dead clients are noticed
+	 */
+	@Scheduled(fixedDelayString = "${booking.slots.feed.heartbeat-millis:15000}")
+	public void heartbeat() {
+		Set<SseEmitter> all = ConcurrentHashMap.newKeySet();
+		subscribers.values().forEach(all::addAll);
+		if (!all.isEmpty()) {
+			broadcast(new ArrayList<>(all), SseEmitter.event().comment("keep-alive").build());
+		}
+	}
+
+	public int subscriberCount() {
+		return connections.get();
+	}
+
+	@PreDestroy
+	public void stop() {
+		sender.shutdownNow();
+		subscribers.values().forEach(emitters -> emitters.forEach(SseEmitter::complete));
+		subscribers.clear();
+	}
+
+	private void broadcast(List<SseEmitter> emitters, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+		for (int from = 0; from < emitters.size(); from += SEND_CHUNK_SIZE) {
+			List<SseEmitter> chunk = emitters.subList(from, Math.min(from + SEND_CHUNK_SIZE, emitters.size()));
+			try {
+				sender.execute(() -> chunk.forEach(emitter -> send(emitter, frame)));
+			} catch (RejectedExecutionException e) {
+				return; // shutting down
+			}
+		}
+	}
+
+	private static boolean send(SseEmitter emitter, Set<ResponseBodyEmitter.DataWithMediaType> frame) {
+		try {
+			emitter.send(frame);
+			return true;
+		} catch (IOException | IllegalStateException e) {
+			// Client went away; completing the emitter runs its unsubscribe callback
+			emitter.completeWithError(e);
+			return false;
+		}
+	}
+
+	/**
+	 * One rendered SSE frame with the date's availability, shared by all its subscribers
+	 */
+	private Set<ResponseBodyEmitter.DataWithMediaType> frame(LocalDate date) {
+		List<TimeSlot> slots = timeSlotService.getAvailableSlotsForDate(date);
+		Map<String, Object> payload = new HashMap<>();
+		payload.put("date", date.toString());
+		payload.put("availableSlots", slots);
+		payload.put("slotCount", slots.size());
+		try {
+			return SseEmitter.event()
+				.id(Long.toString(sequence.incrementAndGet()))
+				.name(EVENT_NAME)
+				.data(objectMapper.writeValueAsString(payload), MediaType.APPLICATION_JSON)
+				.build();
+		} catch (JsonProcessingException e) {
+			log.error("Could not render availability for {}: {}", date, e.getMessage());
+			return null;
+		}
+	}
+}
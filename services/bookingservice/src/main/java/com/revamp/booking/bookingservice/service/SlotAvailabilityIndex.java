@@ -0,0 +1,282 @@
+package com.revamp.booking.bookingservice.service;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import com.revamp.booking.bookingservice.config.ChangeStreamWatcher;
+import com.revamp.booking.bookingservice.model.TimeSlot;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resident copy of slot availability, one small array of slot states per
+ * date, holding counts rather than who booked or holds each bay. Hydrated from the timeslots collection on startup, updated by
+ * TimeSlotService after every claim/release and refreshed from the
+ * timeslots change stream so writes from other replicas show up too.
+ * Listeners hear about every date whose slots actually changed.
+ */
+@Component
+@Slf4j
+public class SlotAvailabilityIndex {
+
+	private static final Comparator<SlotState> BY_START = Comparator.comparing(SlotState::startTime);
+
+	private final MongoTemplate mongoTemplate;
+
+	private final Map<LocalDate, SlotState[]> days = new ConcurrentHashMap<>();
+
+	private final List<Consumer<LocalDate>> listeners = new CopyOnWriteArrayList<>();
+
+	private ChangeStreamWatcher watcher;
+
+	public SlotAvailabilityIndex(MongoTemplate mongoTemplate) {
+		this.mongoTemplate = mongoTemplate;
+	}
+
+	/**
+	 * State of one slot as held in the index: counts and hold expiries only
+	 * Appointment, holder and owner IDs stay in Mongo; checks on who holds a bay read the slot from there
+	 */
+	public record SlotState(String id, LocalTime startTime, LocalTime endTime, boolean available, int capacity,
+			int bookedCount, List<Instant> holdExpiries, long version) {
+
+		static SlotState of(TimeSlot slot) {
+			return new SlotState(slot.getId(), slot.getStartTime(), slot.getEndTime(), slot.isAvailable(),
+				slot.getCapacity(), slot.getBookedCount(),
+				slot.getHolds() == null ? List.of() : slot.getHolds().stream()
+					.map(TimeSlot.SlotHold::getExpiresAt)
+					.filter(Objects::nonNull)
+					.toList(),
+				slot.getVersion());
+		}
+
+		private int expiredHolds(Instant now) {
+			int expired = 0;
+			for (Instant expiresAt : holdExpiries) {
+				if (!expiresAt.isAfter(now)) {
+					expired++;
+				}
+			}
+			return expired;
+		}
+
+		boolean isBookable(Instant now) {
+			return available || bookedCount - expiredHolds(now) < capacity;
+		}
+
+		TimeSlot toTimeSlot(LocalDate date) {
+			return new TimeSlot(id, date, startTime, endTime, available, capacity, bookedCount,
+				new ArrayList<>(), new ArrayList<>(), version);
+		}
+
+		/**
+		 * The slot with holds that ran out but were not swept yet treated as released
+		 */
+		TimeSlot toBookableTimeSlot(LocalDate date, Instant now) {
+			int booked = bookedCount - expiredHolds(now);
+			return new TimeSlot(id, date, startTime, endTime, booked < capacity, capacity, booked,
+				new ArrayList<>(), new ArrayList<>(), version);
+		}
+	}
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void start() {
+		hydrate(LocalDate.now());
+		watcher = new ChangeStreamWatcher(
+			mongoTemplate.getCollectionName(TimeSlot.class),
+			mongoTemplate.getCollection(mongoTemplate.getCollectionName(TimeSlot.class)),
+			this::onChange);
+		watcher.start();
+	}
+
+	@PreDestroy
+	public void stop() {
+		if (watcher != null) {
+			watcher.stop();
+		}
+	}
+
+	/**
+	 * Reload every slot from the given date onwards and drop older dates
+	 */
+	public void hydrate(LocalDate from) {
+		Query query = new Query(Criteria.where("date").gte(from));
+		Map<LocalDate, List<TimeSlot>> byDate = mongoTemplate.find(query, TimeSlot.class).stream()
+			.collect(Collectors.groupingBy(TimeSlot::getDate));
+
+		days.keySet().removeIf(date -> date.isBefore(from));
+		byDate.forEach((date, slots) -> days.merge(date, slots.stream()
+			.map(SlotState::of)
+			.sorted(BY_START)
+			.toArray(SlotState[]::new), SlotAvailabilityIndex::keepNewer));
+
+		log.info("Slot availability index hydrated: {} date(s) from {}", byDate.size(), from);
+	}
+
+	/**
+	 * Call the listener with the date of every later change; it runs on the writing thread and must be quick
+	 */
+	public void addListener(Consumer<LocalDate> listener) {
+		listeners.add(listener);
+	}
+
+	private void changed(LocalDate date) {
+		for (Consumer<LocalDate> listener : listeners) {
+			try {
+				listener.accept(date);
+			} catch (RuntimeException e) {
+				log.warn("Slot availability listener failed for {}: {}", date, e.getMessage());
+			}
+		}
+	}
+
+	/**
+	 * Whether slots for the date are held in the index
+	 */
+	public boolean contains(LocalDate date) {
+		return days.containsKey(date);
+	}
+
+	/**
+	 * All slots for a date, or null when the date is not indexed
+	 */
+	public List<TimeSlot> getSlots(LocalDate date) {
+		SlotState[] states = days.get(date);
+		if (states == null) {
+			return null;
+		}
+		List<TimeSlot> slots = new ArrayList<>(states.length);
+		for (SlotState state : states) {
+			slots.add(state.toTimeSlot(date));
+		}
+		return slots;
+	}
+
+	/**
+	 * Slots with a free bay for a date, or null when the date is not indexed
+	 * Bays whose checkout hold has expired are counted as free
+	 */
+	public List<TimeSlot> getAvailableSlots(LocalDate date) {
+		SlotState[] states = days.get(date);
+		if (states == null) {
+			return null;
+		}
+		Instant now = Instant.now();
+		List<TimeSlot> slots = new ArrayList<>(states.length);
+		for (SlotState state : states) {
+			if (state.available()) {
+				slots.add(state.toTimeSlot(date));
+			} else if (state.isBookable(now)) {
+				slots.add(state.toBookableTimeSlot(date, now));
+			}
+		}
+		return slots;
+	}
+
+	/**
+	 * A reload replaces the date's slots, except those a later write already brought further
+	 */
+	private static SlotState[] keepNewer(SlotState[] current, SlotState[] loaded) {
+		for (int i = 0; i < loaded.length; i++) {
+			for (SlotState state : current) {
+				if (state.id().equals(loaded[i].id()) && state.version() > loaded[i].version()) {
+					loaded[i] = state;
+				}
+			}
+		}
+		return loaded;
+	}
+
+	/**
+	 * Record the latest persisted state of a slot
+	 * A state older than the one held (lower version) is ignored: the write
+	 * path and the change stream can deliver the same slot's states out of order
+	 */
+	public void apply(TimeSlot slot) {
+		if (slot == null || slot.getId() == null || slot.getDate() == null) {
+			return;
+		}
+		SlotState state = SlotState.of(slot);
+		// The same write usually arrives twice, from TimeSlotService and from the change stream
+		boolean[] unchanged = { false };
+		days.compute(slot.getDate(), (date, current) -> {
+			if (current == null) {
+				return new SlotState[] { state };
+			}
+			for (int i = 0; i < current.length; i++) {
+				if (current[i].id().equals(state.id())) {
+					if (current[i].equals(state) || current[i].version() > state.version()) {
+						unchanged[0] = true;
+						return current;
+					}
+					SlotState[] next = current.clone();
+					next[i] = state;
+					return next;
+				}
+			}
+			SlotState[] next = Arrays.copyOf(current, current.length + 1);
+			next[current.length] = state;
+			Arrays.sort(next, BY_START);
+			return next;
+		});
+		if (!unchanged[0]) {
+			changed(slot.getDate());
+		}
+	}
+
+	/**
+	 * Forget a slot that was deleted from the collection
+	 */
+	public void remove(String slotId) {
+		for (LocalDate date : days.keySet()) {
+			boolean[] removed = { false };
+			days.computeIfPresent(date, (d, current) -> {
+				SlotState[] next = Arrays.stream(current)
+					.filter(state -> !state.id().equals(slotId))
+					.toArray(SlotState[]::new);
+				removed[0] = next.length < current.length;
+				return next.length == 0 ? null : next;
+			});
+			if (removed[0]) {
+				changed(date);
+			}
+		}
+	}
+
+	private void onChange(ChangeStreamDocument<Document> event) {
+		OperationType type = event.getOperationType();
+		if (type == OperationType.DELETE) {
+			if (event.getDocumentKey() != null && event.getDocumentKey().containsKey("_id")) {
+				var id = event.getDocumentKey().get("_id");
+				remove(id.isObjectId() ? id.asObjectId().getValue().toHexString() : id.asString().getValue());
+			}
+			return;
+		}
+		Document document = event.getFullDocument();
+		if (document != null) {
+			apply(mongoTemplate.getConverter().read(TimeSlot.class, document));
+		}
+	}
+}
@@ -0,0 +1,41 @@
+package com.revamp.booking.bookingservice.service;
+
+import java.util.List;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Releases checkout holds that ran out before payment succeeded, in bulk,
+ * and marks the appointments created on them as expired. Reads already
+ * treat expired holds as free, so the sweep only has to keep the stored
+ * state tidy; it does not need to run exactly on time.
+ */
+@Component
+@Slf4j
+public class SlotHoldSweeper {
+
+	private final TimeSlotService timeSlotService;
+	private final AppointmentService appointmentService;
+
+	public SlotHoldSweeper(TimeSlotService timeSlotService, AppointmentService appointmentService) {
+		this.timeSlotService = timeSlotService;
+		this.appointmentService = appointmentService;
+	}
+
+	@Scheduled(fixedDelayString = "${booking.slots.hold-sweep-millis:30000}")
+	public void sweep() {
+		try {
+			List<String> released = timeSlotService.releaseExpiredHolds();
+			if (released.isEmpty()) {
+				return;
+			}
+			long expired = appointmentService.expireAbandonedHolds(released);
+			log.info("Released {} expired slot hold(s), {} unpaid appointment(s) expired", released.size(), expired);
+		} catch (RuntimeException e) {
+			log.error("Slot hold sweep failed: {}", e.getMessage(), e);
+		}
+	}
+}
@@ -0,0 +1,91 @@
+package com.revamp.booking.bookingservice.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Slot windows and bay capacity per weekday, read from configuration:
+ *
+ *   booking.slots.capacity=1                                       default bays per window
+ *   booking.slots.templates.default=08:00-11:00,11:00-14:00,14:00-17:00
+ *   booking.slots.templates.saturday=08:00-11:00*2,11:00-14:00*2    per-day override, "*n" sets the bays
+ *
+ * A day with an empty template is closed. Sundays are always closed.
+ */
+@Component
+public class SlotTemplates {
+
+	/**
+	 * One bookable window of a day's template
+	 */
+	public record Window(LocalTime start, LocalTime end, int capacity) {
+	}
+
+	private final Map<DayOfWeek, List<Window>> windows = new EnumMap<>(DayOfWeek.class);
+
+	public SlotTemplates(
+			@Value("${booking.slots.templates.default:08:00-11:00,11:00-14:00,14:00-17:00}") String defaultTemplate,
+			@Value("${booking.slots.capacity:1}") int defaultCapacity,
+			Environment environment) {
+		for (DayOfWeek day : DayOfWeek.values()) {
+			if (day == DayOfWeek.SUNDAY) {
+				windows.put(day, List.of());
+				continue;
+			}
+			String template = environment.getProperty(
+				"booking.slots.templates." + day.name().toLowerCase(Locale.ROOT), defaultTemplate);
+			windows.put(day, parse(day, template, defaultCapacity));
+		}
+	}
+
+	/**
+	 * Windows for a weekday, ordered by start time; empty when closed
+	 */
+	public List<Window> windowsFor(DayOfWeek day) {
+		return windows.get(day);
+	}
+
+	private static List<Window> parse(DayOfWeek day, String template, int defaultCapacity) {
+		List<Window> parsed = new ArrayList<>();
+		if (template == null || template.isBlank()) {
+			return List.of();
+		}
+		for (String entry : template.split(",")) {
+			String spec = entry.trim();
+			if (spec.isEmpty()) {
+				continue;
+			}
+			try {
+				int capacity = defaultCapacity;
+				int star = spec.indexOf('*');
+				if (star >= 0) {
+					capacity = Integer.parseInt(spec.substring(star + 1).trim());
+					spec = spec.substring(0, star).trim();
+				}
+				String[] times = spec.split("-");
+				LocalTime start = LocalTime.parse(times[0].trim());
+				LocalTime end = LocalTime.parse(times[1].trim());
+				if (!end.isAfter(start) || capacity < 1) {
+					throw new IllegalArgumentException("empty window or capacity below 1");
+				}
+				parsed.add(new Window(start, end, capacity));
+			} catch (DateTimeParseException | ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+				throw new IllegalStateException("Invalid slot template for " + day + ": '" + entry.trim() + "' (" + e.getMessage() + ")", e);
+			}
+		}
+		parsed.sort(Comparator.comparing(Window::start));
+		return Collections.unmodifiableList(parsed);
+	}
+}
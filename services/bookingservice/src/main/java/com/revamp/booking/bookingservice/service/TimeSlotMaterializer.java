@@ -0,0 +1,237 @@
+package com.revamp.booking.bookingservice.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.BooleanOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.mongodb.bulk.BulkWriteResult;
+import com.revamp.booking.bookingservice.model.TimeSlot;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Keeps a rolling horizon of time slots persisted ahead of today.
+ * Slots are bulk upserted under the unique (date, startTime, endTime) key,
+ * so reruns and concurrent replicas never create duplicates and the
+ * availability read path never has to create slots itself.
+ */
+@Component
+@Slf4j
+public class TimeSlotMaterializer {
+
+	static final String SLOT_KEY_INDEX = "date_startTime_endTime_unique";
+
+	private final MongoTemplate mongoTemplate;
+	private final TimeSlotService timeSlotService;
+	private final SlotAvailabilityIndex slotAvailabilityIndex;
+	private final UnavailableDateService unavailableDateService;
+
+	@Value("${booking.slots.horizon-weeks:12}")
+	private int horizonWeeks;
+
+	public TimeSlotMaterializer(MongoTemplate mongoTemplate, TimeSlotService timeSlotService,
+			SlotAvailabilityIndex slotAvailabilityIndex, UnavailableDateService unavailableDateService) {
+		this.mongoTemplate = mongoTemplate;
+		this.timeSlotService = timeSlotService;
+		this.slotAvailabilityIndex = slotAvailabilityIndex;
+		this.unavailableDateService = unavailableDateService;
+		unavailableDateService.addListener(this::onHolidayChange);
+	}
+
+	/**
+	 * First on startup: the unique slot key is owned here, MongoIndexManager only verifies it
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	public void onStartup() {
+		ensureSlotKeyIndex();
+		materializeHorizon();
+	}
+
+	/**
+	 * Daily top-up of the horizon, just after midnight
+	 */
+	@Scheduled(cron = "${booking.slots.materialize-cron:0 5 0 * * *}")
+	public void materializeHorizon() {
+		LocalDate today = LocalDate.now();
+		try {
+			materialize(today, today.plusWeeks(horizonWeeks));
+		} catch (RuntimeException e) {
+			log.error("Slot materialization failed: {}", e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * A removed holiday inside the horizon gets its slots back straight away
+	 * instead of at the next daily top-up; a new holiday keeps its slots, which
+	 * are no longer offered while the date is unavailable
+	 */
+	void onHolidayChange(LocalDate date) {
+		LocalDate today = LocalDate.now();
+		if (date.isBefore(today) || date.isAfter(today.plusWeeks(horizonWeeks))
+				|| unavailableDateService.isDateUnavailable(date)) {
+			return;
+		}
+		try {
+			upsert(date, date);
+			mongoTemplate.find(new Query(Criteria.where("date").is(date)), TimeSlot.class).forEach(slotAvailabilityIndex::apply);
+		} catch (RuntimeException e) {
+			log.error("Could not materialize slots for {} after its holiday was removed: {}", date, e.getMessage());
+		}
+	}
+
+	/**
+	 * Upsert every slot in the range and reload the range into the index.
+	 * Existing slots are left untouched, including their booking state.
+	 */
+	public int materialize(LocalDate startDate, LocalDate endDate) {
+		int count = upsert(startDate, endDate);
+		slotAvailabilityIndex.hydrate(LocalDate.now());
+		return count;
+	}
+
+	private int upsert(LocalDate startDate, LocalDate endDate) {
+		List<TimeSlot> slots = timeSlotService.generateTimeSlots(startDate, endDate);
+		if (!slots.isEmpty()) {
+			BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TimeSlot.class);
+			for (TimeSlot slot : slots) {
+				Query key = new Query(Criteria.where("date").is(slot.getDate())
+					.and("startTime").is(slot.getStartTime())
+					.and("endTime").is(slot.getEndTime()));
+				// Capacity follows the template, so adding bays also opens up already materialized slots
+				Update update = new Update()
+					.set("capacity", slot.getCapacity())
+					.setOnInsert("isAvailable", true)
+					.setOnInsert("bookedCount", 0)
+					.setOnInsert("appointmentIds", List.of())
+					.setOnInsert("holds", List.of())
+					.setOnInsert("version", 0L);
+				ops.upsert(key, update);
+			}
+			BulkWriteResult result = ops.execute();
+			refreshAvailability(startDate, endDate);
+			log.info("Materialized slots {}..{}: {} new, {} already present",
+				startDate, endDate, result.getUpserts().size(), slots.size() - result.getUpserts().size());
+		}
+		return slots.size();
+	}
+
+	/**
+	 * Recompute isAvailable from the counters where a capacity change made it stale
+	 */
+	private void refreshAvailability(LocalDate startDate, LocalDate endDate) {
+		AggregationExpression hasRoom = ComparisonOperators.valueOf("bookedCount").lessThan("capacity");
+		Criteria inRange = Criteria.where("date").gte(startDate).lte(endDate);
+		mongoTemplate.updateMulti(
+			new Query(new Criteria().andOperator(inRange, Criteria.where("isAvailable").is(false), Criteria.expr(hasRoom))),
+			new Update().set("isAvailable", true),
+			TimeSlot.class);
+		mongoTemplate.updateMulti(
+			new Query(new Criteria().andOperator(inRange, Criteria.where("isAvailable").is(true),
+				Criteria.expr(BooleanOperators.Not.not(hasRoom)))),
+			new Update().set("isAvailable", false),
+			TimeSlot.class);
+	}
+
+	/**
+	 * Create the unique slot key, removing free duplicate slots left behind
+	 * by the old lazy findOne-then-save creation first
+	 */
+	void ensureSlotKeyIndex() {
+		try {
+			migrateSingleBaySlots();
+			removeDuplicateSlots();
+			mongoTemplate.indexOps(TimeSlot.class).createIndex(new Index()
+				.on("date", Sort.Direction.ASC)
+				.on("startTime", Sort.Direction.ASC)
+				.on("endTime", Sort.Direction.ASC)
+				.unique()
+				.named(SLOT_KEY_INDEX));
+		} catch (RuntimeException e) {
+			log.error("Could not create unique slot index: {}", e.getMessage());
+		}
+	}
+
+	/**
+	 * Convert slots stored before bay capacity existed (isAvailable plus a single
+	 * appointmentId and holdExpiresAt) to the counter model with one bay
+	 */
+	private void migrateSingleBaySlots() {
+		Document booked = new Document("$eq", List.of("$isAvailable", false));
+		Document hasAppointment = new Document("$ne", List.of(new Document("$ifNull", Arrays.asList("$appointmentId", null)), null));
+		Document hasHold = new Document("$ne", List.of(new Document("$ifNull", Arrays.asList("$holdExpiresAt", null)), null));
+		List<Document> pipeline = List.of(
+			new Document("$set", new Document("capacity", 1)
+				.append("bookedCount", new Document("$cond", List.of(booked, 1, 0)))
+				.append("appointmentIds", new Document("$cond", List.of(
+					new Document("$and", List.of(booked, hasAppointment)), List.of("$appointmentId"), List.of())))
+				.append("holds", new Document("$cond", List.of(
+					new Document("$and", List.of(booked, hasAppointment, hasHold)),
+					List.of(new Document("holderId", "$appointmentId").append("expiresAt", "$holdExpiresAt")),
+					List.of())))),
+			new Document("$unset", List.of("appointmentId", "holdExpiresAt")));
+
+		String collection = mongoTemplate.getCollectionName(TimeSlot.class);
+		long migrated = mongoTemplate.getCollection(collection)
+			.updateMany(new Document("capacity", new Document("$exists", false)), pipeline)
+			.getModifiedCount();
+		if (migrated > 0) {
+			log.info("Migrated {} single-bay slot(s) to the capacity model", migrated);
+		}
+	}
+
+	private void removeDuplicateSlots() {
+		String collection = mongoTemplate.getCollectionName(TimeSlot.class);
+		List<Document> pipeline = List.of(
+			new Document("$group", new Document("_id", new Document("date", "$date")
+					.append("startTime", "$startTime")
+					.append("endTime", "$endTime"))
+				.append("slots", new Document("$push", new Document("id", "$_id")
+					.append("bookedCount", "$bookedCount")))
+				.append("count", new Document("$sum", 1))),
+			new Document("$match", new Document("count", new Document("$gt", 1))));
+
+		List<Object> redundant = new ArrayList<>();
+		for (Document group : mongoTemplate.getCollection(collection).aggregate(pipeline)) {
+			List<Document> duplicates = group.getList("slots", Document.class);
+			// Keep a booked copy if there is one, otherwise the first
+			Document keep = duplicates.stream()
+				.filter(TimeSlotMaterializer::isBooked)
+				.findFirst()
+				.orElse(duplicates.get(0));
+			for (Document slot : duplicates) {
+				if (slot != keep && !isBooked(slot)) {
+					redundant.add(slot.get("id"));
+				}
+			}
+		}
+		if (!redundant.isEmpty()) {
+			mongoTemplate.getCollection(collection).deleteMany(new Document("_id", new Document("$in", redundant)));
+			log.warn("Removed {} duplicate free slot(s) before creating the unique slot index", redundant.size());
+		}
+	}
+
+	private static boolean isBooked(Document slot) {
+		return slot.get("bookedCount", Number.class) != null && slot.get("bookedCount", Number.class).intValue() > 0;
+	}
+}
@@ -1,22 +1,37 @@
 package com.revamp.booking.bookingservice.service;
 
 import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
+import org.bson.Document;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.BooleanOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.stereotype.Service;
 
+import com.revamp.booking.bookingservice.config.MongoReadRouter;
 import com.revamp.booking.bookingservice.model.TimeSlot;
-import com.revamp.booking.bookingservice.model.UnavailableDate;
 
 @Service
 public class TimeSlotService {
@@ -24,36 +39,40 @@ public class TimeSlotService {
 	@Autowired
 	private MongoTemplate mongoTemplate;
 
+	@Autowired
+	private MongoReadRouter readRouter;
+
 	@Autowired
 	private UnavailableDateService unavailableDateService;
 
-	// Service time slots: 8-11, 11-14, 14-17 (3 hours each)
-	private static final LocalTime SLOT_1_START = LocalTime.of(8, 0);
-	private static final LocalTime SLOT_1_END = LocalTime.of(11, 0);
-	private static final LocalTime SLOT_2_START = LocalTime.of(11, 0);
-	private static final LocalTime SLOT_2_END = LocalTime.of(14, 0);
-	private static final LocalTime SLOT_3_START = LocalTime.of(14, 0);
-	private static final LocalTime SLOT_3_END = LocalTime.of(17, 0);
+	@Autowired
+	private SlotAvailabilityIndex slotAvailabilityIndex;
+
+	@Autowired
+	private SlotTemplates slotTemplates;
+
+	// How long a slot stays held for a customer in checkout/payment
+	@Value("${booking.slots.hold-ttl-minutes:15}")
+	private long holdTtlMinutes;
 
 	/**
 	 * Generate time slots for a given date range
-	 * Shop hours: Monday to Saturday, 8am to 5pm
+	 * Windows and bays per weekday come from the slot templates (Sundays closed)
+	 * Holidays for the whole range come from the cached holiday calendar
 	 */
 	public List<TimeSlot> generateTimeSlots(LocalDate startDate, LocalDate endDate) {
+		Set<LocalDate> unavailable = unavailableDateService.getUnavailableDateSet(startDate, endDate);
+
 		List<TimeSlot> slots = new ArrayList<>();
 		LocalDate current = startDate;
 
 		while (!current.isAfter(endDate)) {
 			DayOfWeek dayOfWeek = current.getDayOfWeek();
 			
-			// Skip Sundays (weekday 7)
-			if (dayOfWeek != DayOfWeek.SUNDAY) {
-				// Check if date is unavailable
-				if (!unavailableDateService.isDateUnavailable(current)) {
-					// Create 3 slots for the day
-					slots.add(new TimeSlot(current, SLOT_1_START, SLOT_1_END));
-					slots.add(new TimeSlot(current, SLOT_2_START, SLOT_2_END));
-					slots.add(new TimeSlot(current, SLOT_3_START, SLOT_3_END));
+			// Skip Sundays (weekday 7) and unavailable dates
+			if (dayOfWeek != DayOfWeek.SUNDAY && !unavailable.contains(current)) {
+				for (SlotTemplates.Window window : slotTemplates.windowsFor(dayOfWeek)) {
+					slots.add(new TimeSlot(current, window.start(), window.end(), window.capacity()));
 				}
 			}
 			current = current.plusDays(1);
@@ -76,87 +95,306 @@ public class TimeSlotService {
 			return new ArrayList<>();
 		}
 
-		List<TimeSlot> slots = new ArrayList<>();
-		slots.add(getOrCreateSlot(date, SLOT_1_START, SLOT_1_END));
-		slots.add(getOrCreateSlot(date, SLOT_2_START, SLOT_2_END));
-		slots.add(getOrCreateSlot(date, SLOT_3_START, SLOT_3_END));
+		// Served from the resident index once the date's slots are known
+		List<TimeSlot> indexed = slotAvailabilityIndex.getAvailableSlots(date);
+		if (indexed != null) {
+			return indexed;
+		}
+
+		// Outside the materialized horizon: plain read, slots are never created here
+		// Stays on the primary, whatever is read here goes into the resident index
+		List<TimeSlot> slots = mongoTemplate.find(new Query(Criteria.where("date").is(date)), TimeSlot.class);
+		slots.forEach(slotAvailabilityIndex::apply);
 
+		Instant now = Instant.now();
 		return slots.stream()
-			.filter(TimeSlot::isAvailable)
+			.filter(slot -> slot.isBookable(now))
+			.sorted(Comparator.comparing(TimeSlot::getStartTime))
 			.toList();
 	}
 
 	/**
-	 * Get or create a time slot for a specific date and time
+	 * Book a bay in a time slot atomically
+	 * The booked counter is only incremented while it is below capacity, so concurrent
+	 * customers can never book more bays than the slot has
 	 */
-	private TimeSlot getOrCreateSlot(LocalDate date, LocalTime startTime, LocalTime endTime) {
-		Query query = new Query(Criteria.where("date").is(date)
-			.and("startTime").is(startTime)
-			.and("endTime").is(endTime));
-		
-		TimeSlot slot = mongoTemplate.findOne(query, TimeSlot.class);
-		
+	public TimeSlot bookSlot(String slotId, String appointmentId) {
+		TimeSlot slot = claim(slotId, appointmentId, null);
+		if (slot == null && releaseExpiredHolds(slotId)) {
+			// Bays held by abandoned checkouts were freed, try once more
+			slot = claim(slotId, appointmentId, null);
+		}
 		if (slot == null) {
-			slot = new TimeSlot(date, startTime, endTime);
-			mongoTemplate.save(slot);
+			throw claimFailure(slotId, appointmentId);
 		}
-		
 		return slot;
 	}
 
 	/**
-	 * Book a time slot atomically
-	 * Uses atomic update to prevent race conditions when multiple customers try to book the same slot
+	 * Hold a bay in a time slot for a customer in checkout, or extend the hold they already have
+	 * The bay counts as taken until the hold is confirmed, released or expires; a hold is only
+	 * extended for the customer who took it
 	 */
-	public TimeSlot bookSlot(String slotId, String appointmentId) {
-		// Use atomic update with condition to prevent race conditions
+	public TimeSlot holdSlot(String slotId, String holderId, String ownerId) {
+		if (ownerId == null || ownerId.isBlank()) {
+			throw new IllegalArgumentException("A slot hold needs the customer it is held for");
+		}
+		Instant expiresAt = Instant.now().plus(Duration.ofMinutes(holdTtlMinutes));
+
+		// Extend an existing hold of the same customer
+		TimeSlot slot = mongoTemplate.findAndModify(
+			new Query(Criteria.where("id").is(slotId).and("holds").elemMatch(ownHold(holderId, ownerId))),
+			new Update().set("holds.$.expiresAt", expiresAt).inc("version", 1),
+			FindAndModifyOptions.options().returnNew(true),
+			TimeSlot.class
+		);
+		TimeSlot.SlotHold hold = new TimeSlot.SlotHold(holderId, expiresAt, ownerId);
+		if (slot == null) {
+			slot = claim(slotId, holderId, hold);
+		}
+		if (slot == null && releaseExpiredHolds(slotId)) {
+			slot = claim(slotId, holderId, hold);
+		}
+		if (slot == null) {
+			throw claimFailure(slotId, holderId);
+		}
+		slotAvailabilityIndex.apply(slot);
+		return slot;
+	}
+
+	/**
+	 * Extend the hold of a checkout that is about to take payment
+	 * Returns true when a bay is held or already booked for the holder
+	 */
+	public boolean refreshHold(String slotId, String holderId, String ownerId) {
+		try {
+			holdSlot(slotId, holderId, ownerId);
+			return true;
+		} catch (RuntimeException e) {
+			return getSlotById(slotId)
+				.map(slot -> slot.getAppointmentIds() != null && slot.getAppointmentIds().contains(holderId))
+				.orElse(false);
+		}
+	}
+
+	/**
+	 * Turn a checkout hold into a booking, e.g. once payment has succeeded
+	 * Safe to repeat; if the hold was already swept a bay is booked again when one is free
+	 */
+	public TimeSlot confirmHold(String slotId, String holderId) {
+		TimeSlot slot = mongoTemplate.findAndModify(
+			new Query(Criteria.where("id").is(slotId).and("holds.holderId").is(holderId)),
+			new Update().pull("holds", new Document("holderId", holderId)).inc("version", 1),
+			FindAndModifyOptions.options().returnNew(true),
+			TimeSlot.class
+		);
+		if (slot != null) {
+			slotAvailabilityIndex.apply(slot);
+			return slot;
+		}
+
+		TimeSlot existingSlot = mongoTemplate.findOne(new Query(Criteria.where("id").is(slotId)), TimeSlot.class);
+		if (existingSlot != null && existingSlot.getAppointmentIds() != null
+				&& existingSlot.getAppointmentIds().contains(holderId)) {
+			return existingSlot;
+		}
+		return bookSlot(slotId, holderId);
+	}
+
+	/**
+	 * Give up a checkout hold early (customer left checkout or payment failed)
+	 * Only the customer who took the hold can give it up
+	 */
+	public boolean releaseHold(String slotId, String holderId, String ownerId) {
+		TimeSlot slot = mongoTemplate.findAndModify(
+			new Query(Criteria.where("id").is(slotId).and("holds").elemMatch(ownHold(holderId, ownerId))),
+			unclaim(holderId),
+			FindAndModifyOptions.options().returnNew(true),
+			TimeSlot.class
+		);
+		if (slot == null) {
+			return false;
+		}
+		slotAvailabilityIndex.apply(refreshAvailability(slot));
+		return true;
+	}
+
+	/**
+	 * Free every bay whose checkout hold has expired, in one bulk write
+	 * Returns the holder IDs whose holds were released
+	 */
+	public List<String> releaseExpiredHolds() {
+		return releaseExpiredHolds(new Query(Criteria.where("holds.expiresAt").lte(Instant.now())));
+	}
+
+	private boolean releaseExpiredHolds(String slotId) {
+		Query query = new Query(Criteria.where("id").is(slotId).and("holds.expiresAt").lte(Instant.now()));
+		return !releaseExpiredHolds(query).isEmpty();
+	}
+
+	private List<String> releaseExpiredHolds(Query expiredQuery) {
+		Instant now = Instant.now();
+		List<TimeSlot> slots = mongoTemplate.find(expiredQuery, TimeSlot.class);
+		if (slots.isEmpty()) {
+			return List.of();
+		}
+
+		BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TimeSlot.class);
+		Map<String, List<String>> expiredBySlot = new HashMap<>();
+		for (TimeSlot slot : slots) {
+			for (TimeSlot.SlotHold hold : slot.getHolds()) {
+				if (hold.isExpired(now)) {
+					// Matches only while this hold is still expired, so a hold extended in the meantime survives
+					ops.updateOne(
+						new Query(Criteria.where("id").is(slot.getId()).and("holds").elemMatch(
+							Criteria.where("holderId").is(hold.getHolderId()).and("expiresAt").lte(now))),
+						unclaim(hold.getHolderId()));
+					expiredBySlot.computeIfAbsent(slot.getId(), id -> new ArrayList<>()).add(hold.getHolderId());
+				}
+			}
+		}
+		if (expiredBySlot.isEmpty()) {
+			return List.of();
+		}
+		ops.execute();
+
+		List<String> released = new ArrayList<>();
+		Query current = new Query(Criteria.where("id").in(expiredBySlot.keySet()));
+		for (TimeSlot slot : mongoTemplate.find(current, TimeSlot.class)) {
+			for (String holderId : expiredBySlot.get(slot.getId())) {
+				if (!slot.getAppointmentIds().contains(holderId)) {
+					released.add(holderId);
+				}
+			}
+			slotAvailabilityIndex.apply(refreshAvailability(slot));
+		}
+		return released;
+	}
+
+	/**
+	 * Release the bay an appointment holds in a time slot, booked or held
+	 * Used when an appointment is cancelled, and to compensate a claim whose
+	 * appointment could not be stored
+	 */
+	public void releaseSlot(String slotId, String appointmentId) {
+		TimeSlot slot = mongoTemplate.findAndModify(
+			new Query(Criteria.where("id").is(slotId).and("appointmentIds").is(appointmentId)),
+			unclaim(appointmentId),
+			FindAndModifyOptions.options().returnNew(true),
+			TimeSlot.class
+		);
+		if (slot != null) {
+			slotAvailabilityIndex.apply(refreshAvailability(slot));
+		}
+	}
+
+	/**
+	 * Release the bays of many appointments at once, grouped by slot
+	 * One bulk write with a pipeline update per slot removes the appointment IDs
+	 * and their holds and recomputes bookedCount and isAvailable from what is left
+	 */
+	public void releaseSlots(Map<String, ? extends Collection<String>> appointmentIdsBySlot) {
+		if (appointmentIdsBySlot.isEmpty()) {
+			return;
+		}
+		BulkOperations ops = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, TimeSlot.class);
+		appointmentIdsBySlot.forEach((slotId, appointmentIds) -> {
+			List<String> ids = List.copyOf(appointmentIds);
+			AggregationOperation release = context -> new Document("$set", new Document()
+				.append("appointmentIds", new Document("$setDifference", List.of("$appointmentIds", ids)))
+				.append("holds", new Document("$filter", new Document("input", "$holds")
+					.append("cond", new Document("$not", List.of(new Document("$in", List.of("$$this.holderId", ids))))))));
+			AggregationOperation recount = context -> new Document("$set", new Document()
+				.append("bookedCount", new Document("$size", "$appointmentIds"))
+				.append("isAvailable", new Document("$lt", List.of(new Document("$size", "$appointmentIds"), "$capacity")))
+				.append("version", new Document("$add", List.of(new Document("$ifNull", List.of("$version", 0)), 1))));
+			ops.updateOne(
+				new Query(Criteria.where("id").is(slotId).and("appointmentIds").in(ids)),
+				AggregationUpdate.from(List.of(release, recount)));
+		});
+		ops.execute();
+
+		Query released = new Query(Criteria.where("id").in(appointmentIdsBySlot.keySet()));
+		mongoTemplate.find(released, TimeSlot.class).forEach(slotAvailabilityIndex::apply);
+	}
+
+	private static Criteria ownHold(String holderId, String ownerId) {
+		return Criteria.where("holderId").is(holderId).and("ownerId").is(ownerId);
+	}
+
+	/**
+	 * Take one bay for the appointment: $inc guarded by bookedCount < capacity,
+	 * with the appointment ID recorded at most once. Returns null when full.
+	 * With a hold the bay is only held, until the hold is confirmed or expires.
+	 */
+	private TimeSlot claim(String slotId, String appointmentId, TimeSlot.SlotHold hold) {
 		Query query = new Query(Criteria.where("id").is(slotId)
-			.and("isAvailable").is(true));
-		
+			.and("appointmentIds").ne(appointmentId)
+			.andOperator(Criteria.expr(ComparisonOperators.valueOf("bookedCount").lessThan("capacity"))));
+
 		Update update = new Update()
-			.set("isAvailable", false)
-			.set("appointmentId", appointmentId);
-		
-		// Use findAndModify for atomic operation
+			.inc("bookedCount", 1)
+			.push("appointmentIds", appointmentId)
+			.inc("version", 1);
+		if (hold != null) {
+			update.push("holds", hold);
+		}
+
 		TimeSlot slot = mongoTemplate.findAndModify(
 			query,
 			update,
 			FindAndModifyOptions.options().returnNew(true),
 			TimeSlot.class
 		);
-		
 		if (slot == null) {
-			// Check if slot exists but is already booked
-			Query checkQuery = new Query(Criteria.where("id").is(slotId));
-			TimeSlot existingSlot = mongoTemplate.findOne(checkQuery, TimeSlot.class);
-			
-			if (existingSlot == null) {
-				throw new RuntimeException("Time slot not found");
-			}
-			
-			if (!existingSlot.isAvailable()) {
-				throw new RuntimeException("Time slot is already booked");
-			}
-			
-			// Slot exists but atomic update failed (shouldn't happen, but handle it)
-			throw new RuntimeException("Time slot booking failed. Please try again.");
+			return null;
 		}
-		
+		slot = refreshAvailability(slot);
+		slotAvailabilityIndex.apply(slot);
 		return slot;
 	}
 
+	private RuntimeException claimFailure(String slotId, String appointmentId) {
+		TimeSlot existingSlot = mongoTemplate.findOne(new Query(Criteria.where("id").is(slotId)), TimeSlot.class);
+		if (existingSlot == null) {
+			return new IllegalArgumentException("Time slot not found");
+		}
+		slotAvailabilityIndex.apply(existingSlot);
+		if (existingSlot.getAppointmentIds() != null && existingSlot.getAppointmentIds().contains(appointmentId)) {
+			return new IllegalStateException("Time slot is already booked for this appointment");
+		}
+		return new IllegalStateException("Time slot is already booked");
+	}
+
+	private static Update unclaim(String appointmentId) {
+		return new Update()
+			.inc("bookedCount", -1)
+			.pull("appointmentIds", appointmentId)
+			.pull("holds", new Document("holderId", appointmentId))
+			.inc("version", 1);
+	}
+
 	/**
-	 * Release a time slot (when appointment is cancelled)
+	 * Bring the stored isAvailable flag in line with the counter after a claim or release
+	 * Only writes when the slot crossed the full/not-full boundary; the write is conditional
+	 * on the current counter, so racing claims and releases settle on the right value
 	 */
-	public void releaseSlot(String slotId) {
-		Query query = new Query(Criteria.where("id").is(slotId));
-		TimeSlot slot = mongoTemplate.findOne(query, TimeSlot.class);
-		
-		if (slot != null) {
-			slot.setAvailable(true);
-			slot.setAppointmentId(null);
-			mongoTemplate.save(slot);
+	private TimeSlot refreshAvailability(TimeSlot slot) {
+		boolean available = slot.getBookedCount() < slot.getCapacity();
+		if (slot.isAvailable() == available) {
+			return slot;
 		}
+		AggregationExpression hasRoom = ComparisonOperators.valueOf("bookedCount").lessThan("capacity");
+		Criteria stillMatches = available
+			? Criteria.expr(hasRoom)
+			: Criteria.expr(BooleanOperators.Not.not(hasRoom));
+		TimeSlot updated = mongoTemplate.findAndModify(
+			new Query(Criteria.where("id").is(slot.getId()).and("isAvailable").is(!available).andOperator(stillMatches)),
+			new Update().set("isAvailable", available).inc("version", 1),
+			FindAndModifyOptions.options().returnNew(true),
+			TimeSlot.class
+		);
+		return updated != null ? updated : slot;
 	}
 
 	/**
@@ -170,10 +408,44 @@ public class TimeSlotService {
 
 	/**
 	 * Get all time slots for a date range
+	 * A tolerant read: may come from a secondary within the configured max staleness;
+	 * claims always check capacity on the primary
 	 */
 	public List<TimeSlot> getSlotsForDateRange(LocalDate startDate, LocalDate endDate) {
 		Query query = new Query(Criteria.where("date").gte(startDate).lte(endDate));
-		return mongoTemplate.find(query, TimeSlot.class);
+		return readRouter.read(ops -> ops.find(query, TimeSlot.class));
+	}
+
+	/**
+	 * Per-day availability summary for a date range
+	 * Built from one timeslots range query and the cached holiday calendar
+	 */
+	public Map<String, Map<String, Object>> getAvailabilityCalendar(LocalDate startDate, LocalDate endDate) {
+		Map<LocalDate, List<TimeSlot>> slotsByDate = new HashMap<>();
+		for (TimeSlot slot : getSlotsForDateRange(startDate, endDate)) {
+			slotsByDate.computeIfAbsent(slot.getDate(), d -> new ArrayList<>()).add(slot);
+		}
+		Set<LocalDate> unavailable = unavailableDateService.getUnavailableDateSet(startDate, endDate);
+		Instant now = Instant.now();
+
+		Map<String, Map<String, Object>> calendar = new LinkedHashMap<>();
+		for (LocalDate date = startDate; !date.isAfter(endDate); date = date.plusDays(1)) {
+			Map<String, Object> day = new LinkedHashMap<>();
+			if (unavailable.contains(date)) {
+				day.put("status", "unavailable");
+			} else if (date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+				day.put("status", "closed");
+			} else {
+				List<TimeSlot> slots = slotsByDate.getOrDefault(date, List.of());
+				long available = slots.stream().filter(slot -> slot.isBookable(now)).count();
+				day.put("status", available > 0 ? "open" : "full");
+				day.put("available", available);
+				day.put("total", slots.size());
+				day.put("freeBays", slots.stream().mapToInt(slot -> slot.freeBays(now)).sum());
+			}
+			calendar.put(date.toString(), day);
+		}
+		return calendar;
 	}
 
 	/**
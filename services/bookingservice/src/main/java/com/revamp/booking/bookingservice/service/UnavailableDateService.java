@@ -1,23 +1,119 @@
 package com.revamp.booking.bookingservice.service;
 
 import java.time.LocalDate;
+import java.util.Collections;
 import java.util.List;
+import java.util.NavigableSet;
 import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import com.revamp.booking.bookingservice.config.ChangeStreamWatcher;
 import com.revamp.booking.bookingservice.model.UnavailableDate;
 
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
 @Service
+@Slf4j
 public class UnavailableDateService {
 
 	@Autowired
 	private MongoTemplate mongoTemplate;
 
+	// Sorted snapshot of all unavailable dates, replaced as a whole on every reload
+	private volatile NavigableSet<LocalDate> unavailableDates;
+
+	private final List<Consumer<LocalDate>> listeners = new CopyOnWriteArrayList<>();
+
+	private ChangeStreamWatcher watcher;
+
+	/**
+	 * Keep the holiday calendar in sync with writes from other replicas
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void watchUnavailableDates() {
+		String collection = mongoTemplate.getCollectionName(UnavailableDate.class);
+		watcher = new ChangeStreamWatcher(collection, mongoTemplate.getCollection(collection), event -> reload());
+		watcher.start();
+	}
+
+	@PreDestroy
+	public void stopWatching() {
+		if (watcher != null) {
+			watcher.stop();
+		}
+	}
+
+	/**
+	 * Reload the holiday calendar from the unavailabledates collection
+	 * Also runs periodically as a fallback when change streams are unavailable
+	 * Serialized, so a slower older read cannot replace the snapshot of a newer one
+	 * and every change is reported against the snapshot it actually replaced
+	 */
+	@Scheduled(fixedDelayString = "${booking.holidays.refresh-millis:300000}")
+	public synchronized void reload() {
+		Query query = new Query();
+		query.fields().include("date");
+		NavigableSet<LocalDate> dates = new TreeSet<>();
+		for (UnavailableDate unavailableDate : mongoTemplate.find(query, UnavailableDate.class)) {
+			if (unavailableDate.getDate() != null) {
+				dates.add(unavailableDate.getDate());
+			}
+		}
+		NavigableSet<LocalDate> previous = unavailableDates;
+		unavailableDates = Collections.unmodifiableNavigableSet(dates);
+		if (previous != null) {
+			for (LocalDate date : previous) {
+				if (!dates.contains(date)) {
+					changed(date);
+				}
+			}
+			for (LocalDate date : dates) {
+				if (!previous.contains(date)) {
+					changed(date);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Call the listener with every date that becomes or stops being unavailable
+	 * after the first load, whichever replica made the change
+	 */
+	public void addListener(Consumer<LocalDate> listener) {
+		listeners.add(listener);
+	}
+
+	private void changed(LocalDate date) {
+		for (Consumer<LocalDate> listener : listeners) {
+			try {
+				listener.accept(date);
+			} catch (RuntimeException e) {
+				log.warn("Holiday calendar listener failed for {}: {}", date, e.getMessage());
+			}
+		}
+	}
+
+	private NavigableSet<LocalDate> unavailableDates() {
+		NavigableSet<LocalDate> dates = unavailableDates;
+		if (dates == null) {
+			reload();
+			dates = unavailableDates;
+		}
+		return dates;
+	}
+
 	/**
 	 * Add an unavailable date
 	 */
@@ -34,7 +130,9 @@ public class UnavailableDateService {
 		
 		UnavailableDate unavailableDate = new UnavailableDate(date, reason);
 		unavailableDate.setDescription(description);
-		return mongoTemplate.save(unavailableDate);
+		UnavailableDate saved = mongoTemplate.save(unavailableDate);
+		reload();
+		return saved;
 	}
 
 	/**
@@ -43,14 +141,22 @@ public class UnavailableDateService {
 	public void removeUnavailableDate(String id) {
 		Query query = new Query(Criteria.where("id").is(id));
 		mongoTemplate.remove(query, UnavailableDate.class);
+		reload();
 	}
 
 	/**
 	 * Check if a date is unavailable
+	 * Answered from the in-memory holiday calendar, no database access
 	 */
 	public boolean isDateUnavailable(LocalDate date) {
-		Query query = new Query(Criteria.where("date").is(date));
-		return mongoTemplate.exists(query, UnavailableDate.class);
+		return unavailableDates().contains(date);
+	}
+
+	/**
+	 * Unavailable dates in a date range (inclusive), from the in-memory holiday calendar
+	 */
+	public NavigableSet<LocalDate> getUnavailableDateSet(LocalDate startDate, LocalDate endDate) {
+		return unavailableDates().subSet(startDate, true, endDate, true);
 	}
 
 	/**
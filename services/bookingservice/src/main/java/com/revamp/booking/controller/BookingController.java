@@ -1,5 +1,9 @@
 package com.revamp.booking.controller;
 
+import com.revamp.booking.bookingservice.config.BulkheadFullException;
+import com.revamp.booking.bookingservice.controller.AdminGuard;
+import com.revamp.booking.bookingservice.service.IdempotencyService;
+import com.revamp.booking.bookingservice.service.TimeSlotService;
 import com.revamp.booking.dto.AppointmentRequest;
 import com.revamp.booking.dto.AppointmentResponse;
 import com.revamp.booking.model.Booking;
@@ -7,6 +11,7 @@ import com.revamp.booking.model.ModificationItem;
 import com.revamp.booking.repository.BookingRepository;
 import com.revamp.booking.repository.ModificationItemRepository;
 import com.revamp.booking.service.BookingService;
+import com.revamp.booking.service.ModificationCatalog;
 import com.revamp.booking.service.StripeService;
 import com.revamp.booking.util.JwtUtil;
 import com.stripe.exception.StripeException;
@@ -15,11 +20,13 @@ import io.jsonwebtoken.Claims;
 import jakarta.validation.Valid;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Qualifier;
-import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,12 +35,18 @@ import java.util.Map;
 @RequestMapping("/api")
 public class BookingController {
 
+    static final String SERVICE_TOKEN_HEADER = "X-Service-Token";
+
     private final BookingService bookingService;
     private final ModificationItemRepository modificationItemRepository;
     private final BookingRepository bookingRepository;
     private final StripeService stripeService;
     private final JwtUtil jwtUtil;
-    private final MongoTemplate modificationServicesTemplate;
+    private final ModificationCatalog modificationCatalog;
+    private final TimeSlotService timeSlotService;
+    private final IdempotencyService idempotencyService;
+    private final AdminGuard adminGuard;
+    private final String catalogRefreshToken;
 
     public BookingController(
             BookingService bookingService,
@@ -41,48 +54,75 @@ public class BookingController {
             BookingRepository bookingRepository,
             StripeService stripeService,
             JwtUtil jwtUtil,
-            @Qualifier("modificationServicesTemplate") MongoTemplate modificationServicesTemplate
+            ModificationCatalog modificationCatalog,
+            TimeSlotService timeSlotService,
+            IdempotencyService idempotencyService,
+            AdminGuard adminGuard,
+            @Value("${booking.modifications.refresh-token:${CATALOG_REFRESH_TOKEN:}}") String catalogRefreshToken
     ) {
         this.bookingService = bookingService;
         this.modificationItemRepository = modificationItemRepository;
         this.bookingRepository = bookingRepository;
         this.stripeService = stripeService;
         this.jwtUtil = jwtUtil;
-        this.modificationServicesTemplate = modificationServicesTemplate;
+        this.modificationCatalog = modificationCatalog;
+        this.timeSlotService = timeSlotService;
+        this.idempotencyService = idempotencyService;
+        this.adminGuard = adminGuard;
+        this.catalogRefreshToken = catalogRefreshToken;
     }
 
+    /**
+     * Modification catalog from the resident snapshot, no database access
+     * The response carries the snapshot's ETag; a request whose If-None-Match
+     * still matches is answered 304 without a body
+     */
     @GetMapping("/modifications")
-    public List<ModificationItem> listModifications() {
-        // Use the qualified MongoTemplate to read from Time-slot database
-        // where modificationservices collection is stored
-        System.out.println("===== Fetching Modification Services =====");
-        System.out.println("Using modificationServicesTemplate");
-        System.out.println("Collection: modificationservices");
-        
-        List<ModificationItem> items = modificationServicesTemplate.findAll(ModificationItem.class);
-        
-        System.out.println("Found " + items.size() + " modification service(s)");
-        if (items.size() > 0) {
-            System.out.println("Services:");
-            for (ModificationItem item : items) {
-                System.out.println("  - ID: " + item.getId() + ", Name: " + item.getName());
+    public ResponseEntity<List<ModificationItem>> listModifications() {
+        ModificationCatalog.Snapshot catalog = modificationCatalog.snapshot();
+        return ResponseEntity.ok()
+                .eTag(catalog.etag())
+                .cacheControl(CacheControl.noCache())
+                .body(catalog.items());
+    }
+
+    /**
+     * Reload the modification catalog now; called by adminservice after it changes the catalog
+     * Takes either the service token shared with adminservice or an admin's bearer token,
+     * and answers 429 when asked again within booking.modifications.min-refresh-millis
+     */
+    @PostMapping("/modifications/refresh")
+    public ResponseEntity<Map<String, Object>> refreshModifications(
+            @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestHeader(value = SERVICE_TOKEN_HEADER, required = false) String serviceToken
+    ) {
+        if (!isCatalogRefreshToken(serviceToken)) {
+            ResponseEntity<Map<String, Object>> refused = adminGuard.refuse(authHeader);
+            if (refused != null) {
+                return refused;
             }
         }
-        System.out.println("============================================");
-        
-        // Map estimatedCost (Double) to unitPrice (Integer) for compatibility
-        items.forEach(item -> {
-            if (item.getEstimatedCost() != null && item.getUnitPrice() == null) {
-                item.setUnitPrice(item.getEstimatedCost().intValue());
-            }
-        });
-        
-        return items;
+        ModificationCatalog.Snapshot catalog = modificationCatalog.requestReload().orElse(null);
+        if (catalog == null) {
+            return ResponseEntity.status(429).header("Retry-After", String.valueOf(modificationCatalog.requestedReloadIntervalSeconds())).build();
+        }
+        Map<String, Object> response = new HashMap<>();
+        response.put("etag", catalog.etag());
+        response.put("count", catalog.items().size());
+        response.put("loadedAt", catalog.loadedAt());
+        return ResponseEntity.ok(response);
+    }
+
+    private boolean isCatalogRefreshToken(String serviceToken) {
+        return !catalogRefreshToken.isEmpty() && serviceToken != null
+                && MessageDigest.isEqual(catalogRefreshToken.getBytes(StandardCharsets.UTF_8),
+                        serviceToken.getBytes(StandardCharsets.UTF_8));
     }
 
     @PostMapping("/bookings/appointments")
-    public ResponseEntity<AppointmentResponse> createAppointment(
+    public ResponseEntity<?> createAppointment(
             @RequestHeader(value = "Authorization", required = false) String authHeader,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey,
             @Valid @RequestBody AppointmentRequest request
     ) {
         String customerId;
@@ -102,8 +142,11 @@ public class BookingController {
             return ResponseEntity.status(401).build();
         }
 
-        Booking saved = bookingService.createAppointment(customerId, customerName, customerEmail, request);
-        return ResponseEntity.ok(new AppointmentResponse(saved.getId(), saved.getStatus()));
+        // Retries with the same Idempotency-Key get the first booking back instead of a second one
+        return idempotencyService.execute("bookings", customerId, idempotencyKey, request, () -> {
+            Booking saved = bookingService.createAppointment(customerId, customerName, customerEmail, request);
+            return ResponseEntity.ok(new AppointmentResponse(saved.getId(), saved.getStatus()));
+        });
     }
 
     @GetMapping("/bookings")
@@ -148,6 +191,7 @@ public class BookingController {
             List<Booking> allBookings = bookingRepository.findAll();
             return ResponseEntity.ok(allBookings);
         } catch (Exception e) {
+            BulkheadFullException.rethrow(e);
             return ResponseEntity.status(401).build();
         }
     }
@@ -190,6 +234,13 @@ public class BookingController {
         Booking booking = bookingRepository.findById(bookingId)
                 .orElseThrow(() -> new IllegalArgumentException("Booking not found"));
 
+        // Keep the slot held through payment; fail before charging if the hold was lost
+        if (booking.getTimeSlotId() != null && !timeSlotService.refreshHold(booking.getTimeSlotId(), bookingId, booking.getCustomerId())) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "The time slot hold has expired and the slot was taken. Please choose another slot.");
+            return ResponseEntity.status(409).body(response);
+        }
+
         Long amount = booking.getEstimatedCost() != null ? booking.getEstimatedCost().longValue() : req.getAmount();
         PaymentIntent intent = stripeService.createPaymentIntent(amount, "lkr", bookingId);
 
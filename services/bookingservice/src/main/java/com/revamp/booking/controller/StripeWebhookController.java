@@ -1,5 +1,7 @@
 package com.revamp.booking.controller;
 
+import com.revamp.booking.bookingservice.model.AppointmentStatus;
+import com.revamp.booking.bookingservice.service.TimeSlotService;
 import com.revamp.booking.model.Booking;
 import com.revamp.booking.repository.BookingRepository;
 import com.stripe.exception.SignatureVerificationException;
@@ -9,10 +11,16 @@ import com.stripe.net.Webhook;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
+
 @RestController
 @RequestMapping("/api/webhooks")
 @RequiredArgsConstructor
@@ -20,6 +28,8 @@ import org.springframework.web.bind.annotation.*;
 public class StripeWebhookController {
 
     private final BookingRepository bookingRepository;
+    private final TimeSlotService timeSlotService;
+    private final MongoTemplate mongoTemplate;
     @Value("${stripe.webhook.secret:}")
     private String webhookSecret;
 
@@ -46,6 +56,7 @@ public class StripeWebhookController {
                     bookingRepository.findById(bookingId).ifPresent(booking -> {
                         // Payment confirmed - booking status can remain pending until admin approval
                         log.info("Payment confirmed for booking: {}", bookingId);
+                        confirmSlotHold(booking, paymentIntent.getId());
                     });
                 }
             }
@@ -53,5 +64,47 @@ public class StripeWebhookController {
 
         return ResponseEntity.ok("OK");
     }
+
+    /**
+     * Convert the booking's checkout hold into a booked slot
+     * If the slot was taken after the hold was swept, the paid booking is marked
+     * Slot Lost and refund-required so it cannot be approved and staff can refund it
+     */
+    void confirmSlotHold(Booking booking, String paymentIntentId) {
+        if (booking.getTimeSlotId() == null) {
+            return;
+        }
+        try {
+            timeSlotService.confirmHold(booking.getTimeSlotId(), booking.getId());
+            if ("Expired".equalsIgnoreCase(booking.getStatus())) {
+                // Paid after the hold was swept but the slot was still free; only the status
+                // is updated so fields this model does not map are left untouched
+                mongoTemplate.updateFirst(
+                        new Query(Criteria.where("_id").is(booking.getId()).and("status").is(booking.getStatus())),
+                        new Update().set("status", "Pending").inc("version", 1),
+                        Booking.class);
+            }
+        } catch (RuntimeException e) {
+            log.error("Payment succeeded for booking {} but slot {} could not be confirmed, marking it for refund: {}",
+                    booking.getId(), booking.getTimeSlotId(), e.getMessage());
+            markSlotLost(booking, paymentIntentId);
+        }
+    }
+
+    private void markSlotLost(Booking booking, String paymentIntentId) {
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(booking.getId())),
+                new Update()
+                        .set("refundRequired", true)
+                        .set("paymentIntentId", paymentIntentId)
+                        .set("updatedAt", LocalDateTime.now()),
+                Booking.class);
+        // The status only moves from an unpaid state, never over one staff already set
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(booking.getId())
+                        .and("status").in(AppointmentStatus.storedValues(AppointmentStatus.SLOT_LOST.allowedFrom()))),
+                new Update().set("status", AppointmentStatus.SLOT_LOST.label()).inc("version", 1),
+                Booking.class);
+    }
 }
 
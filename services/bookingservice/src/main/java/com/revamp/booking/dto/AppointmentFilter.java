@@ -0,0 +1,20 @@
+package com.revamp.booking.dto;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Optional filters for appointment listings; null fields are ignored
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AppointmentFilter {
+    private String status;
+    private String serviceType;
+    private LocalDate from; // appointment date, inclusive
+    private LocalDate to;   // appointment date, inclusive
+}
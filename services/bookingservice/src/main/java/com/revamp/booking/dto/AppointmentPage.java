@@ -0,0 +1,9 @@
+package com.revamp.booking.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing; nextCursor is null on the last page
+ */
+public record AppointmentPage<T>(List<T> items, String nextCursor, int limit) {
+}
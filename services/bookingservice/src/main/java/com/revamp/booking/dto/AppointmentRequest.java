@@ -16,6 +16,8 @@ public class AppointmentRequest {
 
     private String timeSlotId; // required for Service
 
+    private String holdId; // optional, from POST /api/bookings/timeslots/{id}/hold
+
     private String vehicleId; // optional
     private VehicleDetails vehicleDetails; // optional
 
@@ -0,0 +1,29 @@
+package com.revamp.booking.dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Columns shown by the appointment list views; read with a Mongo field
+ * projection so the rest of the document is never fetched or decoded
+ */
+public record AppointmentSummary(
+        String id,
+        String customerId,
+        String customerName,
+        String vehicle,
+        String serviceType,
+        LocalDate date,
+        String timeSlotStart,
+        String timeSlotEnd,
+        String status,
+        List<String> assignedEmployeeNames,
+        Double estimatedCost,
+        LocalDateTime createdAt) {
+
+    public static final String[] FIELDS = {
+        "customerId", "customerName", "vehicle", "serviceType", "date", "timeSlotStart",
+        "timeSlotEnd", "status", "assignedEmployeeNames", "estimatedCost", "createdAt"
+    };
+}
@@ -0,0 +1,10 @@
+package com.revamp.booking.dto;
+
+import java.util.List;
+
+/**
+ * Outcome of a bulk appointment operation; notFound lists requested IDs that matched no appointment,
+ * rejected the ones whose current status does not allow the change
+ */
+public record BulkResult(int requested, long matched, long modified, List<String> notFound, List<String> rejected) {
+}
@@ -0,0 +1,19 @@
+package com.revamp.booking.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a bulk employee assignment
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeAssignment {
+    private String appointmentId;
+    private List<String> employeeIds;
+    private List<String> employeeNames;
+}
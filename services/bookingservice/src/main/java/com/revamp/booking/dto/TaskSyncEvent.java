@@ -0,0 +1,29 @@
+package com.revamp.booking.dto;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * What OutboxRelay sends employeeservice for one appointment: the appointment's state at
+ * the given version, standing in for all of its pending events, so the receiver only has
+ * to apply the highest version it has seen
+ */
+public record TaskSyncEvent(
+        String appointmentId,
+        long version,
+        List<String> eventIds,
+        String status,
+        List<String> employeeIds,
+        List<String> employeeNames,
+        String customerId,
+        String customerName,
+        String vehicleInfo,
+        String serviceType,
+        String description,
+        String instructions,
+        LocalDate date,
+        Integer estimatedHours,
+        Instant occurredAt
+) {
+}
@@ -0,0 +1,23 @@
+package com.revamp.booking.dto;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Slot utilization and appointment figures for one day, one ISO week or a whole range.
+ * Utilization is booked (or held) bays over slot capacity; estimated revenue sums the
+ * estimated cost of every appointment that did not expire unpaid or lose its slot.
+ */
+public record UtilizationBucket(
+        String period,
+        LocalDate from,
+        LocalDate to,
+        long slots,
+        long capacity,
+        long bookedBays,
+        double utilization,
+        long appointments,
+        Map<String, Long> statusCounts,
+        Map<String, Long> serviceTypes,
+        double estimatedRevenue) {
+}
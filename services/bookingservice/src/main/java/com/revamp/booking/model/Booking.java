@@ -43,6 +43,9 @@ public class Booking {
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
+    private Boolean refundRequired; // paid but the slot could not be confirmed
+    private String paymentIntentId;
+
     @Data
     public static class VehicleDetails {
         private String make;
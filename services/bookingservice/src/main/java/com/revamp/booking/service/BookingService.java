@@ -5,6 +5,8 @@ import com.revamp.booking.model.Booking;
 import com.revamp.booking.repository.BookingRepository;
 import com.revamp.booking.bookingservice.service.TimeSlotService;
 import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
@@ -18,6 +20,14 @@ public class BookingService {
 
     public Booking createAppointment(String customerId, String customerName, String customerEmail, AppointmentRequest req) {
         Booking booking = new Booking();
+        boolean held = req.getHoldId() != null && !req.getHoldId().isBlank();
+        if (held) {
+            if (!ObjectId.isValid(req.getHoldId())) {
+                throw new IllegalArgumentException("Invalid slot hold ID");
+            }
+            // The checkout hold ID becomes the booking ID, so the slot stays held for this booking
+            booking.setId(req.getHoldId());
+        }
         booking.setCustomerId(customerId);
         booking.setCustomerName(customerName);
         booking.setCustomerEmail(customerEmail);
@@ -57,16 +67,25 @@ public class BookingService {
             booking.setEstimatedCost(req.getEstimatedCost());
         }
 
-        // Save booking first to get ID
-        Booking saved = bookingRepository.save(booking);
+        // Insert, never save: a hold ID that is already a booking's ID must fail instead of replacing it
+        Booking saved;
+        try {
+            saved = bookingRepository.insert(booking);
+        } catch (DuplicateKeyException e) {
+            throw new IllegalStateException("A booking already exists for this slot hold");
+        }
 
         // Book the time slot after saving (for Service bookings)
         if ("Service".equalsIgnoreCase(req.getServiceType())) {
             try {
-                timeSlotService.bookSlot(req.getTimeSlotId(), saved.getId());
+                if (held) {
+                    timeSlotService.holdSlot(req.getTimeSlotId(), saved.getId(), customerId);
+                } else {
+                    timeSlotService.bookSlot(req.getTimeSlotId(), saved.getId());
+                }
             } catch (RuntimeException e) {
-                // If slot booking fails, delete the booking and throw error
-                bookingRepository.delete(saved);
+                // The insert above created this document, so removing it cannot touch anyone else's booking
+                bookingRepository.deleteById(saved.getId());
                 throw new IllegalStateException("Time slot is already booked: " + e.getMessage());
             }
         }
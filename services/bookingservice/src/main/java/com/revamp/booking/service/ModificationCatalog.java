@@ -0,0 +1,142 @@
+package com.revamp.booking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.revamp.booking.bookingservice.config.ChangeStreamWatcher;
+import com.revamp.booking.model.ModificationItem;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Resident snapshot of the modification catalog, which lives on the separate
+ * modification services cluster and changes rarely. Reads are served from
+ * memory with an ETag derived from the catalog contents; the snapshot is
+ * reloaded when adminservice reports a change, from the collection's change
+ * stream, and periodically as a fallback.
+ */
+@Service
+@Slf4j
+public class ModificationCatalog {
+
+    /**
+     * The catalog as last loaded; items are shared between requests and must not be modified
+     */
+    public record Snapshot(List<ModificationItem> items, String etag, Instant loadedAt) {
+    }
+
+    private final MongoTemplate modificationServicesTemplate;
+    private final ObjectMapper objectMapper;
+    private final long minRequestedReloadMillis;
+
+    private volatile Snapshot snapshot;
+    private long lastRequestedReload; // guarded by this
+
+    private ChangeStreamWatcher watcher;
+
+    public ModificationCatalog(@Qualifier("modificationServicesTemplate") MongoTemplate modificationServicesTemplate,
+                               ObjectMapper objectMapper,
+                               @Value("${booking.modifications.min-refresh-millis:5000}") long minRequestedReloadMillis) {
+        this.modificationServicesTemplate = modificationServicesTemplate;
+        this.objectMapper = objectMapper;
+        this.minRequestedReloadMillis = minRequestedReloadMillis;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Modification catalog not loaded at startup, will load on first read: {}", e.getMessage());
+        }
+        String collection = modificationServicesTemplate.getCollectionName(ModificationItem.class);
+        watcher = new ChangeStreamWatcher(collection, modificationServicesTemplate.getCollection(collection), event -> reload());
+        watcher.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (watcher != null) {
+            watcher.stop();
+        }
+    }
+
+    public Snapshot snapshot() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    /**
+     * Reload on request from outside, at most once per booking.modifications.min-refresh-millis
+     * Empty when the last requested reload was too recent; the change stream still
+     * picks up whatever changed in between
+     */
+    public synchronized Optional<Snapshot> requestReload() {
+        long now = System.currentTimeMillis();
+        if (now - lastRequestedReload < minRequestedReloadMillis) {
+            return Optional.empty();
+        }
+        lastRequestedReload = now;
+        return Optional.of(reload());
+    }
+
+    /**
+     * Seconds until a requested reload is accepted again at the latest
+     */
+    public long requestedReloadIntervalSeconds() {
+        return Math.max(1, (minRequestedReloadMillis + 999) / 1000);
+    }
+
+    /**
+     * Load the catalog and replace the snapshot if its contents changed
+     * Also runs periodically in case a change notification was missed
+     */
+    @Scheduled(fixedDelayString = "${booking.modifications.refresh-millis:600000}", initialDelayString = "${booking.modifications.refresh-millis:600000}")
+    public synchronized Snapshot reload() {
+        List<ModificationItem> items = modificationServicesTemplate.findAll(ModificationItem.class);
+
+        // Map estimatedCost (Double) to unitPrice (Integer) for compatibility
+        items.forEach(item -> {
+            if (item.getEstimatedCost() != null && item.getUnitPrice() == null) {
+                item.setUnitPrice(item.getEstimatedCost().intValue());
+            }
+        });
+        // Stable order, so the same catalog always hashes to the same ETag
+        items.sort(Comparator.comparing(ModificationItem::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+
+        String etag = etag(items);
+        Snapshot current = snapshot;
+        if (current != null && current.etag().equals(etag)) {
+            return current;
+        }
+        Snapshot next = new Snapshot(List.copyOf(items), etag, Instant.now());
+        snapshot = next;
+        log.info("Modification catalog loaded: {} item(s), version {}", items.size(), etag);
+        return next;
+    }
+
+    private String etag(List<ModificationItem> items) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(items);
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not hash modification catalog: " + e.getMessage(), e);
+        }
+    }
+}
@@ -1,21 +1,28 @@
 package com.revamp.booking.service;
 
+import com.revamp.booking.bookingservice.config.Bulkhead;
 import com.stripe.Stripe;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
 import com.stripe.param.PaymentIntentCreateParams;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import jakarta.annotation.PostConstruct;
 
 @Service
-@RequiredArgsConstructor
 public class StripeService {
     @Value("${stripe.api.secret}")
     private String stripeSecretKey;
 
+    // Caps concurrent Stripe API calls when running on virtual threads
+    private final Bulkhead stripeBulkhead;
+
+    public StripeService(@Qualifier("stripeBulkhead") Bulkhead stripeBulkhead) {
+        this.stripeBulkhead = stripeBulkhead;
+    }
+
     @PostConstruct
     public void init() {
         Stripe.apiKey = stripeSecretKey;
@@ -28,11 +35,10 @@ public class StripeService {
                 .putMetadata("bookingId", bookingId)
                 .build();
 
-        return PaymentIntent.create(params);
+        return stripeBulkhead.execute(() -> PaymentIntent.create(params));
     }
 
     public PaymentIntent retrievePaymentIntent(String paymentIntentId) throws StripeException {
-        return PaymentIntent.retrieve(paymentIntentId);
+        return stripeBulkhead.execute(() -> PaymentIntent.retrieve(paymentIntentId));
     }
 }
-
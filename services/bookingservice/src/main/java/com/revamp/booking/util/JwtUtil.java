@@ -1,83 +1,120 @@
 package com.revamp.booking.util;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
-import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 public class JwtUtil {
 
+    // Tokens without an exp claim are re-verified at least this often
+    private static final long MAX_CACHE_MILLIS = 10 * 60 * 1000L;
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
-    private SecretKey getSecretKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    @Value("${jwt.cache.max-entries:10000}")
+    private int maxCachedTokens;
+
+    // Built once; jjwt parsers are immutable and thread-safe
+    private JwtParser parser;
+
+    // Verified tokens keyed by SHA-256 digest, so raw tokens are never held in memory
+    private final Map<String, VerifiedToken> verifiedTokens = new ConcurrentHashMap<>();
+
+    private record VerifiedToken(Claims claims, long expiresAtMillis) {
+    }
+
+    @PostConstruct
+    void init() {
+        parser = Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8)))
+                .build();
     }
 
     public Claims parseToken(String token) {
-        try {
-            System.out.println("[JwtUtil] Parsing token...");
-            System.out.println("[JwtUtil] JWT Secret configured: " + (jwtSecret != null && !jwtSecret.isEmpty()));
-            System.out.println("[JwtUtil] JWT Secret length: " + (jwtSecret != null ? jwtSecret.length() : 0));
-            
-            if (token != null && token.startsWith("Bearer ")) {
-                token = token.substring(7);
+        if (token != null && token.startsWith("Bearer ")) {
+            token = token.substring(7);
+        }
+        if (token == null || token.isEmpty()) {
+            throw new IllegalArgumentException("JWT token is missing");
+        }
+
+        String key = digest(token);
+        long now = System.currentTimeMillis();
+        VerifiedToken cached = verifiedTokens.get(key);
+        if (cached != null) {
+            if (cached.expiresAtMillis() > now) {
+                return cached.claims();
             }
-            
-            System.out.println("[JwtUtil] Token length: " + (token != null ? token.length() : 0));
-            
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(getSecretKey())
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            
-            System.out.println("[JwtUtil] Token parsed successfully");
-            return claims;
-        } catch (Exception e) {
-            System.err.println("[JwtUtil] Error parsing token: " + e.getMessage());
-            System.err.println("[JwtUtil] Exception type: " + e.getClass().getName());
-            e.printStackTrace();
-            throw e;
+            verifiedTokens.remove(key, cached);
+        }
+
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        remember(key, claims, now);
+        return claims;
+    }
+
+    private void remember(String key, Claims claims, long now) {
+        long expiresAt = now + MAX_CACHE_MILLIS;
+        Date expiration = claims.getExpiration();
+        if (expiration != null) {
+            expiresAt = Math.min(expiresAt, expiration.getTime());
+        }
+        if (verifiedTokens.size() >= maxCachedTokens) {
+            verifiedTokens.values().removeIf(entry -> entry.expiresAtMillis() <= now);
+            if (verifiedTokens.size() >= maxCachedTokens) {
+                verifiedTokens.clear();
+            }
+        }
+        verifiedTokens.put(key, new VerifiedToken(claims, expiresAt));
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
 
     public String getCustomerId(Claims claims) {
-        String subject = claims.getSubject();
-        System.out.println("[JwtUtil] getCustomerId - subject: " + subject);
-        return subject;
+        return claims.getSubject();
     }
 
     public String getCustomerName(Claims claims) {
-        String username = claims.get("username", String.class);
-        System.out.println("[JwtUtil] getCustomerName - username: " + username);
-        return username;
+        return claims.get("username", String.class);
     }
 
     public String getCustomerEmail(Claims claims) {
-        String email = claims.get("email", String.class);
-        System.out.println("[JwtUtil] getCustomerEmail - email: " + email);
-        return email;
+        return claims.get("email", String.class);
     }
 
     public String getRole(Claims claims) {
-        String role = claims.get("role", String.class);
-        if (role == null) {
-            // Try roles array
-            Object roles = claims.get("roles");
-            if (roles instanceof java.util.List) {
-                java.util.List<?> rolesList = (java.util.List<?>) roles;
-                if (!rolesList.isEmpty()) {
-                    role = String.valueOf(rolesList.get(0));
-                }
-            }
+        Object role = claims.get("role");
+        if (role instanceof String value) {
+            return value;
         }
-        return role;
+        // Fall back to the first entry of a roles array
+        Object roles = claims.get("roles");
+        if (roles instanceof List<?> rolesList && !rolesList.isEmpty()) {
+            return String.valueOf(rolesList.get(0));
+        }
+        return null;
     }
 
     public boolean isAdmin(Claims claims) {
@@ -85,4 +122,3 @@ public class JwtUtil {
         return "ADMIN".equalsIgnoreCase(role);
     }
 }
-
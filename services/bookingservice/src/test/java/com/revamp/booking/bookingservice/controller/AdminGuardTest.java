@@ -0,0 +1,45 @@
+package com.revamp.booking.bookingservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.revamp.booking.util.JwtUtil;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+
+class AdminGuardTest {
+
+	private JwtUtil jwtUtil;
+	private AdminGuard adminGuard;
+
+	@BeforeEach
+	void setUp() {
+		jwtUtil = mock(JwtUtil.class);
+		adminGuard = new AdminGuard(jwtUtil);
+	}
+
+	@Test
+	void missingOrInvalidTokenIsUnauthorized() {
+		when(jwtUtil.parseToken("Bearer forged")).thenThrow(new JwtException("bad signature"));
+
+		assertThat(adminGuard.refuse(null).getStatusCode().value()).isEqualTo(401);
+		assertThat(adminGuard.refuse("Bearer forged").getStatusCode().value()).isEqualTo(401);
+	}
+
+	@Test
+	void onlyAdminsGetThrough() {
+		Claims customer = mock(Claims.class);
+		Claims admin = mock(Claims.class);
+		when(jwtUtil.parseToken("Bearer customer")).thenReturn(customer);
+		when(jwtUtil.parseToken("Bearer admin")).thenReturn(admin);
+		when(jwtUtil.isAdmin(admin)).thenReturn(true);
+
+		assertThat(adminGuard.refuse("Bearer customer").getStatusCode().value()).isEqualTo(403);
+		assertThat(adminGuard.<Void>refuse("Bearer admin")).isNull();
+	}
+}
@@ -0,0 +1,54 @@
+package com.revamp.booking.bookingservice.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.revamp.booking.bookingservice.service.AppointmentService;
+
+class AppointmentControllerTest {
+
+	private AppointmentService appointmentService;
+	private AppointmentController controller;
+
+	@BeforeEach
+	void setUp() {
+		appointmentService = mock(AppointmentService.class);
+		controller = new AppointmentController();
+		ReflectionTestUtils.setField(controller, "appointmentService", appointmentService);
+	}
+
+	@Test
+	void versionConflictIsAnswered409() {
+		when(appointmentService.updateAppointmentStatus("a-1", "Approved", 3L))
+			.thenThrow(new OptimisticLockingFailureException("changed by someone else"));
+
+		ResponseEntity<?> response = controller.updateAppointmentStatus("a-1", Map.of("status", "Approved", "version", 3));
+
+		assertThat(response.getStatusCode().value()).isEqualTo(409);
+		assertThat(response.getBody()).isInstanceOf(Map.class)
+			.extracting(body -> ((Map<?, ?>) body).get("error")).isEqualTo("VersionConflict");
+	}
+
+	@Test
+	void refusedTransitionIsAnswered409() {
+		when(appointmentService.assignEmployees("a-1", List.of("e-1"), List.of("Sam"), null))
+			.thenThrow(new IllegalStateException("Cannot change appointment status from Delivered to Approved"));
+
+		ResponseEntity<?> response = controller.assignEmployees("a-1",
+			Map.of("employeeIds", List.of("e-1"), "employeeNames", List.of("Sam")));
+
+		assertThat(response.getStatusCode().value()).isEqualTo(409);
+		assertThat(response.getBody()).isInstanceOf(Map.class)
+			.extracting(body -> ((Map<?, ?>) body).get("error")).isEqualTo("InvalidStatusTransition");
+	}
+}
@@ -0,0 +1,38 @@
+package com.revamp.booking.bookingservice.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class AppointmentStatusTest {
+
+	@Test
+	void lifecycleOnlyMovesForward() {
+		assertThat(AppointmentStatus.APPROVED.allowedFrom()).containsExactlyInAnyOrder(
+			AppointmentStatus.PENDING, AppointmentStatus.APPROVED);
+		assertThat(AppointmentStatus.IN_PROGRESS.allowedFrom()).doesNotContain(AppointmentStatus.PENDING);
+		assertThat(AppointmentStatus.PENDING.allowedFrom()).doesNotContain(
+			AppointmentStatus.APPROVED, AppointmentStatus.DELIVERED);
+		// Payment arriving after the hold ran out puts an expired appointment back
+		assertThat(AppointmentStatus.PENDING.allowedFrom()).contains(AppointmentStatus.EXPIRED);
+	}
+
+	@Test
+	void repeatingTheCurrentStatusIsAllowed() {
+		for (AppointmentStatus status : AppointmentStatus.values()) {
+			if (status != AppointmentStatus.CANCELLED) {
+				assertThat(status.allowedFrom()).contains(status);
+			}
+		}
+	}
+
+	@Test
+	void everyStoredSpellingIsUnderstood() {
+		assertThat(AppointmentStatus.parse("in-progress")).isEqualTo(AppointmentStatus.IN_PROGRESS);
+		assertThat(AppointmentStatus.parse("IN_PROGRESS")).isEqualTo(AppointmentStatus.IN_PROGRESS);
+		assertThat(AppointmentStatus.of(null)).isEqualTo(AppointmentStatus.PENDING);
+		assertThat(AppointmentStatus.of("Archived")).isNull();
+		assertThatThrownBy(() -> AppointmentStatus.parse("Archived")).isInstanceOf(IllegalArgumentException.class);
+	}
+}
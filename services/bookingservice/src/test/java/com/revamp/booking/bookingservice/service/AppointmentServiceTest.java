@@ -0,0 +1,221 @@
+package com.revamp.booking.bookingservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.revamp.booking.bookingservice.config.MongoReadRouter;
+import com.revamp.booking.bookingservice.model.Appointment;
+import com.revamp.booking.bookingservice.model.OutboxEvent;
+import com.revamp.booking.bookingservice.model.TimeSlot;
+import com.revamp.booking.dto.AppointmentPage;
+import com.revamp.booking.dto.BulkResult;
+
+class AppointmentServiceTest {
+
+	private MongoTemplate mongoTemplate;
+	private MongoOperations readOps;
+	private TimeSlotService timeSlotService;
+	private MongoReadRouter readRouter;
+	private AppointmentService appointmentService;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		readOps = mock(MongoOperations.class);
+		timeSlotService = mock(TimeSlotService.class);
+		readRouter = mock(MongoReadRouter.class);
+		when(readRouter.read(any(Function.class)))
+			.thenAnswer(invocation -> invocation.<Function<MongoOperations, ?>>getArgument(0).apply(readOps));
+		appointmentService = new AppointmentService();
+		ReflectionTestUtils.setField(appointmentService, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(appointmentService, "readRouter", readRouter);
+		ReflectionTestUtils.setField(appointmentService, "timeSlotService", timeSlotService);
+	}
+
+	@Test
+	void statusUpdateIsGuardedByTheTransitionTableAndVersion() {
+		Appointment updated = appointment("a-1", "Approved", null);
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+			eq(Appointment.class))).thenReturn(updated);
+
+		assertThat(appointmentService.updateAppointmentStatus("a-1", "approved", 3L)).isSameAs(updated);
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).findAndModify(query.capture(), update.capture(), any(FindAndModifyOptions.class),
+			eq(Appointment.class));
+		Document guard = query.getValue().getQueryObject();
+		assertThat(guard.get("status", Document.class).getList("$in", String.class))
+			.contains("Pending", "Approved").doesNotContain("In Progress", "Delivered");
+		assertThat(guard.get("version")).isEqualTo(3L);
+		// Only the status fields are written, never the whole document
+		assertThat(update.getValue().getUpdateObject().get("$set", Document.class).keySet())
+			.containsExactlyInAnyOrder("status", "updatedAt");
+		assertThat(update.getValue().getUpdateObject().get("$inc", Document.class).get("version")).isEqualTo(1);
+	}
+
+	@Test
+	void staleVersionIsReportedAsAConflict() {
+		Appointment current = appointment("a-1", "Pending", null);
+		current.setVersion(4L);
+		when(mongoTemplate.findOne(any(Query.class), eq(Appointment.class))).thenReturn(current);
+
+		assertThatThrownBy(() -> appointmentService.updateAppointmentStatus("a-1", "Approved", 3L))
+			.isInstanceOf(OptimisticLockingFailureException.class);
+	}
+
+	@Test
+	void transitionOutsideTheTableIsRefused() {
+		Appointment current = appointment("a-1", "Delivered", null);
+		current.setVersion(3L);
+		when(mongoTemplate.findOne(any(Query.class), eq(Appointment.class))).thenReturn(current);
+
+		assertThatThrownBy(() -> appointmentService.updateAppointmentStatus("a-1", "Pending", 3L))
+			.isInstanceOf(IllegalStateException.class);
+	}
+
+	@Test
+	void pageCursorContinuesAfterTheLastAppointment() {
+		LocalDateTime createdAt = LocalDateTime.of(2026, 10, 1, 9, 30);
+		Appointment first = appointment("a-2", "Pending", null);
+		first.setCreatedAt(createdAt.plusMinutes(5));
+		Appointment last = appointment("a-1", "Pending", null);
+		last.setCreatedAt(createdAt);
+		when(readOps.find(any(Query.class), eq(Appointment.class)))
+			.thenReturn(List.of(first, last, appointment("a-0", "Pending", null)));
+
+		AppointmentPage<Appointment> page = appointmentService.getAppointmentsPage(null, null, 2);
+		assertThat(page.items()).containsExactly(first, last);
+		assertThat(page.nextCursor()).isNotNull();
+
+		appointmentService.getAppointmentsPage(null, page.nextCursor(), 2);
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(readOps, times(2)).find(query.capture(), eq(Appointment.class));
+		Query next = query.getAllValues().get(1);
+		assertThat(next.getLimit()).isEqualTo(3);
+		List<Document> after = next.getQueryObject().getList("$and", Document.class).get(0).getList("$or", Document.class);
+		assertThat(after.get(0).get("createdAt", Document.class).get("$lt")).isEqualTo(createdAt);
+		assertThat(after.get(1).get("_id", Document.class).get("$lt")).isEqualTo("a-1");
+	}
+
+	@Test
+	void malformedCursorIsRejected() {
+		assertThatThrownBy(() -> appointmentService.getAppointmentsPage(null, "not a cursor", 2))
+			.isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void bulkStatusChangeReportsEveryIdOnce() {
+		when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Appointment.class)))
+			.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+		when(mongoTemplate.find(any(Query.class), eq(Appointment.class))).thenReturn(List.of(
+			appointment("a-1", "Approved", null),
+			appointment("a-2", "In Progress", null),
+			// the target status in a spelling the update does not match on
+			appointment("a-3", "APPROVED", null)));
+
+		BulkResult result = appointmentService.bulkUpdateStatus(List.of("a-1", "a-2", "a-3", "a-4"), "Approved");
+
+		assertThat(result.notFound()).containsExactly("a-4");
+		assertThat(result.rejected()).containsExactly("a-2", "a-3");
+	}
+
+	@Test
+	void bulkCancelLeavesAnOutboxEventForAssignedAppointments() {
+		when(mongoTemplate.find(any(Query.class), eq(Appointment.class))).thenReturn(List.of(
+			appointment("a-1", "Approved", List.of("employee-1")),
+			appointment("a-2", "Pending", null)));
+		when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Appointment.class)))
+			.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+		when(mongoTemplate.remove(any(Query.class), eq(Appointment.class))).thenReturn(DeleteResult.acknowledged(1));
+
+		BulkResult result = appointmentService.bulkCancel(List.of("a-1", "a-2"));
+
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).updateMulti(any(Query.class), update.capture(), eq(Appointment.class));
+		Document set = update.getValue().getUpdateObject().get("$set", Document.class);
+		Document push = update.getValue().getUpdateObject().get("$push", Document.class);
+		assertThat(set.get("status")).isEqualTo("Cancelled");
+		assertThat(((OutboxEvent) push.get("pendingEvents")).getType()).isEqualTo(OutboxEvent.Type.CANCELLED);
+		assertThat(result.modified()).isEqualTo(2);
+		verify(timeSlotService).releaseSlots(Map.of());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void failedInsertReleasesTheHoldUnlessThisCustomersAppointmentIsStored() {
+		String holdId = new ObjectId().toHexString();
+		ReflectionTestUtils.setField(appointmentService, "unavailableDateService", mock(UnavailableDateService.class));
+		TimeSlot slot = new TimeSlot();
+		slot.setStartTime(LocalTime.of(9, 0));
+		slot.setEndTime(LocalTime.of(10, 0));
+		when(timeSlotService.holdSlot("slot-1", holdId, "customer-1")).thenReturn(slot);
+		when(readRouter.writeFor(eq("customer-1"), any(Function.class))).thenThrow(new DuplicateKeyException("E11000"));
+
+		assertThatThrownBy(() -> appointmentService.createAppointment(serviceAppointment(), holdId))
+			.isInstanceOf(DuplicateKeyException.class);
+
+		// Another appointment that happens to carry the same ID does not keep the slot
+		ArgumentCaptor<Query> stored = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).exists(stored.capture(), eq(Appointment.class));
+		assertThat(stored.getValue().getQueryObject())
+			.containsEntry("_id", holdId)
+			.containsEntry("customerId", "customer-1")
+			.containsEntry("timeSlotId", "slot-1");
+		verify(timeSlotService).releaseSlot("slot-1", holdId);
+
+		when(mongoTemplate.exists(any(Query.class), eq(Appointment.class))).thenReturn(true);
+		assertThatThrownBy(() -> appointmentService.createAppointment(serviceAppointment(), holdId))
+			.isInstanceOf(DuplicateKeyException.class);
+		verify(timeSlotService, times(1)).releaseSlot("slot-1", holdId);
+	}
+
+	private static Appointment serviceAppointment() {
+		Appointment appointment = new Appointment();
+		appointment.setServiceType("Service");
+		appointment.setCustomerId("customer-1");
+		appointment.setTimeSlotId("slot-1");
+		appointment.setDate(LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)));
+		return appointment;
+	}
+
+	private static Appointment appointment(String id, String status, List<String> employeeIds) {
+		Appointment appointment = new Appointment();
+		appointment.setId(id);
+		appointment.setStatus(status);
+		appointment.setAssignedEmployeeIds(employeeIds);
+		return appointment;
+	}
+}
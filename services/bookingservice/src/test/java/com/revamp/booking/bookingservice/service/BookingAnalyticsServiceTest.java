@@ -0,0 +1,66 @@
+package com.revamp.booking.bookingservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+
+import com.revamp.booking.bookingservice.config.MongoReadRouter;
+
+class BookingAnalyticsServiceTest {
+
+	private static final LocalDate SETTLED_DAY = LocalDate.now().minusDays(30);
+	private static final LocalDate OPEN_DAY = SETTLED_DAY.plusDays(1);
+
+	private MongoReadRouter readRouter;
+	private BookingAnalyticsService bookingAnalyticsService;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		readRouter = mock(MongoReadRouter.class);
+		when(readRouter.read(any(Function.class))).thenReturn(
+			results(), results(appointments(SETTLED_DAY, "Delivered", 2), appointments(SETTLED_DAY, "Expired", 1),
+				appointments(OPEN_DAY, "Pending", 1)),
+			results(), results(appointments(OPEN_DAY, "Approved", 1)));
+		bookingAnalyticsService = new BookingAnalyticsService(readRouter, 7, 3660);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void pastDayWithOpenAppointmentsIsAggregatedAgain() {
+		bookingAnalyticsService.days(SETTLED_DAY, OPEN_DAY);
+		assertThat(bookingAnalyticsService.days(SETTLED_DAY, OPEN_DAY).get(1).statusCounts())
+			.containsEntry("Approved", 1L);
+		verify(readRouter, times(4)).read(any(Function.class));
+
+		// the settled day alone is answered from the cache; an abandoned hold does not keep it open
+		assertThat(bookingAnalyticsService.days(SETTLED_DAY, SETTLED_DAY).get(0).statusCounts())
+			.containsEntry("Delivered", 2L).containsEntry("Expired", 1L);
+		verify(readRouter, times(4)).read(any(Function.class));
+	}
+
+	private static AggregationResults<Document> results(Document... rows) {
+		return new AggregationResults<>(List.of(rows), new Document());
+	}
+
+	private static Document appointments(LocalDate date, String status, int count) {
+		Date stored = Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+		return new Document("_id", new Document("date", stored).append("status", status).append("serviceType", "Service"))
+			.append("count", count)
+			.append("revenue", 100.0 * count);
+	}
+}
@@ -0,0 +1,98 @@
+package com.revamp.booking.bookingservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.http.ResponseEntity;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.client.result.UpdateResult;
+import com.revamp.booking.bookingservice.model.IdempotencyRecord;
+import com.revamp.booking.bookingservice.model.IdempotencyRecord.State;
+
+class IdempotencyServiceTest {
+
+	private static final Map<String, String> REQUEST = Map.of("timeSlotId", "slot-1");
+
+	private MongoTemplate mongoTemplate;
+	private IdempotencyService idempotencyService;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(IdempotencyRecord.class)))
+			.thenReturn(UpdateResult.acknowledged(1, 1L, null));
+		idempotencyService = new IdempotencyService(mongoTemplate, new ObjectMapper(), 24, 60);
+	}
+
+	@Test
+	void successfulResponseIsReplayedWithoutRunningTheActionAgain() {
+		AtomicInteger runs = new AtomicInteger();
+		idempotencyService.execute("appointments", "customer-1", "key-1", REQUEST, () -> {
+			runs.incrementAndGet();
+			return ResponseEntity.ok(Map.of("id", "a-1"));
+		});
+
+		ArgumentCaptor<IdempotencyRecord> inserted = ArgumentCaptor.forClass(IdempotencyRecord.class);
+		verify(mongoTemplate).insert(inserted.capture());
+		ArgumentCaptor<Query> held = ArgumentCaptor.forClass(Query.class);
+		ArgumentCaptor<Update> completed = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).updateFirst(held.capture(), completed.capture(), eq(IdempotencyRecord.class));
+		// Only the claim this request wrote is completed, not one that took the key over
+		assertThat(held.getValue().getQueryObject())
+			.containsEntry("state", State.IN_FLIGHT)
+			.containsEntry("leaseToken", inserted.getValue().getLeaseToken());
+		String body = (String) completed.getValue().getUpdateObject().get("$set", Document.class).get("responseBody");
+
+		IdempotencyRecord record = new IdempotencyRecord("appointments:customer-1:key-1", State.COMPLETED,
+			inserted.getValue().getFingerprint(), null, 200, body, Instant.now(), null, Instant.now().plusSeconds(3600));
+		when(mongoTemplate.insert(any(IdempotencyRecord.class))).thenThrow(new DuplicateKeyException("dup"));
+		when(mongoTemplate.findById("appointments:customer-1:key-1", IdempotencyRecord.class)).thenReturn(record);
+
+		ResponseEntity<?> replayed = idempotencyService.execute("appointments", "customer-1", "key-1", REQUEST, () -> {
+			runs.incrementAndGet();
+			return ResponseEntity.ok(Map.of("id", "a-2"));
+		});
+
+		assertThat(runs.get()).isEqualTo(1);
+		assertThat(replayed.getStatusCode().value()).isEqualTo(200);
+		assertThat(replayed.getHeaders().getFirst(IdempotencyService.REPLAYED_HEADER)).isEqualTo("true");
+		assertThat(replayed.getBody()).isEqualTo("{\"id\":\"a-1\"}");
+	}
+
+	@Test
+	void errorResponseFreesTheKeyInsteadOfBeingStored() {
+		ResponseEntity<?> response = idempotencyService.execute("appointments", "customer-1", "key-1", REQUEST,
+			() -> ResponseEntity.status(503).build());
+
+		assertThat(response.getStatusCode().value()).isEqualTo(503);
+		verify(mongoTemplate).remove(any(Query.class), eq(IdempotencyRecord.class));
+		verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(IdempotencyRecord.class));
+	}
+
+	@Test
+	void clientErrorIsNotReplayedEither() {
+		idempotencyService.execute("appointments", "customer-1", "key-1", REQUEST,
+			() -> ResponseEntity.badRequest().body(Map.of("message", "Time slot is already booked")));
+
+		verify(mongoTemplate).remove(any(Query.class), eq(IdempotencyRecord.class));
+		verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(IdempotencyRecord.class));
+	}
+}
@@ -0,0 +1,116 @@
+package com.revamp.booking.bookingservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.UpdateManyModel;
+import com.mongodb.client.model.WriteModel;
+import com.revamp.booking.bookingservice.model.MigrationCheckpoint;
+
+class LegacyIdMigrationTest {
+
+	private static final String HEX_ID = "64b7f0c2a1b2c3d4e5f60718";
+
+	private MongoCollection<Document> bookings;
+	private MongoCollection<Document> timeslots;
+	private FindIterable<Document> found;
+	private List<Document> stillPresent;
+	private LegacyIdMigration migration;
+
+	@BeforeEach
+	@SuppressWarnings("unchecked")
+	void setUp() {
+		MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+		bookings = mock(MongoCollection.class);
+		timeslots = mock(MongoCollection.class);
+		found = mock(FindIterable.class);
+		stillPresent = new ArrayList<>();
+		when(mongoTemplate.getCollection("bookings")).thenReturn(bookings);
+		when(mongoTemplate.getCollection("timeslots")).thenReturn(timeslots);
+		when(bookings.find(any(Bson.class))).thenReturn(found);
+		when(found.projection(any(Bson.class))).thenReturn(found);
+		when(found.into(anyList())).thenAnswer(call -> {
+			List<Document> target = call.getArgument(0);
+			target.addAll(stillPresent);
+			return target;
+		});
+		migration = new LegacyIdMigration(mongoTemplate, 500, 0, 120);
+	}
+
+	@Test
+	void hexIdIsCopiedAndTheOriginalDeletedOnlyAsRead() {
+		Document original = new Document("_id", HEX_ID).append("status", "Pending").append("customerId", "c-1");
+		MigrationCheckpoint checkpoint = new MigrationCheckpoint();
+
+		migration.migrateBatch(List.of(original), checkpoint);
+
+		List<List<WriteModel<Document>>> writes = bookingWrites(2);
+		ReplaceOneModel<Document> copy = (ReplaceOneModel<Document>) writes.get(0).get(0);
+		assertThat(copy.getReplacement().get("_id")).isEqualTo(new ObjectId(HEX_ID));
+		assertThat(copy.getReplacement().getString("status")).isEqualTo("Pending");
+		DeleteOneModel<Document> delete = (DeleteOneModel<Document>) writes.get(1).get(0);
+		assertThat(delete.getFilter()).isEqualTo(original);
+		assertThat(checkpoint.getConverted()).isEqualTo(1);
+		assertThat(checkpoint.getProcessed()).isEqualTo(1);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void nonHexIdIsReassignedAndSlotReferencesFollow() {
+		MigrationCheckpoint checkpoint = new MigrationCheckpoint();
+
+		migration.migrateBatch(List.of(new Document("_id", "appt-42").append("status", "Approved")), checkpoint);
+
+		ReplaceOneModel<Document> copy = (ReplaceOneModel<Document>) bookingWrites(2).get(0).get(0);
+		ObjectId newId = copy.getReplacement().getObjectId("_id");
+		assertThat(copy.getReplacement().getString("legacyId")).isEqualTo("appt-42");
+		ArgumentCaptor<List<WriteModel<Document>>> slotWrites = ArgumentCaptor.forClass(List.class);
+		verify(timeslots).bulkWrite(slotWrites.capture(), any(BulkWriteOptions.class));
+		assertThat(slotWrites.getValue()).hasSize(2).allSatisfy(write -> {
+			UpdateManyModel<Document> update = (UpdateManyModel<Document>) write;
+			assertThat(update.getUpdate().toBsonDocument().toJson()).contains(newId.toHexString());
+		});
+		assertThat(checkpoint.getReassigned()).isEqualTo(1);
+		assertThat(checkpoint.getProcessed()).isEqualTo(1);
+	}
+
+	@Test
+	void originalChangedWhileCopyingIsLeftForTheNextBatch() {
+		stillPresent.add(new Document("_id", HEX_ID));
+		MigrationCheckpoint checkpoint = new MigrationCheckpoint();
+
+		migration.migrateBatch(List.of(new Document("_id", HEX_ID).append("status", "Pending")), checkpoint);
+
+		assertThat(checkpoint.getConverted()).isZero();
+		assertThat(checkpoint.getProcessed()).isZero();
+		assertThat(checkpoint.getFailedIds()).isEmpty();
+	}
+
+	@SuppressWarnings("unchecked")
+	private List<List<WriteModel<Document>>> bookingWrites(int expected) {
+		ArgumentCaptor<List<WriteModel<Document>>> writes = ArgumentCaptor.forClass(List.class);
+		verify(bookings, times(expected)).bulkWrite(writes.capture(), any(BulkWriteOptions.class));
+		return writes.getAllValues();
+	}
+}
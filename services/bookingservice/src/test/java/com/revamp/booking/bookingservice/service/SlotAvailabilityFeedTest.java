@@ -0,0 +1,72 @@
+package com.revamp.booking.bookingservice.service;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.revamp.booking.bookingservice.model.TimeSlot;
+
+class SlotAvailabilityFeedTest {
+
+	private static final LocalDate MONDAY = LocalDate.of(2026, 11, 2);
+
+	private TimeSlotService timeSlotService;
+	private SlotAvailabilityIndex slotAvailabilityIndex;
+	private UnavailableDateService unavailableDateService;
+	private SlotAvailabilityFeed feed;
+
+	@BeforeEach
+	void setUp() {
+		timeSlotService = mock(TimeSlotService.class);
+		slotAvailabilityIndex = new SlotAvailabilityIndex(mock(MongoTemplate.class));
+		unavailableDateService = mock(UnavailableDateService.class);
+		when(timeSlotService.getAvailableSlotsForDate(any(LocalDate.class))).thenReturn(List.of());
+		feed = new SlotAvailabilityFeed(timeSlotService, slotAvailabilityIndex, unavailableDateService,
+			new ObjectMapper().registerModule(new JavaTimeModule()), 30, 100, 1);
+	}
+
+	@AfterEach
+	void tearDown() {
+		feed.stop();
+	}
+
+	@Test
+	void dateOutsideTheIndexIsRejected() {
+		assertThatThrownBy(() -> feed.subscribe(List.of(MONDAY))).isInstanceOf(IllegalArgumentException.class);
+		verify(timeSlotService, never()).getAvailableSlotsForDate(any(LocalDate.class));
+	}
+
+	@Test
+	void holidayChangeIsPushedToSubscribers() {
+		TimeSlot slot = new TimeSlot(MONDAY, LocalTime.of(8, 0), LocalTime.of(11, 0), 1);
+		slot.setId("slot-1");
+		slotAvailabilityIndex.apply(slot);
+		feed.subscribe(List.of(MONDAY));
+		clearInvocations(timeSlotService);
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<Consumer<LocalDate>> listener = ArgumentCaptor.forClass(Consumer.class);
+		verify(unavailableDateService).addListener(listener.capture());
+		listener.getValue().accept(MONDAY);
+		feed.flush();
+
+		verify(timeSlotService).getAvailableSlotsForDate(MONDAY);
+	}
+}
@@ -0,0 +1,78 @@
+package com.revamp.booking.bookingservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import com.revamp.booking.bookingservice.model.TimeSlot;
+
+class SlotAvailabilityIndexTest {
+
+	private static final LocalDate DATE = LocalDate.of(2026, 11, 2);
+
+	private SlotAvailabilityIndex index;
+	private final List<LocalDate> changes = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		index = new SlotAvailabilityIndex(mock(MongoTemplate.class));
+		index.addListener(changes::add);
+	}
+
+	@Test
+	void newerStateReplacesOlder() {
+		index.apply(slot(0, 1));
+		index.apply(slot(1, 2));
+
+		assertThat(index.getSlots(DATE)).singleElement().extracting(TimeSlot::getBookedCount).isEqualTo(1);
+		assertThat(changes).hasSize(2);
+	}
+
+	@Test
+	void olderStateArrivingLateIsIgnored() {
+		index.apply(slot(1, 2));
+		// e.g. the change event of the previous write, delivered after the write path applied the newer state
+		index.apply(slot(0, 1));
+
+		assertThat(index.getSlots(DATE)).singleElement().extracting(TimeSlot::getBookedCount).isEqualTo(1);
+		assertThat(changes).hasSize(1);
+	}
+
+	@Test
+	void onlyCountsAndHoldExpiriesAreKept() {
+		TimeSlot held = slot(1, 1);
+		held.setAvailable(false);
+		held.setAppointmentIds(new ArrayList<>(List.of("hold-1")));
+		held.setHolds(new ArrayList<>(List.of(
+			new TimeSlot.SlotHold("hold-1", Instant.now().minusSeconds(60), "customer-1"))));
+		index.apply(held);
+
+		assertThat(index.getSlots(DATE)).singleElement().satisfies(slot -> {
+			assertThat(slot.getAppointmentIds()).isEmpty();
+			assertThat(slot.getHolds()).isEmpty();
+		});
+		// The lapsed hold still frees its bay
+		assertThat(index.getAvailableSlots(DATE)).singleElement().satisfies(slot -> {
+			assertThat(slot.getBookedCount()).isZero();
+			assertThat(slot.isAvailable()).isTrue();
+		});
+	}
+
+	private static TimeSlot slot(int bookedCount, long version) {
+		TimeSlot slot = new TimeSlot(DATE, LocalTime.of(8, 0), LocalTime.of(11, 0), 1);
+		slot.setId("slot-1");
+		slot.setBookedCount(bookedCount);
+		slot.setAvailable(bookedCount < slot.getCapacity());
+		slot.setVersion(version);
+		return slot;
+	}
+}
@@ -0,0 +1,138 @@
+package com.revamp.booking.bookingservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.function.Function;
+
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.revamp.booking.bookingservice.config.MongoReadRouter;
+import com.revamp.booking.bookingservice.model.TimeSlot;
+
+class TimeSlotServiceTest {
+
+	private MongoTemplate mongoTemplate;
+	private TimeSlotService timeSlotService;
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		timeSlotService = new TimeSlotService();
+		ReflectionTestUtils.setField(timeSlotService, "mongoTemplate", mongoTemplate);
+		ReflectionTestUtils.setField(timeSlotService, "slotAvailabilityIndex", mock(SlotAvailabilityIndex.class));
+		ReflectionTestUtils.setField(timeSlotService, "holdTtlMinutes", 15L);
+	}
+
+	@Test
+	void holdIsOnlyExtendedForTheCustomerWhoTookIt() {
+		TimeSlot slot = new TimeSlot();
+		slot.setId("slot-1");
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+			eq(TimeSlot.class))).thenReturn(slot);
+
+		timeSlotService.holdSlot("slot-1", "hold-1", "customer-1");
+
+		ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+		verify(mongoTemplate).findAndModify(query.capture(), any(Update.class),
+			any(FindAndModifyOptions.class), eq(TimeSlot.class));
+		Document hold = query.getValue().getQueryObject().get("holds", Document.class).get("$elemMatch", Document.class);
+		assertThat(hold.get("holderId")).isEqualTo("hold-1");
+		assertThat(hold.get("ownerId")).isEqualTo("customer-1");
+	}
+
+	@Test
+	void confirmingAHoldTurnsItIntoABooking() {
+		TimeSlot slot = new TimeSlot();
+		slot.setId("slot-1");
+		when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class),
+			eq(TimeSlot.class))).thenReturn(slot);
+
+		assertThat(timeSlotService.confirmHold("slot-1", "hold-1")).isSameAs(slot);
+
+		ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+		verify(mongoTemplate).findAndModify(any(Query.class), update.capture(),
+			any(FindAndModifyOptions.class), eq(TimeSlot.class));
+		Document pull = update.getValue().getUpdateObject().get("$pull", Document.class);
+		assertThat(pull.get("holds", Document.class).get("holderId")).isEqualTo("hold-1");
+		assertThat(update.getValue().getUpdateObject().get("$inc", Document.class).get("version")).isEqualTo(1);
+	}
+
+	@Test
+	void confirmingAgainAfterTheHoldWasConfirmedChangesNothing() {
+		TimeSlot booked = new TimeSlot();
+		booked.setId("slot-1");
+		booked.setAppointmentIds(new ArrayList<>(List.of("hold-1")));
+		when(mongoTemplate.findOne(any(Query.class), eq(TimeSlot.class))).thenReturn(booked);
+
+		assertThat(timeSlotService.confirmHold("slot-1", "hold-1")).isSameAs(booked);
+
+		// only the attempt to pull the hold; a claim would be a second findAndModify
+		verify(mongoTemplate).findAndModify(any(Query.class), any(Update.class),
+			any(FindAndModifyOptions.class), eq(TimeSlot.class));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void calendarCountsFreeBaysAndBookableSlotsTheSameWay() {
+		LocalDate monday = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY));
+		TimeSlot lapsedHold = slot(monday, 2, 2, hold(Instant.now().minusSeconds(60)));
+		TimeSlot liveHold = slot(monday, 1, 1, hold(Instant.now().plusSeconds(600)));
+		MongoReadRouter readRouter = mock(MongoReadRouter.class);
+		when(readRouter.read(any(Function.class))).thenReturn(List.of(lapsedHold, liveHold));
+		UnavailableDateService unavailableDateService = mock(UnavailableDateService.class);
+		when(unavailableDateService.getUnavailableDateSet(monday, monday)).thenReturn(new TreeSet<>());
+		ReflectionTestUtils.setField(timeSlotService, "readRouter", readRouter);
+		ReflectionTestUtils.setField(timeSlotService, "unavailableDateService", unavailableDateService);
+
+		Map<String, Object> day = timeSlotService.getAvailabilityCalendar(monday, monday).get(monday.toString());
+
+		assertThat(day).containsEntry("status", "open").containsEntry("available", 1L).containsEntry("freeBays", 1);
+	}
+
+	@Test
+	void holdWithoutCustomerIsRejected() {
+		assertThatThrownBy(() -> timeSlotService.holdSlot("slot-1", "hold-1", " "))
+			.isInstanceOf(IllegalArgumentException.class);
+		verifyNoInteractions(mongoTemplate);
+	}
+
+	private static TimeSlot slot(LocalDate date, int capacity, int bookedCount, TimeSlot.SlotHold hold) {
+		TimeSlot slot = new TimeSlot(date, LocalTime.of(9, 0), LocalTime.of(10, 0), capacity);
+		slot.setBookedCount(bookedCount);
+		slot.setAvailable(false);
+		slot.setHolds(new ArrayList<>(List.of(hold)));
+		return slot;
+	}
+
+	private static TimeSlot.SlotHold hold(Instant expiresAt) {
+		TimeSlot.SlotHold hold = new TimeSlot.SlotHold();
+		hold.setHolderId(new ObjectId().toHexString());
+		hold.setExpiresAt(expiresAt);
+		return hold;
+	}
+}
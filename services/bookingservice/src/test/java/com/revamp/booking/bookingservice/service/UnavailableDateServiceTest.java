@@ -0,0 +1,76 @@
+package com.revamp.booking.bookingservice.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.revamp.booking.bookingservice.model.UnavailableDate;
+
+class UnavailableDateServiceTest {
+
+	private static final LocalDate CHRISTMAS = LocalDate.of(2026, 12, 25);
+	private static final LocalDate BOXING_DAY = LocalDate.of(2026, 12, 26);
+
+	private MongoTemplate mongoTemplate;
+	private UnavailableDateService unavailableDateService;
+	private final List<LocalDate> changes = new ArrayList<>();
+
+	@BeforeEach
+	void setUp() {
+		mongoTemplate = mock(MongoTemplate.class);
+		unavailableDateService = new UnavailableDateService();
+		ReflectionTestUtils.setField(unavailableDateService, "mongoTemplate", mongoTemplate);
+		unavailableDateService.addListener(changes::add);
+	}
+
+	@Test
+	void firstLoadReportsNothing() {
+		holidays(CHRISTMAS);
+
+		unavailableDateService.reload();
+
+		assertThat(unavailableDateService.isDateUnavailable(CHRISTMAS)).isTrue();
+		assertThat(changes).isEmpty();
+	}
+
+	@Test
+	void addedAndRemovedHolidaysAreReported() {
+		holidays(CHRISTMAS);
+		unavailableDateService.reload();
+
+		holidays(BOXING_DAY);
+		unavailableDateService.reload();
+
+		assertThat(changes).containsExactlyInAnyOrder(CHRISTMAS, BOXING_DAY);
+		assertThat(unavailableDateService.isDateUnavailable(CHRISTMAS)).isFalse();
+	}
+
+	@Test
+	void unchangedCalendarReportsNothing() {
+		holidays(CHRISTMAS);
+		unavailableDateService.reload();
+		unavailableDateService.reload();
+
+		assertThat(changes).isEmpty();
+	}
+
+	private void holidays(LocalDate... dates) {
+		List<UnavailableDate> stored = new ArrayList<>();
+		for (LocalDate date : dates) {
+			stored.add(new UnavailableDate(date, "Holiday"));
+		}
+		when(mongoTemplate.find(any(Query.class), eq(UnavailableDate.class))).thenReturn(stored);
+	}
+}
@@ -0,0 +1,87 @@
+package com.revamp.booking.controller;
+
+import com.revamp.booking.bookingservice.service.TimeSlotService;
+import com.revamp.booking.model.Booking;
+import com.revamp.booking.repository.BookingRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class StripeWebhookControllerTest {
+
+    private TimeSlotService timeSlotService;
+    private MongoTemplate mongoTemplate;
+    private StripeWebhookController controller;
+
+    @BeforeEach
+    void setUp() {
+        timeSlotService = mock(TimeSlotService.class);
+        mongoTemplate = mock(MongoTemplate.class);
+        controller = new StripeWebhookController(mock(BookingRepository.class), timeSlotService, mongoTemplate);
+    }
+
+    @Test
+    void paidBookingWhoseSlotWasTakenIsMarkedForRefund() {
+        Booking booking = booking("Expired");
+        when(timeSlotService.confirmHold("slot-1", booking.getId()))
+                .thenThrow(new RuntimeException("Time slot is already booked"));
+
+        controller.confirmSlotHold(booking, "pi_123");
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateFirst(queries.capture(), updates.capture(), eq(Booking.class));
+
+        Document refund = updates.getAllValues().get(0).getUpdateObject().get("$set", Document.class);
+        assertThat(refund.get("refundRequired")).isEqualTo(true);
+        assertThat(refund.get("paymentIntentId")).isEqualTo("pi_123");
+
+        Document status = updates.getAllValues().get(1).getUpdateObject().get("$set", Document.class);
+        assertThat(status.get("status")).isEqualTo("Slot Lost");
+        // Only an unpaid status may be replaced
+        Document guard = queries.getAllValues().get(1).getQueryObject().get("status", Document.class);
+        assertThat(guard.getList("$in", String.class)).contains("Pending", "Expired").doesNotContain("Approved");
+    }
+
+    @Test
+    void confirmedHoldLeavesPendingBookingAlone() {
+        Booking booking = booking("Pending");
+
+        controller.confirmSlotHold(booking, "pi_123");
+
+        verify(timeSlotService).confirmHold("slot-1", booking.getId());
+        verify(mongoTemplate, never()).updateFirst(any(Query.class), any(Update.class), eq(Booking.class));
+    }
+
+    @Test
+    void expiredBookingPaidWhileSlotStillFreeGoesBackToPending() {
+        Booking booking = booking("Expired");
+
+        controller.confirmSlotHold(booking, "pi_123");
+
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), updates.capture(), eq(Booking.class));
+        assertThat(updates.getValue().getUpdateObject().get("$set", Document.class).get("status")).isEqualTo("Pending");
+    }
+
+    private static Booking booking(String status) {
+        Booking booking = new Booking();
+        booking.setId("65f000000000000000000001");
+        booking.setTimeSlotId("slot-1");
+        booking.setStatus(status);
+        return booking;
+    }
+}
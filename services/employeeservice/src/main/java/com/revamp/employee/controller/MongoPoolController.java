@@ -0,0 +1,25 @@
+package com.revamp.employee.controller;
+
+import com.revamp.employee.config.MongoPoolMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/employees/admin/mongo-pools")
+@CrossOrigin(origins = "*")
+public class MongoPoolController {
+
+    @Autowired
+    private MongoPoolMetrics mongoPoolMetrics;
+
+    /**
+     * Pool usage and command latencies of the Mongo client
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> mongoPools() {
+        return ResponseEntity.ok(mongoPoolMetrics.describe());
+    }
+}
@@ -1,7 +1,10 @@
 package com.revamp.employee.controller;
 
 import com.revamp.employee.dto.TaskActionRequest;
+import com.revamp.employee.dto.TaskIngestResult;
+import com.revamp.employee.dto.TaskSyncEvent;
 import com.revamp.employee.model.Task;
+import com.revamp.employee.service.TaskIngestService;
 import com.revamp.employee.service.TaskService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -18,6 +21,17 @@ public class TaskController {
     @Autowired
     private TaskService taskService;
 
+    @Autowired
+    private TaskIngestService taskIngestService;
+
+    /**
+     * Batch of appointment snapshots from bookingservice's outbox relay; safe to repeat
+     */
+    @PostMapping("/ingest")
+    public ResponseEntity<TaskIngestResult> ingest(@RequestBody List<TaskSyncEvent> events) {
+        return ResponseEntity.ok(taskIngestService.ingest(events));
+    }
+
     @GetMapping("/employee/{employeeId}")
     public ResponseEntity<List<Task>> getEmployeeTasks(@PathVariable String employeeId) {
         List<Task> tasks = taskService.getEmployeeTasks(employeeId);
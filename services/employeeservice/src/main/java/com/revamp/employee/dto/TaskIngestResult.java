@@ -0,0 +1,16 @@
+package com.revamp.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskIngestResult {
+    private List<String> applied = new ArrayList<>(); // appointment IDs applied now or already superseded
+    private List<String> failed = new ArrayList<>(); // appointment IDs the sender should retry
+}
@@ -0,0 +1,30 @@
+package com.revamp.employee.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TaskSyncEvent {
+    private String appointmentId;
+    private long version; // appointment version this snapshot was taken at
+    private List<String> eventIds; // bookingservice outbox events it covers
+    private String status; // appointment status: "Pending", "Approved", "In Progress", "Completed", "Delivered"
+    private List<String> employeeIds;
+    private List<String> employeeNames;
+    private String customerId;
+    private String customerName;
+    private String vehicleInfo;
+    private String serviceType; // "Service" or "Modification"
+    private String description;
+    private String instructions;
+    private LocalDate date;
+    private Integer estimatedHours;
+    private Instant occurredAt;
+}
@@ -1,13 +1,20 @@
 package com.revamp.employee.employee.config;
 
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.mongodb.core.MongoTemplate;
 
+import com.mongodb.ConnectionString;
+import com.mongodb.MongoClientSettings;
+import com.mongodb.MongoCompressor;
 import com.mongodb.client.MongoClient;
 import com.mongodb.client.MongoClients;
+import com.revamp.employee.config.MongoPoolMetrics;
 
 @Configuration
 public class MongoConfig {
@@ -18,9 +25,32 @@ public class MongoConfig {
     @Value("${EMPLOYEE_MONGO_DATABASE:EAD-Employes}")
     private String databaseName;
 
+    @Value("${mongo.pool.max-size:100}")
+    private int poolMaxSize;
+
+    @Value("${mongo.pool.min-size:0}")
+    private int poolMinSize;
+
+    @Value("${mongo.pool.max-wait-millis:2000}")
+    private long poolMaxWaitMillis; // the driver waits 2 minutes for a connection by default
+
+    @Value("${mongo.pool.max-idle-millis:300000}")
+    private long poolMaxIdleMillis;
+
+    @Value("${mongo.pool.connect-timeout-millis:5000}")
+    private long connectTimeoutMillis;
+
+    @Value("${mongo.pool.server-selection-timeout-millis:10000}")
+    private long serverSelectionTimeoutMillis;
+
+    @Bean
+    public MongoPoolMetrics mongoPoolMetrics() {
+        return new MongoPoolMetrics();
+    }
+
     @Bean
     @Primary
-    public MongoClient mongoClient() {
+    public MongoClient mongoClient(MongoPoolMetrics mongoPoolMetrics) {
         // Validate MongoDB URI is set
         if (mongoUri == null || mongoUri.trim().isEmpty()) {
             throw new IllegalStateException(
@@ -40,7 +70,24 @@ public class MongoConfig {
         System.out.println("MongoDB URI: " + mongoUri.replaceAll(":[^:@]+@", ":****@"));
         System.out.println("========================================");
         
-        MongoClient mongoClient = MongoClients.create(mongoUri);
+        ConnectionString connectionString = new ConnectionString(mongoUri);
+        MongoClientSettings.Builder settings = MongoClientSettings.builder()
+            .applyConnectionString(connectionString)
+            .applyToConnectionPoolSettings(pool -> pool
+                .maxSize(poolMaxSize)
+                .minSize(poolMinSize)
+                .maxWaitTime(poolMaxWaitMillis, TimeUnit.MILLISECONDS)
+                .maxConnectionIdleTime(poolMaxIdleMillis, TimeUnit.MILLISECONDS)
+                .addConnectionPoolListener(mongoPoolMetrics))
+            .applyToSocketSettings(socket -> socket.connectTimeout(connectTimeoutMillis, TimeUnit.MILLISECONDS))
+            .applyToClusterSettings(cluster -> cluster
+                .serverSelectionTimeout(serverSelectionTimeoutMillis, TimeUnit.MILLISECONDS))
+            .addCommandListener(mongoPoolMetrics);
+        // Compressors named in the URI win
+        if (connectionString.getCompressorList().isEmpty()) {
+            settings.compressorList(List.of(MongoCompressor.createZlibCompressor()));
+        }
+        MongoClient mongoClient = MongoClients.create(settings.build());
         System.out.println("✓ MongoClient created successfully");
         return mongoClient;
     }
@@ -31,4 +31,6 @@ public class Task {
     private List<TaskUpdate> updates;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private String appointmentId; // set on tasks created from a bookingservice appointment
+    private Long sourceVersion; // appointment version last applied, see TaskIngestService
 }
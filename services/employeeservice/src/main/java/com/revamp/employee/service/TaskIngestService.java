@@ -0,0 +1,129 @@
+package com.revamp.employee.service;
+
+import com.revamp.employee.dto.TaskIngestResult;
+import com.revamp.employee.dto.TaskSyncEvent;
+import com.revamp.employee.model.Task;
+import com.revamp.employee.model.TaskUpdate;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Applies the appointment snapshots that bookingservice's outbox relay sends.
+ * Each assigned employee gets one task with the ID appointmentId_employeeId, and
+ * every write is guarded on the appointment version stored with the task, so a
+ * repeated or out-of-order snapshot changes nothing.
+ */
+@Service
+@Slf4j
+public class TaskIngestService {
+
+    static final String UPDATED_BY = "booking-service";
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    public TaskIngestResult ingest(List<TaskSyncEvent> events) {
+        TaskIngestResult result = new TaskIngestResult();
+        for (TaskSyncEvent event : events) {
+            if (event.getAppointmentId() == null || event.getAppointmentId().isBlank()) {
+                continue;
+            }
+            try {
+                apply(event);
+                result.getApplied().add(event.getAppointmentId());
+            } catch (RuntimeException e) {
+                log.error("Could not apply appointment {} version {}: {}", event.getAppointmentId(), event.getVersion(), e.getMessage());
+                result.getFailed().add(event.getAppointmentId());
+            }
+        }
+        return result;
+    }
+
+    private void apply(TaskSyncEvent event) {
+        List<String> employeeIds = event.getEmployeeIds() == null ? List.of() : event.getEmployeeIds();
+        for (String employeeId : employeeIds) {
+            upsertTask(event, employeeId);
+        }
+
+        // Employees taken off the appointment lose their task
+        Query unassigned = new Query(Criteria.where("appointmentId").is(event.getAppointmentId())
+            .and("assignedEmployeeId").nin(employeeIds)
+            .orOperator(olderThan(event.getVersion())));
+        long removed = mongoTemplate.remove(unassigned, Task.class).getDeletedCount();
+        if (removed > 0) {
+            log.info("Removed {} task(s) for employees unassigned from appointment {}", removed, event.getAppointmentId());
+        }
+    }
+
+    private void upsertTask(TaskSyncEvent event, String employeeId) {
+        LocalDateTime now = LocalDateTime.now();
+        String taskId = event.getAppointmentId() + "_" + employeeId;
+        String taskStatus = taskStatus(event.getStatus());
+
+        Update update = new Update()
+            .set("appointmentId", event.getAppointmentId())
+            .set("sourceVersion", event.getVersion())
+            .set("customerId", event.getCustomerId())
+            .set("customerName", event.getCustomerName())
+            .set("vehicleInfo", event.getVehicleInfo())
+            .set("serviceType", event.getServiceType() == null ? null : event.getServiceType().toLowerCase(Locale.ROOT))
+            .set("description", event.getDescription())
+            .set("instructions", event.getInstructions())
+            .set("estimatedHours", event.getEstimatedHours() == null ? 0 : event.getEstimatedHours())
+            .set("dueDate", event.getDate() == null ? null : event.getDate().atTime(LocalTime.of(17, 0)))
+            .set("assignedEmployeeId", employeeId)
+            .set("updatedAt", now)
+            .setOnInsert("priority", "medium")
+            .setOnInsert("assignedDate", now)
+            .setOnInsert("createdAt", now);
+        if (taskStatus != null) {
+            update.set("status", taskStatus)
+                .push("updates", new TaskUpdate(taskStatus, "Appointment marked " + event.getStatus(), now, UPDATED_BY));
+        } else {
+            // Approval leaves the employee's own progress alone; a new task starts as assigned
+            update.setOnInsert("status", "assigned")
+                .setOnInsert("updates", List.of(new TaskUpdate("assigned", "Assigned from appointment", now, UPDATED_BY)));
+        }
+
+        Query query = new Query(Criteria.where("_id").is(taskId).orOperator(olderThan(event.getVersion())));
+        try {
+            mongoTemplate.upsert(query, update, Task.class);
+        } catch (DuplicateKeyException e) {
+            // The task already holds this version or a newer one
+            log.debug("Skipping appointment {} version {} for task {}: already applied", event.getAppointmentId(), event.getVersion(), taskId);
+        }
+    }
+
+    private static Criteria[] olderThan(long version) {
+        return new Criteria[] {
+            Criteria.where("sourceVersion").lt(version),
+            Criteria.where("sourceVersion").exists(false)
+        };
+    }
+
+    /**
+     * Task status implied by an appointment status; null when the employee's own status should stand
+     */
+    static String taskStatus(String appointmentStatus) {
+        if (appointmentStatus == null) {
+            return null;
+        }
+        return switch (appointmentStatus.trim().toLowerCase(Locale.ROOT).replace('-', ' ').replace('_', ' ')) {
+            case "in progress" -> "in-progress";
+            case "completed" -> "completed";
+            case "delivered" -> "delivered";
+            default -> null;
+        };
+    }
+}